@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A small benchmark harness. Each benchmark is warmed up, then measured over several iterations of
+ * a fixed duration. Throughput and allocated bytes per operation are recorded for every benchmark
+ * and written as JSON lines, one result per line, so runs of different releases can be compared.
+ * Allocation is read from the HotSpot per-thread allocation counter.
+ */
+final class BenchmarkRunner {
+  private static final long WARMUP_NANOS = 1_000_000_000L;
+  private static final int ITERATIONS = 5;
+  private static final long ITERATION_NANOS = 500_000_000L;
+  private final com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private static volatile int blackhole;
+  private final List<String> results = new ArrayList<>();
+  private final String suite;
+
+  /**
+   * an operation being measured.
+   */
+  interface Operation {
+    /**
+     * run the operation once.
+     *
+     * @return any value, so that the JIT cannot drop the work.
+     */
+    Object run();
+  }
+
+  /**
+   * create a harness for one suite of benchmarks.
+   *
+   * @param suite the name of the suite, written with every result.
+   */
+  BenchmarkRunner(String suite) {
+    this.suite = suite;
+  }
+
+  /**
+   * warm up and measure an operation, then print and keep the result.
+   *
+   * @param name      the name of the benchmark.
+   * @param size      the roster size the benchmark runs on.
+   * @param operation the operation to measure.
+   */
+  void measure(String name, int size, Operation operation) {
+    int sink = 0;
+    long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+    while (System.nanoTime() < warmupEnd) {
+      sink += System.identityHashCode(operation.run());
+    }
+    double[] opsPerSecond = new double[ITERATIONS];
+    long totalOps = 0;
+    long totalBytes = 0;
+    long thread = Thread.currentThread().getId();
+    for (int i = 0; i < ITERATIONS; i++) {
+      long ops = 0;
+      long bytesBefore = threads.getThreadAllocatedBytes(thread);
+      long start = System.nanoTime();
+      long end = start + ITERATION_NANOS;
+      long now;
+      do {
+        sink += System.identityHashCode(operation.run());
+        ops++;
+        now = System.nanoTime();
+      } while (now < end);
+      totalBytes += threads.getThreadAllocatedBytes(thread) - bytesBefore;
+      totalOps += ops;
+      opsPerSecond[i] = ops * 1e9 / (now - start);
+    }
+    blackhole = sink;
+    record(name, size, opsPerSecond, (double) totalBytes / totalOps);
+  }
+
+  /**
+   * keep a result measured elsewhere, e.g. by a multi-threaded driver.
+   *
+   * @param name         the name of the benchmark.
+   * @param size         the roster size the benchmark runs on.
+   * @param opsPerSecond the throughput of each iteration.
+   * @param bytesPerOp   the allocated bytes per operation, or -1 if unknown.
+   */
+  void record(String name, int size, double[] opsPerSecond, double bytesPerOp) {
+    double mean = mean(opsPerSecond);
+    double error = error(opsPerSecond, mean);
+    System.out.printf(Locale.ROOT, "%-40s size=%-7d %14.1f ops/s  +- %10.1f  %12.1f B/op%n",
+        name, size, mean, error, bytesPerOp);
+    results.add(String.format(Locale.ROOT,
+        "{\"suite\":\"%s\",\"benchmark\":\"%s\",\"size\":%d,\"opsPerSecond\":%.3f,"
+            + "\"error\":%.3f,\"bytesPerOp\":%.3f,\"javaVersion\":\"%s\"}",
+        suite, name, size, mean, error, bytesPerOp, System.getProperty("java.version")));
+  }
+
+  /**
+   * keep a throughput measured with the latency of each operation, e.g. by a load test. The
+   * size is the number of concurrent clients.
+   *
+   * @param name         the name of the benchmark.
+   * @param size         the number of concurrent clients.
+   * @param opsPerSecond the throughput of each iteration.
+   * @param p50Nanos     the median latency in nanoseconds.
+   * @param p99Nanos     the 99th percentile latency in nanoseconds.
+   */
+  void recordLatency(String name, int size, double[] opsPerSecond, long p50Nanos,
+      long p99Nanos) {
+    double mean = mean(opsPerSecond);
+    double error = error(opsPerSecond, mean);
+    System.out.printf(Locale.ROOT,
+        "%-40s size=%-7d %14.1f ops/s  +- %10.1f  p50 %8.2f ms  p99 %8.2f ms%n",
+        name, size, mean, error, p50Nanos / 1e6, p99Nanos / 1e6);
+    results.add(String.format(Locale.ROOT,
+        "{\"suite\":\"%s\",\"benchmark\":\"%s\",\"size\":%d,\"opsPerSecond\":%.3f,"
+            + "\"error\":%.3f,\"p50Nanos\":%d,\"p99Nanos\":%d,\"javaVersion\":\"%s\"}",
+        suite, name, size, mean, error, p50Nanos, p99Nanos, System.getProperty("java.version")));
+  }
+
+  private static double mean(double[] values) {
+    double mean = 0;
+    for (double value : values) {
+      mean += value;
+    }
+    return mean / values.length;
+  }
+
+  private static double error(double[] values, double mean) {
+    double variance = 0;
+    for (double value : values) {
+      variance += (value - mean) * (value - mean);
+    }
+    return values.length > 1 ? Math.sqrt(variance / (values.length - 1)) : 0;
+  }
+
+  /**
+   * print and keep a memory measurement, e.g. the retained heap of a player representation.
+   *
+   * @param name           the name of the benchmark.
+   * @param size           the number of objects measured.
+   * @param bytesPerObject the retained bytes per object.
+   */
+  void recordMemory(String name, int size, double bytesPerObject) {
+    System.out.printf(Locale.ROOT, "%-40s size=%-7d %14.1f B/object%n", name, size,
+        bytesPerObject);
+    results.add(String.format(Locale.ROOT,
+        "{\"suite\":\"%s\",\"benchmark\":\"%s\",\"size\":%d,\"retainedBytesPerObject\":%.3f,"
+            + "\"javaVersion\":\"%s\"}",
+        suite, name, size, bytesPerObject, System.getProperty("java.version")));
+  }
+
+  /**
+   * append all results to a JSON lines file.
+   *
+   * @param file the path of the result file.
+   * @throws IOException if the file cannot be written.
+   */
+  void write(String file) throws IOException {
+    Path path = Paths.get(file);
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+        java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.APPEND)) {
+      for (String result : results) {
+        out.write(result);
+        out.write('\n');
+      }
+    }
+    System.out.println("Results written to " + path.toAbsolutePath());
+  }
+
+  /**
+   * parse the roster sizes given on the command line, e.g. "20,1000,100000".
+   *
+   * @param args     the command line arguments; args[1] holds the sizes if present.
+   * @param defaults the sizes used when none are given.
+   * @return the roster sizes.
+   */
+  static int[] sizes(String[] args, int[] defaults) {
+    if (args.length < 2) {
+      return defaults;
+    }
+    String[] parts = args[1].split(",");
+    int[] sizes = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      sizes[i] = Integer.parseInt(parts[i].trim());
+    }
+    return sizes;
+  }
+
+  /**
+   * the result file given on the command line.
+   *
+   * @param args the command line arguments; args[0] holds the result file if present.
+   * @return the path of the result file.
+   */
+  static String resultFile(String[] args) {
+    return args.length > 0 ? args[0] : "benchmark-results.jsonl";
+  }
+}
@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import soccerteam.ConcurrentTeamImpl;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.Player;
+import soccerteam.PlayerQuery;
+import soccerteam.Position;
+import soccerteam.Team;
+import soccerteam.TeamImpl;
+
+/**
+ * Contention benchmarks for thread-safe teams. ConcurrentTeamImpl is compared with a TeamImpl
+ * behind one monitor, under a sign-up day mix of 10% registrations and 90% lineUp/bench reads,
+ * with 1 to 8 threads.
+ *
+ * <p>Usage: java ConcurrentTeamBenchmark [resultFile] [sizes], e.g. "results.jsonl 20,1000".
+ */
+public class ConcurrentTeamBenchmark {
+  private static final int[] DEFAULT_SIZES = {20, 1_000};
+  private static final int[] THREADS = {1, 2, 4, 8};
+  private static final int ITERATIONS = 3;
+  private static final long ITERATION_MILLIS = 1_000;
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * run the contention benchmarks.
+   *
+   * @param args the result file and the roster sizes, both optional.
+   * @throws Exception if a worker fails or the result file cannot be written.
+   */
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner runner = new BenchmarkRunner("concurrent-team");
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      for (int threads : THREADS) {
+        run(runner, "synchronized TeamImpl", size, threads,
+            capacity -> new SynchronizedTeam(new TeamImpl(capacity, new OptimalLineUpEngine())));
+        run(runner, "ConcurrentTeamImpl", size, threads,
+            capacity -> new ConcurrentTeamImpl(capacity, new OptimalLineUpEngine()));
+      }
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+
+  private static void run(BenchmarkRunner runner, String name, int size, int threads,
+      IntFunction<Team> factory) throws InterruptedException {
+    Team team = factory.apply(Math.max(size, 10));
+    for (int i = 0; i < size; i++) {
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i & 3],
+          i % 5 + 1);
+    }
+    // the first iteration is a warm up
+    double[] opsPerSecond = new double[ITERATIONS];
+    for (int iteration = -1; iteration < ITERATIONS; iteration++) {
+      double result = runIteration(team, threads, iteration);
+      if (iteration >= 0) {
+        opsPerSecond[iteration] = result;
+      }
+    }
+    runner.record(name + " threads=" + threads, size, opsPerSecond, -1);
+  }
+
+  private static double runIteration(Team team, int threads, int iteration)
+      throws InterruptedException {
+    LongAdder ops = new LongAdder();
+    AtomicBoolean running = new AtomicBoolean(true);
+    CountDownLatch done = new CountDownLatch(threads);
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      String firstName = "Worker" + t + "-" + iteration;
+      workers[t] = new Thread(() -> {
+        long count = 0;
+        int i = 0;
+        while (running.get()) {
+          if (i % 10 == 0) {
+            team.addPlayer(firstName, Integer.toString(i), BIRTHDAY, Position.values()[i & 3],
+                i % 5 + 1);
+          } else if (i % 2 == 0) {
+            team.getLineUp();
+          } else {
+            team.getBench();
+          }
+          i++;
+          count++;
+        }
+        ops.add(count);
+        done.countDown();
+      });
+    }
+    long start = System.nanoTime();
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    Thread.sleep(ITERATION_MILLIS);
+    running.set(false);
+    done.await();
+    return ops.sum() * 1e9 / (System.nanoTime() - start);
+  }
+
+  /**
+   * a team whose every operation holds one monitor, the simplest way to make TeamImpl safe.
+   */
+  private static final class SynchronizedTeam implements Team {
+    private final Team team;
+
+    private SynchronizedTeam(Team team) {
+      this.team = team;
+    }
+
+    @Override public synchronized void addPlayer(String firstName, String lastName,
+        LocalDate dateOfBirth, Position preferredPosition, int skillLevel) {
+      team.addPlayer(firstName, lastName, dateOfBirth, preferredPosition, skillLevel);
+    }
+
+    @Override public synchronized boolean hasPlayer(String firstName, String lastName,
+        LocalDate dateOfBirth) {
+      return team.hasPlayer(firstName, lastName, dateOfBirth);
+    }
+
+    @Override public synchronized void makeTeam() {
+      team.makeTeam();
+    }
+
+    @Override public synchronized boolean isTeamCreated() {
+      return team.isTeamCreated();
+    }
+
+    @Override public synchronized String getTeam() {
+      return team.getTeam();
+    }
+
+    @Override public synchronized List<Player> getPlayers() {
+      return team.getPlayers();
+    }
+
+    @Override public synchronized Stream<Player> query(PlayerQuery query) {
+      return team.query(query);
+    }
+
+    @Override public synchronized Player getPlayerByJerseyNumber(int jerseyNumber) {
+      return team.getPlayerByJerseyNumber(jerseyNumber);
+    }
+
+    @Override public synchronized List<Player> getPlayersByPosition(Position position) {
+      return team.getPlayersByPosition(position);
+    }
+
+    @Override public synchronized List<Player> getPlayersBornIn(int year) {
+      return team.getPlayersBornIn(year);
+    }
+
+    @Override public synchronized String getLineUp() {
+      return team.getLineUp();
+    }
+
+    @Override public synchronized String getBench() {
+      return team.getBench();
+    }
+
+    @Override public synchronized void renderTeam(Appendable out) throws IOException {
+      team.renderTeam(out);
+    }
+
+    @Override public synchronized void renderLineUp(Appendable out) throws IOException {
+      team.renderLineUp(out);
+    }
+
+    @Override public synchronized void renderBench(Appendable out) throws IOException {
+      team.renderBench(out);
+    }
+  }
+}
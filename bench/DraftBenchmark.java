@@ -0,0 +1,48 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import soccerteam.DraftEngine;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+
+/**
+ * Measures splitting a pool of players into squads of 20 with the draft engine, from one club's
+ * 60 registrants to a 10k player pool, and prints the skill spread and the out-of-position slots
+ * of the result.
+ *
+ * <p>Usage: java DraftBenchmark [resultFile] [sizes], e.g. "results.jsonl 60,10000".
+ */
+public class DraftBenchmark {
+  private static final int[] DEFAULT_SIZES = {60, 1_000, 10_000};
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private static final Position[] FORMATION = {Position.GOALIE, Position.DEFENDER,
+      Position.DEFENDER, Position.MIDFIELDER, Position.MIDFIELDER, Position.MIDFIELDER,
+      Position.FORWARD};
+
+  /**
+   * run the draft benchmarks.
+   *
+   * @param args the result file and the pool sizes, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("draft");
+    DraftEngine engine = new DraftEngine();
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      List<Player> players = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        players.add(new PlayerImpl("Player", Integer.toString(i), BIRTHDAY,
+            FORMATION[i % FORMATION.length], 1 + (i * 7 + i / 3) % 5));
+      }
+      int teams = Math.max(1, size / 20);
+      DraftEngine.Draft draft = engine.draft(players, teams);
+      System.out.println(teams + " squads: skill spread " + draft.getSkillSpread()
+          + ", out-of-position slots " + draft.getOutOfPosition());
+      runner.measure("draft into " + teams + " squads", size,
+          () -> engine.draft(players, teams));
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+}
@@ -0,0 +1,54 @@
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import soccerteam.AgeGroup;
+import soccerteam.SeasonEligibility;
+
+/**
+ * Compares the age check done per player, counting whole years with Period against today, with a
+ * season checking a batch of epoch-day birthdates against three age groups in one pass. Each
+ * operation checks the whole batch.
+ *
+ * <p>Usage: java EligibilityBenchmark [resultFile] [sizes], e.g. "results.jsonl 1000,100000".
+ */
+public class EligibilityBenchmark {
+  private static final int[] DEFAULT_SIZES = {1_000, 100_000};
+
+  /**
+   * run the eligibility benchmarks.
+   *
+   * @param args the result file and the batch sizes, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("eligibility");
+    LocalDate today = LocalDate.now();
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      LocalDate[] datesOfBirth = new LocalDate[size];
+      int[] epochDays = new int[size];
+      for (int i = 0; i < size; i++) {
+        datesOfBirth[i] = today.minusDays(1_000 + i % 4_000);
+        epochDays[i] = (int) datesOfBirth[i].toEpochDay();
+      }
+      runner.measure("Period per player", size, () -> {
+        int eligible = 0;
+        for (LocalDate dateOfBirth : datesOfBirth) {
+          int age = Period.between(dateOfBirth, LocalDate.now()).getYears();
+          if (age >= 6 && age < 10) {
+            eligible++;
+          }
+        }
+        return eligible;
+      });
+      int[] masks = new int[size];
+      runner.measure("season classify (3 groups)", size, () -> {
+        SeasonEligibility season = new SeasonEligibility(Clock.systemDefaultZone(), AgeGroup.U8,
+            AgeGroup.U10, AgeGroup.U12);
+        season.classify(epochDays, size, masks);
+        return masks;
+      });
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+}
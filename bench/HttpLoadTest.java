@@ -0,0 +1,185 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import soccerteam.LeagueImpl;
+import soccerteam.Position;
+import soccerteam.TeamHttpServer;
+
+/**
+ * Load test of the HTTP API on localhost. Thousands of clients each send one request at a time
+ * and the next one as soon as the answer arrives: 60% add a player to one of 100 teams, 20% read a
+ * lineUp and 20% read a bench. Teams are full, so most registrations also drop a player. The
+ * throughput is counted per second and the latency of every request is kept for the median and
+ * the 99th percentile.
+ *
+ * <p>Usage: java HttpLoadTest [resultFile] [clients] [port], e.g. "results.jsonl 100,1000,4000".
+ * Without a port a server is started in this JVM; with a port, a server already running on
+ * localhost is used, e.g. one started by "java soccerteam.Main --http 8080".
+ */
+public class HttpLoadTest {
+  private static final int[] DEFAULT_CLIENTS = {100, 1_000, 4_000};
+  private static final int TEAMS = 100;
+  private static final int ITERATIONS = 5;
+  private static final long WARMUP_NANOS = 2_000_000_000L;
+  private static final long ITERATION_NANOS = 1_000_000_000L;
+  private static final int MAXIMUM_SAMPLES = 1 << 23;
+  private static final String BIRTHDAY = LocalDate.now().minusYears(8).toString();
+  private static final AtomicLong PLAYERS = new AtomicLong();
+
+  /**
+   * run the load test.
+   *
+   * @param args the result file, the numbers of clients and the port, all optional.
+   * @throws Exception if the server cannot be started or the result file cannot be written.
+   */
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner runner = new BenchmarkRunner("http");
+    TeamHttpServer server = null;
+    int port;
+    if (args.length > 2) {
+      port = Integer.parseInt(args[2]);
+    } else {
+      // the server is embedded, so the load test turns on TCP_NODELAY as TeamHttpServer.main does
+      if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+      }
+      server = new TeamHttpServer(new LeagueImpl(),
+          new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      server.start();
+      port = server.getPort();
+    }
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(30)).build();
+    String base = "http://localhost:" + port + "/teams/Club";
+    setUp(client, base);
+    try {
+      for (int clients : BenchmarkRunner.sizes(args, DEFAULT_CLIENTS)) {
+        new Run(client, base, clients).run(runner);
+      }
+    } finally {
+      if (server != null) {
+        server.close();
+      }
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+
+  /**
+   * register the teams and fill them up to their capacity.
+   */
+  private static void setUp(HttpClient client, String base)
+      throws IOException, InterruptedException {
+    for (int team = 0; team < TEAMS; team++) {
+      client.send(HttpRequest.newBuilder(URI.create(base + "/U" + team))
+          .PUT(HttpRequest.BodyPublishers.noBody()).build(),
+          HttpResponse.BodyHandlers.discarding());
+      for (int i = 0; i < 20; i++) {
+        client.send(addPlayer(base, team), HttpResponse.BodyHandlers.discarding());
+      }
+      client.send(HttpRequest.newBuilder(URI.create(base + "/U" + team + "/team"))
+          .POST(HttpRequest.BodyPublishers.noBody()).build(),
+          HttpResponse.BodyHandlers.discarding());
+    }
+  }
+
+  private static HttpRequest addPlayer(String base, int team) {
+    long i = PLAYERS.incrementAndGet();
+    String player = "{\"firstName\":\"Player\",\"lastName\":\"" + i + "\",\"dateOfBirth\":\""
+        + BIRTHDAY + "\",\"preferredPosition\":\"" + Position.values()[(int) (i & 3)]
+        + "\",\"skillLevel\":" + (i % 5 + 1) + "}";
+    return HttpRequest.newBuilder(URI.create(base + "/U" + team + "/players"))
+        .POST(HttpRequest.BodyPublishers.ofString(player)).build();
+  }
+
+  /**
+   * one run with a fixed number of clients. Requests completing during the warm up are not
+   * counted.
+   */
+  private static final class Run {
+    private final HttpClient client;
+    private final String base;
+    private final int clients;
+    private final long measureStart;
+    private final long measureEnd;
+    private final AtomicLongArray completed = new AtomicLongArray(ITERATIONS);
+    private final long[] latencies = new long[MAXIMUM_SAMPLES];
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+    private final CountDownLatch done;
+
+    private Run(HttpClient client, String base, int clients) {
+      this.client = client;
+      this.base = base;
+      this.clients = clients;
+      this.measureStart = System.nanoTime() + WARMUP_NANOS;
+      this.measureEnd = measureStart + ITERATIONS * ITERATION_NANOS;
+      this.done = new CountDownLatch(clients);
+    }
+
+    private void run(BenchmarkRunner runner) throws InterruptedException {
+      for (int i = 0; i < clients; i++) {
+        next(i, 0);
+      }
+      done.await();
+      double[] opsPerSecond = new double[ITERATIONS];
+      for (int i = 0; i < ITERATIONS; i++) {
+        opsPerSecond[i] = completed.get(i) * 1e9 / ITERATION_NANOS;
+      }
+      int samples = Math.min(sampleCount.get(), MAXIMUM_SAMPLES);
+      long[] sorted = Arrays.copyOf(latencies, samples);
+      Arrays.sort(sorted);
+      long p50 = samples == 0 ? 0 : sorted[(int) (samples * 0.50)];
+      long p99 = samples == 0 ? 0 : sorted[Math.min(samples - 1, (int) (samples * 0.99))];
+      runner.recordLatency("60% add, 20% lineUp, 20% bench", clients, opsPerSecond, p50, p99);
+      if (failures.sum() > 0) {
+        System.out.println("  " + failures.sum() + " requests failed");
+      }
+    }
+
+    /**
+     * send the next request of a client, and keep sending until the run is over.
+     */
+    private void next(int clientIndex, long sent) {
+      if (System.nanoTime() >= measureEnd) {
+        done.countDown();
+        return;
+      }
+      int team = (int) ((clientIndex + sent) % TEAMS);
+      int kind = (int) ((clientIndex * 7 + sent) % 10);
+      HttpRequest request;
+      if (kind < 6) {
+        request = addPlayer(base, team);
+      } else {
+        request = HttpRequest.newBuilder(
+            URI.create(base + "/U" + team + (kind < 8 ? "/lineup" : "/bench"))).build();
+      }
+      long start = System.nanoTime();
+      client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, failure) -> {
+            long end = System.nanoTime();
+            if (failure != null || response.statusCode() >= 500) {
+              failures.increment();
+            } else if (start >= measureStart && end < measureEnd) {
+              completed.incrementAndGet((int) ((end - measureStart) / ITERATION_NANOS));
+              int sample = sampleCount.getAndIncrement();
+              if (sample < MAXIMUM_SAMPLES) {
+                latencies[sample] = end - start;
+              }
+            }
+            next(clientIndex, sent + 1);
+          });
+    }
+  }
+}
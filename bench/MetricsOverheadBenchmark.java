@@ -0,0 +1,62 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+import soccerteam.TeamMetrics;
+
+/**
+ * Measures what the team metrics cost on the hot paths: the same operations run on a team whose
+ * metrics are enabled and on one whose metrics are disabled, plus a bare timed call. Adding a
+ * player counts a registration and an eviction; adding a player and reading the bench also times
+ * the lineUp, the bench and the rendering.
+ *
+ * <p>Usage: java MetricsOverheadBenchmark [resultFile] [sizes], e.g. "results.jsonl 20,1000".
+ */
+public class MetricsOverheadBenchmark {
+  private static final int[] DEFAULT_SIZES = {20, 1_000};
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * run the metrics overhead benchmarks.
+   *
+   * @param args the result file and the roster sizes, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("metrics");
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      for (boolean enabled : new boolean[] {false, true}) {
+        String suffix = enabled ? " (metrics on)" : " (metrics off)";
+        TeamImpl team = fullTeam(size, enabled);
+        int[] counter = {size};
+        runner.measure("addPlayer+dropPlayer" + suffix, size, () -> {
+          int i = counter[0]++;
+          team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i & 3],
+              i % 5 + 1);
+          return team;
+        });
+        runner.measure("addPlayer+getBench" + suffix, size, () -> {
+          int i = counter[0]++;
+          team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i & 3],
+              i % 5 + 1);
+          return team.getBench();
+        });
+      }
+    }
+    TeamMetrics metrics = new TeamMetrics();
+    runner.measure("start+record", 1, () -> {
+      metrics.record(TeamMetrics.Operation.RENDER, metrics.start());
+      return metrics;
+    });
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+
+  private static TeamImpl fullTeam(int size, boolean enabled) {
+    TeamImpl team = TeamBenchmark.fullTeam(size);
+    TeamMetrics metrics = new TeamMetrics();
+    metrics.setEnabled(enabled);
+    team.setMetrics(metrics);
+    team.makeTeam();
+    return team;
+  }
+}
@@ -0,0 +1,95 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.PlayerStore;
+import soccerteam.Position;
+
+/**
+ * Compares the two player representations: one PlayerImpl object per player against the columnar
+ * PlayerStore. For each size the retained heap per player is measured after a full collection, and
+ * a scan summing all skill levels is timed, through the list of PlayerImpl and through a store
+ * cursor.
+ *
+ * <p>First names come from a small pool as in a real league, last names are unique.
+ *
+ * <p>Usage: java PlayerMemoryBenchmark [resultFile] [sizes], e.g. "results.jsonl 1000,1000000".
+ */
+public class PlayerMemoryBenchmark {
+  private static final int[] DEFAULT_SIZES = {1_000, 100_000, 1_000_000};
+  private static final String[] FIRST_NAMES = {"Amber", "Astuka", "Kumiko", "Reina", "Hazuki",
+      "Midori", "Shuichi", "Taki", "Mitsuha", "Yuki", "Rei", "Shinji", "Asuka", "Misato", "Kaworu",
+      "Sayaka"};
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * run the memory benchmarks.
+   *
+   * @param args the result file and the numbers of players, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("player-memory");
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      benchmarkPlayerImpl(runner, size);
+      benchmarkPlayerStore(runner, size);
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+
+  private static void benchmarkPlayerImpl(BenchmarkRunner runner, int size) {
+    long before = usedHeap();
+    List<Player> players = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      players.add(new PlayerImpl(FIRST_NAMES[i % FIRST_NAMES.length], "Player" + i,
+          BIRTHDAY.minusDays(i % 365), Position.values()[i & 3], i % 5 + 1));
+    }
+    long after = usedHeap();
+    runner.recordMemory("PlayerImpl", size, (double) (after - before) / size);
+    runner.measure("scan PlayerImpl", size, () -> {
+      long sum = 0;
+      for (Player player : players) {
+        sum += player.getSkillLevel();
+      }
+      return sum;
+    });
+  }
+
+  private static void benchmarkPlayerStore(BenchmarkRunner runner, int size) {
+    long before = usedHeap();
+    PlayerStore store = new PlayerStore();
+    for (int i = 0; i < size; i++) {
+      store.add(FIRST_NAMES[i % FIRST_NAMES.length], "Player" + i, BIRTHDAY.minusDays(i % 365),
+          Position.values()[i & 3], i % 5 + 1);
+    }
+    long after = usedHeap();
+    runner.recordMemory("PlayerStore", size, (double) (after - before) / size);
+    runner.measure("scan PlayerStore cursor", size, () -> {
+      long sum = 0;
+      PlayerStore.Cursor cursor = store.cursor();
+      while (cursor.next()) {
+        sum += cursor.getSkillLevel();
+      }
+      return sum;
+    });
+  }
+
+  /**
+   * the heap in use after collecting garbage until the number settles.
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    long used = Long.MAX_VALUE;
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      long now = runtime.totalMemory() - runtime.freeMemory();
+      if (now >= used) {
+        break;
+      }
+      used = now;
+    }
+    return used;
+  }
+}
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+import soccerteam.RotationScheduler;
+
+/**
+ * Measures planning seasons of 30 fixtures for a whole league of squads of 20, and compares
+ * applying one absence per squad incrementally with planning every season again.
+ *
+ * <p>Usage: java RotationBenchmark [resultFile] [sizes], e.g. "results.jsonl 100,5000".
+ */
+public class RotationBenchmark {
+  private static final int[] DEFAULT_SIZES = {100, 1_000, 5_000};
+  private static final int FIXTURES = 30;
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * run the rotation benchmarks.
+   *
+   * @param args the result file and the numbers of squads, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("rotation");
+    Random random = new Random(42);
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      List<List<Player>> squads = new ArrayList<>(size);
+      for (int t = 0; t < size; t++) {
+        List<Player> squad = new ArrayList<>(20);
+        for (int i = 0; i < 20; i++) {
+          squad.add(new PlayerImpl("Player" + t, Integer.toString(i), BIRTHDAY,
+              Position.values()[random.nextInt(4)], 1 + random.nextInt(5)));
+        }
+        squads.add(squad);
+      }
+      List<RotationScheduler> schedules = new ArrayList<>(size);
+      for (List<Player> squad : squads) {
+        schedules.add(new RotationScheduler(squad, FIXTURES));
+      }
+      int[] fixture = new int[size];
+      Player[] missing = new Player[size];
+      for (int t = 0; t < size; t++) {
+        fixture[t] = random.nextInt(FIXTURES);
+        missing[t] = squads.get(t).get(random.nextInt(20));
+      }
+
+      runner.measure("plan " + size + " seasons", size, () -> {
+        int starts = 0;
+        for (List<Player> squad : squads) {
+          starts += new RotationScheduler(squad, FIXTURES).getStarts(squad.get(0));
+        }
+        return starts;
+      });
+      // every operation sets and clears one absence per squad, so the schedules end as they began
+      runner.measure("incremental absence " + size + " squads", size, () -> {
+        int planned = 0;
+        for (int t = 0; t < size; t++) {
+          planned += schedules.get(t).setAbsent(fixture[t], Set.of(missing[t]));
+          planned += schedules.get(t).setAbsent(fixture[t], Set.of());
+        }
+        return planned;
+      });
+      runner.measure("replanned absence " + size + " squads", size, () -> {
+        int starts = 0;
+        for (int t = 0; t < size; t++) {
+          for (int round = 0; round < 2; round++) {
+            RotationScheduler schedule = new RotationScheduler(squads.get(t), FIXTURES);
+            schedule.setAbsent(fixture[t], round == 0 ? Set.of(missing[t]) : Set.of());
+            starts += schedule.getStarts(missing[t]);
+          }
+        }
+        return starts;
+      });
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+}
@@ -0,0 +1,54 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import soccerteam.LineUpSimulator;
+import soccerteam.Player;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+
+/**
+ * Measures evaluating what-if lineUps of a full team of 20 with the lineUp simulator. Each
+ * scenario leaves out one to three players picked at random; one operation evaluates and ranks
+ * all scenarios.
+ *
+ * <p>Usage: java SimulatorBenchmark [resultFile] [sizes], e.g. "results.jsonl 100,5000".
+ */
+public class SimulatorBenchmark {
+  private static final int[] DEFAULT_SIZES = {100, 1_000, 5_000};
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * run the simulator benchmarks.
+   *
+   * @param args the result file and the numbers of scenarios, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("simulator");
+    TeamImpl team = new TeamImpl();
+    for (int i = 0; i < 20; i++) {
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i % 4],
+          1 + (i * 7) % 5);
+    }
+    List<Player> players = team.getPlayers();
+    LineUpSimulator simulator = new LineUpSimulator();
+    Random random = new Random(42);
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      List<Set<Player>> scenarios = new ArrayList<>(size);
+      for (int s = 0; s < size; s++) {
+        Player first = players.get(random.nextInt(20));
+        Player second = players.get(random.nextInt(20));
+        Player third = players.get(random.nextInt(20));
+        scenarios.add(s % 3 == 0 ? Set.of(first)
+            : new HashSet<>(List.of(first, second, third)));
+      }
+      runner.measure("simulate " + size + " scenarios", size,
+          () -> simulator.simulate(team, scenarios));
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+}
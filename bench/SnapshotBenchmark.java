@@ -0,0 +1,59 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import soccerteam.Player;
+import soccerteam.RosterSnapshot;
+import soccerteam.TeamImpl;
+
+/**
+ * Measures startup from a roster snapshot against registering every player again. Opening a
+ * snapshot and showing the lineUp should take about the same time for any roster size, as only the
+ * header and the lineUp players are decoded.
+ *
+ * <p>Usage: java SnapshotBenchmark [resultFile] [sizes], e.g. "results.jsonl 1000,100000".
+ */
+public class SnapshotBenchmark {
+  private static final int[] DEFAULT_SIZES = {20, 1_000, 100_000};
+
+  /**
+   * run the snapshot benchmarks.
+   *
+   * @param args the result file and the roster sizes, both optional.
+   * @throws IOException if a snapshot or the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("snapshot");
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      TeamImpl team = TeamBenchmark.fullTeam(size);
+      team.makeTeam();
+      Path file = Files.createTempFile("roster", ".snapshot");
+      file.toFile().deleteOnExit();
+      RosterSnapshot.write(file, team);
+      runner.measure("write", size, () -> {
+        try {
+          RosterSnapshot.write(file, team);
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+        return file;
+      });
+      runner.measure("open+getLineUp", size, () -> {
+        try {
+          return RosterSnapshot.open(file).getTeam().getLineUp();
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      Player[] players = RosterSnapshot.open(file).getTeam().getPlayers().toArray(new Player[0]);
+      runner.measure("re-register+getLineUp", size, () -> {
+        TeamImpl restored = new TeamImpl(Math.max(size, 10));
+        for (Player player : players) {
+          restored.addPlayer(player.getFirstName(), player.getLastName(),
+              player.getDateOfBirth(), player.getPreferredPosition(), player.getSkillLevel());
+        }
+        return restored.getLineUp();
+      });
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+}
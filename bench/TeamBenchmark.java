@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.PlayerQuery;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+import soccerteam.TeamRenderer;
+
+/**
+ * Benchmarks for the hot paths of the team model: adding players (including the eviction through
+ * dropPlayer), duplicate checks, making the team, the lineUp and the bench, reading pages of
+ * players, and rendering players and rosters. Every benchmark runs on rosters from 20 to 100k
+ * players.
+ *
+ * <p>Usage: java TeamBenchmark [resultFile] [sizes], e.g. "results.jsonl 20,1000".
+ */
+public class TeamBenchmark {
+  private static final int[] DEFAULT_SIZES = {20, 100, 1_000, 10_000, 100_000};
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * run all team benchmarks.
+   *
+   * @param args the result file and the roster sizes, both optional.
+   * @throws IOException if the result file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    BenchmarkRunner runner = new BenchmarkRunner("team");
+    for (int size : BenchmarkRunner.sizes(args, DEFAULT_SIZES)) {
+      benchmarkAddPlayer(runner, size);
+      benchmarkHasPlayer(runner, size);
+      benchmarkTeam(runner, size);
+      benchmarkQuery(runner, size);
+      benchmarkToString(runner, size);
+    }
+    runner.write(BenchmarkRunner.resultFile(args));
+  }
+
+  /**
+   * a full team keeps evicting: every added player pushes the roster over its capacity, so each
+   * operation is one addPlayer plus one dropPlayer.
+   */
+  private static void benchmarkAddPlayer(BenchmarkRunner runner, int size) {
+    TeamImpl team = fullTeam(size);
+    int[] counter = {size};
+    runner.measure("addPlayer+dropPlayer", size, () -> {
+      int i = counter[0]++;
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i & 3],
+          i % 5 + 1);
+      return team;
+    });
+  }
+
+  /**
+   * duplicate checks against a full team, half of them for players that are in the team. The last
+   * names are built once up front, so only the lookup is measured.
+   */
+  private static void benchmarkHasPlayer(BenchmarkRunner runner, int size) {
+    TeamImpl team = fullTeam(size);
+    String[] lastNames = new String[size * 2];
+    for (int i = 0; i < lastNames.length; i++) {
+      lastNames[i] = Integer.toString(i);
+    }
+    int[] counter = {0};
+    runner.measure("hasPlayer", size, () -> {
+      int i = counter[0]++ % lastNames.length;
+      return team.hasPlayer("Player", lastNames[i], BIRTHDAY);
+    });
+  }
+
+  private static void benchmarkTeam(BenchmarkRunner runner, int size) {
+    TeamImpl team = fullTeam(size);
+    runner.measure("makeTeam", size, () -> {
+      team.makeTeam();
+      return team;
+    });
+    runner.measure("getTeam (cached)", size, team::getTeam);
+    runner.measure("getLineUp (cached)", size, team::getLineUp);
+    runner.measure("getBench (cached)", size, team::getBench);
+    // makeTeam changes the roster version, so the lineUp and bench are rebuilt afterwards
+    runner.measure("makeTeam+getLineUp", size, () -> {
+      team.makeTeam();
+      return team.getLineUp();
+    });
+    runner.measure("makeTeam+getBench", size, () -> {
+      team.makeTeam();
+      return team.getBench();
+    });
+    runner.measure("makeTeam+getTeam", size, () -> {
+      team.makeTeam();
+      return team.getTeam();
+    });
+  }
+
+  /**
+   * read the first page of 20 players, from a copy of all players and from the lazy query, and a
+   * page in the middle of the roster through a cursor.
+   */
+  private static void benchmarkQuery(BenchmarkRunner runner, int size) {
+    TeamImpl team = fullTeam(size);
+    team.makeTeam();
+    runner.measure("getPlayers first page", size,
+        () -> team.getPlayers().subList(0, Math.min(20, size)));
+    PlayerQuery byName = new PlayerQuery(PlayerQuery.Order.NAME);
+    runner.measure("query first page (name)", size,
+        () -> team.query(byName).limit(20).collect(Collectors.toList()));
+    PlayerQuery goalies = new PlayerQuery(PlayerQuery.Order.SKILL, Position.GOALIE, 3, 5);
+    runner.measure("query first page (skill 3-5, goalies)", size,
+        () -> team.query(goalies).limit(20).collect(Collectors.toList()));
+    Player middle = team.query(new PlayerQuery(PlayerQuery.Order.JERSEY_NUMBER))
+        .skip(size / 2).findFirst().orElseThrow();
+    PlayerQuery afterMiddle = new PlayerQuery(PlayerQuery.Order.JERSEY_NUMBER).after(middle);
+    runner.measure("query page after cursor (jersey)", size,
+        () -> team.query(afterMiddle).limit(20).collect(Collectors.toList()));
+  }
+
+  private static void benchmarkToString(BenchmarkRunner runner, int size) {
+    Player[] players = new Player[Math.min(size, 10_000)];
+    for (int i = 0; i < players.length; i++) {
+      players[i] = new PlayerImpl("Player", Integer.toString(i), BIRTHDAY,
+          Position.values()[i & 3], i % 5 + 1);
+    }
+    int[] counter = {0};
+    runner.measure("PlayerImpl.toString", size, () -> {
+      int i = counter[0]++;
+      return players[i % players.length].toString();
+    });
+    StringBuilder out = new StringBuilder();
+    runner.measure("PlayerImpl.appendTo (reused builder)", size, () -> {
+      int i = counter[0]++;
+      out.setLength(0);
+      try {
+        players[i % players.length].appendTo(out);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return out;
+    });
+    List<Player> roster = Arrays.asList(players);
+    runner.measure("TeamRenderer.renderTeam (reused builder)", size, () -> {
+      out.setLength(0);
+      try {
+        TeamRenderer.renderTeam(roster, out);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return out;
+    });
+  }
+
+  /**
+   * create a team holding size players with skill levels spread from 1 to 5.
+   */
+  static TeamImpl fullTeam(int size) {
+    TeamImpl team = new TeamImpl(Math.max(size, 10));
+    for (int i = 0; i < size; i++) {
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i & 3],
+          i % 5 + 1);
+    }
+    return team;
+  }
+}
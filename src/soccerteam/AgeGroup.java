@@ -0,0 +1,79 @@
+package soccerteam;
+
+/**
+ * This class describes an age group of a league, e.g. U-10 for players older than 6 and under 10
+ * years old. Ages are counted in whole years on the reference date of a season.
+ */
+public final class AgeGroup {
+  /**
+   * players older than 4 and under 8 years old.
+   */
+  public static final AgeGroup U8 = new AgeGroup("U-8", 4, 8);
+  /**
+   * players older than 6 and under 10 years old, the age group of a team.
+   */
+  public static final AgeGroup U10 = new AgeGroup("U-10", 6, 10);
+  /**
+   * players older than 8 and under 12 years old.
+   */
+  public static final AgeGroup U12 = new AgeGroup("U-12", 8, 12);
+  /**
+   * players older than 10 and under 14 years old.
+   */
+  public static final AgeGroup U14 = new AgeGroup("U-14", 10, 14);
+  private final String name;
+  private final int minimumAge;
+  private final int maximumAge;
+
+  /**
+   * a constructor to create an age group.
+   *
+   * @param name       the name of the group, e.g. "U-10".
+   * @param minimumAge the youngest age allowed, in whole years.
+   * @param maximumAge the age players must be under, in whole years.
+   * @throws IllegalArgumentException if the name is empty or the ages do not form a range.
+   */
+  public AgeGroup(String name, int minimumAge, int maximumAge) throws IllegalArgumentException {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("An age group needs a name.");
+    }
+    if (minimumAge < 0 || maximumAge <= minimumAge) {
+      throw new IllegalArgumentException(
+          "Ages of a group must go from a minimum up to a larger maximum.");
+    }
+    this.name = name;
+    this.minimumAge = minimumAge;
+    this.maximumAge = maximumAge;
+  }
+
+  /**
+   * a getter provides the name of the group.
+   *
+   * @return the name, e.g. "U-10".
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * a getter provides the youngest age allowed.
+   *
+   * @return the minimum age in whole years.
+   */
+  public int getMinimumAge() {
+    return this.minimumAge;
+  }
+
+  /**
+   * a getter provides the age players must be under.
+   *
+   * @return the maximum age in whole years, exclusive.
+   */
+  public int getMaximumAge() {
+    return this.maximumAge;
+  }
+
+  @Override public String toString() {
+    return this.name;
+  }
+}
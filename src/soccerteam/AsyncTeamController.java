@@ -0,0 +1,150 @@
+package soccerteam;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class runs the commands of another Features implementation on a background thread, so
+ * model work like making the team or the lineUp never freezes the user interface. The wrapped
+ * controller should talk to its view through an EdtTeamDisplay, which posts the results back to
+ * the Event Dispatch Thread.
+ *
+ * <p>All commands run one at a time in the order they were given, on a single worker (a virtual
+ * thread where available), so the model is never used by two threads at once. Display requests
+ * replace each other: a new display request cancels a display request that has not started yet,
+ * since its result would be overwritten anyway, and repeated clicks on the same display or on
+ * Create_Team are merged into one request while it is still waiting. Exit waits its turn too, so
+ * players added and teams created before it are not lost.
+ */
+public class AsyncTeamController implements Features {
+  private final Features controller;
+  private final ExecutorService worker;
+  private Request pendingDisplay;
+  private Request pendingCreate;
+
+  /**
+   * Constructs a new AsyncTeamController running the commands of the given controller.
+   *
+   * @param controller the controller doing the work, e.g. a TeamController.
+   */
+  public AsyncTeamController(Features controller) {
+    this.controller = controller;
+    this.worker = Executors.newSingleThreadExecutor(VirtualThreads.factory("team-worker"));
+  }
+
+  @Override public void addPlayers(String firstName, String lastName, String dateOfBirthStr,
+      Object preferredPositionStr, Object skillLevelStr) {
+    submit("add", () -> controller.addPlayers(firstName, lastName, dateOfBirthStr,
+        preferredPositionStr, skillLevelStr));
+  }
+
+  @Override public synchronized void createTeam() {
+    if (pendingCreate != null && pendingCreate.isPending()) {
+      return;
+    }
+    pendingCreate = submit("create", controller::createTeam);
+  }
+
+  @Override public void displayTeamPlayers() {
+    display("team", controller::displayTeamPlayers);
+  }
+
+  @Override public void displayStartingLineup() {
+    display("lineUp", controller::displayStartingLineup);
+  }
+
+  @Override public void displayBench() {
+    display("bench", controller::displayBench);
+  }
+
+  @Override public void displayMetrics() {
+    display("metrics", controller::displayMetrics);
+  }
+
+  @Override public void resetInformation() {
+    submit("reset", controller::resetInformation);
+  }
+
+  /**
+   * queue exit behind the commands given so far. A display request still waiting is cancelled, as
+   * nobody would see it.
+   */
+  @Override public synchronized void exit() {
+    if (pendingDisplay != null) {
+      pendingDisplay.cancel();
+    }
+    submit("exit", controller::exit);
+  }
+
+  @Override public void go(TeamDisplay view) {
+    view.addFeatures(this);
+  }
+
+  /**
+   * wait until all commands given so far have run, e.g. before a batch job ends.
+   *
+   * @param timeoutMillis the longest time to wait in milliseconds.
+   * @return true if all commands have run.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+    CountDownLatch idle = new CountDownLatch(1);
+    submit("await", idle::countDown);
+    return idle.await(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * a helper function that queues a display request, replacing the display request still waiting.
+   */
+  private synchronized void display(String command, Runnable work) {
+    if (pendingDisplay != null && pendingDisplay.isPending()) {
+      if (pendingDisplay.command.equals(command)) {
+        return;
+      }
+      pendingDisplay.cancel();
+    }
+    pendingDisplay = submit(command, work);
+  }
+
+  private Request submit(String command, Runnable work) {
+    Request request = new Request(command, work);
+    worker.execute(request);
+    return request;
+  }
+
+  /**
+   * a command waiting for or running on the worker. A request runs at most once and only if it
+   * has not been cancelled before it started.
+   */
+  private static final class Request implements Runnable {
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+    private final String command;
+    private final Runnable work;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    private Request(String command, Runnable work) {
+      this.command = command;
+      this.work = work;
+    }
+
+    private boolean isPending() {
+      return state.get() == PENDING;
+    }
+
+    private void cancel() {
+      state.compareAndSet(PENDING, CANCELLED);
+    }
+
+    @Override public void run() {
+      if (!state.compareAndSet(PENDING, RUNNING)) {
+        return;
+      }
+      work.run();
+    }
+  }
+}
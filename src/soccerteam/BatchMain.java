@@ -0,0 +1,216 @@
+package soccerteam;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Run the team commands from a script or standard input, without a window. Every line is one
+ * command; blank lines and lines starting with # are skipped:
+ *
+ * <pre>
+ * add First Last 2015-04-01 GOALIE 3   register a player
+ * import roster.csv                    register the players of a CSV or JSON-lines file
+ * create                               make the team
+ * team | lineup | bench | metrics      show the team, the starting lineUp, the bench or metrics
+ * export roster.snapshot               save the team as a roster snapshot
+ * new                                  start the next roster
+ * exit                                 stop reading commands
+ * </pre>
+ *
+ * <p>Only the TeamController and a ConsoleTeamDisplay are used, so no Swing class is loaded and
+ * the metrics are not published over JMX. Commands run on the calling thread and output is flushed
+ * only when no more input is waiting, so scripts over many rosters start fast and pay little per
+ * command. The exit status is 1 if any line of the script or of an imported roster could not be
+ * run.
+ */
+public class BatchMain {
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private final Writer out;
+  private final ConsoleTeamDisplay view;
+  private Team team;
+  private TeamController controller;
+  private int errors = 0;
+
+  /**
+   * Constructs a new BatchMain writing its output to the given stream.
+   *
+   * @param out the stream receiving the output.
+   */
+  public BatchMain(Writer out) {
+    this.out = out;
+    this.view = new ConsoleTeamDisplay(out);
+    newRoster();
+  }
+
+  /**
+   * Run the commands of a script, or of standard input if no script is given.
+   *
+   * @param args the path of the script, optional.
+   * @throws IOException if the script cannot be read or the output cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    BatchMain batch = new BatchMain(out);
+    Reader in = args.length > 0
+        ? Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)
+        : new InputStreamReader(System.in, StandardCharsets.UTF_8);
+    try (BufferedReader reader = new BufferedReader(in)) {
+      batch.run(reader);
+    }
+    if (batch.getErrorCount() > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Run commands until the input ends or an exit command is read.
+   *
+   * @param in the commands, one per line.
+   * @throws IOException if the input cannot be read or the output cannot be written.
+   */
+  public void run(BufferedReader in) throws IOException {
+    int lineNumber = 0;
+    String line;
+    while ((line = in.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (!line.isEmpty() && line.charAt(0) != '#') {
+        if (!runCommand(lineNumber, WHITESPACE.split(line))) {
+          break;
+        }
+      }
+      if (!in.ready()) {
+        view.flush();
+      }
+    }
+    view.flush();
+  }
+
+  /**
+   * a getter provides the number of lines of the script and of imported rosters that could not
+   * be run.
+   *
+   * @return the number of errors.
+   */
+  public int getErrorCount() {
+    return this.errors;
+  }
+
+  /**
+   * A helper function that starts an empty roster with its own controller.
+   */
+  private void newRoster() {
+    team = new TeamImpl();
+    controller = new TeamController(view, team);
+    controller.go(view);
+  }
+
+  /**
+   * A helper function that runs one command.
+   *
+   * @param lineNumber the line of the command, for error messages.
+   * @param words      the command followed by its arguments.
+   * @return false if no more commands should be run.
+   * @throws IOException if the output cannot be written.
+   */
+  private boolean runCommand(int lineNumber, String[] words) throws IOException {
+    String command = words[0].toLowerCase(Locale.ROOT);
+    int arguments = words.length - 1;
+    int rejections = controller.getRejectionCount();
+    switch (command) {
+      case "add":
+        if (arguments != 5) {
+          return error(lineNumber, "add needs first name, last name, date of birth, position and"
+              + " skill level.");
+        }
+        controller.addPlayers(words[1], words[2], words[3], PlayerValidator.toPosition(words[4]),
+            words[5]);
+        return countRejection(rejections);
+      case "import":
+        if (arguments != 1) {
+          return error(lineNumber, "import needs a file.");
+        }
+        return importRoster(lineNumber, Paths.get(words[1]), rejections);
+      case "export":
+        if (arguments != 1) {
+          return error(lineNumber, "export needs a file.");
+        }
+        return exportRoster(lineNumber, Paths.get(words[1]));
+      case "create":
+        controller.createTeam();
+        return countRejection(rejections);
+      case "team":
+        controller.displayTeamPlayers();
+        return true;
+      case "lineup":
+        controller.displayStartingLineup();
+        return true;
+      case "bench":
+        controller.displayBench();
+        return true;
+      case "metrics":
+        controller.displayMetrics();
+        return true;
+      case "new":
+        newRoster();
+        return true;
+      case "exit":
+        return false;
+      default:
+        return error(lineNumber, "Unknown command " + words[0] + ".");
+    }
+  }
+
+  private boolean importRoster(int lineNumber, Path file, int rejections) throws IOException {
+    ImportReport report;
+    try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      report = controller.importPlayers(in, out, file.toString().endsWith(".jsonl"));
+    } catch (IOException e) {
+      return error(lineNumber, "Cannot import " + file + ": " + e.getMessage());
+    }
+    if (report != null) {
+      out.write(report.toString());
+    }
+    return countRejection(rejections);
+  }
+
+  private boolean exportRoster(int lineNumber, Path file) {
+    try {
+      RosterSnapshot.write(file, team);
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      return error(lineNumber, "Cannot export to " + file + ": " + e.getMessage());
+    }
+    view.displayPlayerMessage("Roster exported to " + file);
+    return true;
+  }
+
+  /**
+   * A helper function that counts what the controller refused while running a command as errors,
+   * one for a player or team, or one per rejected row of an import. The controller or the
+   * rejection report has already shown why.
+   *
+   * @param rejections the number of commands the controller had refused before this one.
+   * @return true, as the next commands still run.
+   */
+  private boolean countRejection(int rejections) {
+    errors += controller.getRejectionCount() - rejections;
+    return true;
+  }
+
+  private boolean error(int lineNumber, String message) {
+    errors++;
+    view.displayPlayerMessage("Line " + lineNumber + ": " + message);
+    return true;
+  }
+}
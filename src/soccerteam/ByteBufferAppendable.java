@@ -0,0 +1,96 @@
+package soccerteam;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class lets renderers write text into a ByteBuffer encoded as UTF-8, e.g. a direct buffer
+ * that is handed to a channel afterwards. The adapter can be pointed at another buffer, so one
+ * instance can be reused for many renderings.
+ */
+public final class ByteBufferAppendable implements Appendable {
+  private ByteBuffer buffer;
+  private char highSurrogate = 0;
+
+  /**
+   * A constructor to create an adapter writing into the given buffer.
+   *
+   * @param buffer the buffer receiving the bytes.
+   */
+  public ByteBufferAppendable(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * point the adapter at another buffer.
+   *
+   * @param buffer the buffer receiving the bytes from now on.
+   * @return this adapter.
+   */
+  public ByteBufferAppendable reset(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.highSurrogate = 0;
+    return this;
+  }
+
+  /**
+   * A getter to get the buffer being written.
+   *
+   * @return the buffer receiving the bytes.
+   */
+  public ByteBuffer getBuffer() {
+    return this.buffer;
+  }
+
+  @Override public Appendable append(CharSequence text) {
+    CharSequence chars = text == null ? "null" : text;
+    return append(chars, 0, chars.length());
+  }
+
+  @Override public Appendable append(CharSequence text, int start, int end) {
+    CharSequence chars = text == null ? "null" : text;
+    for (int i = start; i < end; i++) {
+      append(chars.charAt(i));
+    }
+    return this;
+  }
+
+  /**
+   * write one character. Surrogate pairs are combined into one code point; a surrogate without
+   * its partner is written as '?'.
+   *
+   * @param c the character to write.
+   * @return this adapter.
+   * @throws BufferOverflowException if the buffer is full.
+   */
+  @Override public Appendable append(char c) throws BufferOverflowException {
+    if (highSurrogate != 0) {
+      char high = highSurrogate;
+      highSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        int codePoint = Character.toCodePoint(high, c);
+        buffer.put((byte) (0xF0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        return this;
+      }
+      buffer.put((byte) '?');
+    }
+    if (c < 0x80) {
+      buffer.put((byte) c);
+    } else if (c < 0x800) {
+      buffer.put((byte) (0xC0 | (c >> 6)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    } else if (Character.isHighSurrogate(c)) {
+      highSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      buffer.put((byte) '?');
+    } else {
+      buffer.put((byte) (0xE0 | (c >> 12)));
+      buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    }
+    return this;
+  }
+}
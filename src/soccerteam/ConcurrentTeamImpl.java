@@ -0,0 +1,417 @@
+package soccerteam;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * This class is a thread-safe team. Players are kept in a TeamImpl guarded by a StampedLock:
+ * addPlayer and makeTeam take the write lock, so the roster is never corrupted by concurrent
+ * registrations.
+ *
+ * <p>Readers never render from the live roster. They work on an immutable snapshot holding the
+ * players, the jersey numbers they had at that moment, and the team, lineUp and bench derived
+ * from them. A reader checks the snapshot against the roster version with an optimistic read,
+ * which takes no lock at all. Only when the roster has changed does a reader take the read lock,
+ * and only long enough to copy the players; the lineUp and texts are then built outside the lock,
+ * so writers are blocked for a copy at most, never for a lineUp or a rendering.
+ */
+public class ConcurrentTeamImpl implements Team {
+  private final TeamImpl roster;
+  private final StampedLock lock = new StampedLock();
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+  /**
+   * a constructor to create a thread-safe team holding up to 20 players.
+   */
+  public ConcurrentTeamImpl() {
+    this(new TeamImpl());
+  }
+
+  /**
+   * a constructor to create a thread-safe team with a custom capacity and lineUp engine.
+   *
+   * @param maximumNumber the maximum number of players kept in the team.
+   * @param lineUpEngine  the engine picking the lineUp.
+   * @throws IllegalArgumentException if maximumNumber is less than the minimum team size or the
+   *                                  engine is null.
+   */
+  public ConcurrentTeamImpl(int maximumNumber, LineUpEngine lineUpEngine)
+      throws IllegalArgumentException {
+    this(new TeamImpl(maximumNumber, lineUpEngine));
+  }
+
+  /**
+   * a constructor to create a thread-safe team playing by the given rules.
+   *
+   * @param rules the formation, roster bounds and age group of the team.
+   * @throws IllegalArgumentException if the rules are null.
+   */
+  public ConcurrentTeamImpl(TeamRules rules) throws IllegalArgumentException {
+    this(new TeamImpl(rules));
+  }
+
+  private ConcurrentTeamImpl(TeamImpl roster) {
+    this.roster = roster;
+  }
+
+  @Override public void addPlayer(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel) {
+    long stamp = lock.writeLock();
+    try {
+      roster.addPlayer(firstName, lastName, dateOfBirth, preferredPosition, skillLevel);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override public boolean hasPlayer(String firstName, String lastName, LocalDate dateOfBirth) {
+    long stamp = lock.readLock();
+    try {
+      return roster.hasPlayer(firstName, lastName, dateOfBirth);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * run an operation on the underlying roster while holding the write lock, e.g. to save it.
+   *
+   * @param operation the operation to run.
+   * @param <R>       the type of the result.
+   * @return the result of the operation.
+   */
+  <R> R withRoster(Function<TeamImpl, R> operation) {
+    long stamp = lock.writeLock();
+    try {
+      return operation.apply(roster);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override public void makeTeam() throws IllegalArgumentException {
+    long stamp = lock.writeLock();
+    try {
+      roster.makeTeam();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override public boolean isTeamCreated() {
+    return currentSnapshot().teamCreated;
+  }
+
+  @Override public String getTeam() {
+    return createdSnapshot().getTeam();
+  }
+
+  /**
+   * a getter provides the players of the current snapshot, each holding the jersey number it had
+   * when the snapshot was taken.
+   *
+   * @return a read-only list of the players.
+   */
+  @Override public List<Player> getPlayers() {
+    return currentSnapshot().players;
+  }
+
+  /**
+   * read players from the current snapshot. The snapshot sorts its players once per order, and the
+   * stream never blocks writers or sees their changes.
+   */
+  @Override public Stream<Player> query(PlayerQuery query) {
+    return query.select(currentSnapshot().sorted(query.getOrder()));
+  }
+
+  @Override public String getLineUp() {
+    return currentSnapshot().getLineUp();
+  }
+
+  @Override public String getBench() {
+    return currentSnapshot().getBench();
+  }
+
+  @Override public void renderTeam(Appendable out) throws IOException {
+    out.append(createdSnapshot().getTeam());
+  }
+
+  @Override public void renderLineUp(Appendable out) throws IOException {
+    out.append(currentSnapshot().getLineUp());
+  }
+
+  @Override public void renderBench(Appendable out) throws IOException {
+    out.append(currentSnapshot().getBench());
+  }
+
+  /**
+   * find the player through the index of the roster under the read lock. The player is copied
+   * like the players of a snapshot, so its jersey number does not change afterwards.
+   */
+  @Override public Player getPlayerByJerseyNumber(int jerseyNumber) {
+    long stamp = lock.readLock();
+    try {
+      Player player = roster.getPlayerByJerseyNumber(jerseyNumber);
+      return player == null ? null : new FrozenPlayer((PlayerImpl) player);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  @Override public List<Player> getPlayersByPosition(Position position)
+      throws IllegalArgumentException {
+    long stamp = lock.readLock();
+    try {
+      return freeze(roster.getPlayersByPosition(position));
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  @Override public List<Player> getPlayersBornIn(int year) {
+    long stamp = lock.readLock();
+    try {
+      return freeze(roster.getPlayersBornIn(year));
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * a helper function that copies players read from the roster like the players of a snapshot.
+   */
+  private static List<Player> freeze(List<Player> players) {
+    Player[] frozen = new Player[players.size()];
+    for (int i = 0; i < frozen.length; i++) {
+      frozen[i] = new FrozenPlayer((PlayerImpl) players.get(i));
+    }
+    return Collections.unmodifiableList(Arrays.asList(frozen));
+  }
+
+  /**
+   * a helper function that makes the team first if it has not been made, as TeamImpl.getTeam
+   * does, then returns the current snapshot.
+   */
+  private Snapshot createdSnapshot() {
+    Snapshot current = currentSnapshot();
+    if (current.teamCreated) {
+      return current;
+    }
+    long stamp = lock.writeLock();
+    try {
+      if (!roster.isTeamCreated()) {
+        roster.makeTeam();
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    return currentSnapshot();
+  }
+
+  /**
+   * a helper function that returns a snapshot of the current roster. The published snapshot is
+   * reused as long as the roster version has not moved.
+   */
+  private Snapshot currentSnapshot() {
+    Snapshot published = snapshot.get();
+    long stamp = lock.tryOptimisticRead();
+    long version = roster.getVersion();
+    if (published != null && published.version == version && lock.validate(stamp)) {
+      return published;
+    }
+
+    Snapshot fresh;
+    stamp = lock.readLock();
+    try {
+      fresh = new Snapshot(roster.getVersion(), roster.isTeamCreated(), roster.toArray());
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    // publish unless another reader already published a newer snapshot
+    while (true) {
+      published = snapshot.get();
+      if (published != null && published.version >= fresh.version) {
+        return published.version == fresh.version ? published : fresh;
+      }
+      if (snapshot.compareAndSet(published, fresh)) {
+        return fresh;
+      }
+    }
+  }
+
+  /**
+   * an immutable copy of the roster at one version. The lineUp, the bench and the texts are
+   * derived lazily; racing readers may derive them twice, which is harmless as the results are
+   * equal and immutable.
+   */
+  private final class Snapshot {
+    private final long version;
+    private final boolean teamCreated;
+    private final List<Player> players;
+    private volatile String teamInfo;
+    private volatile String lineUpInfo;
+    private volatile String benchInfo;
+    private volatile Map<Position, List<Player>> lineUp;
+    private final AtomicReferenceArray<List<Player>> sorted =
+        new AtomicReferenceArray<>(PlayerQuery.Order.values().length);
+
+    private Snapshot(long version, boolean teamCreated, Player[] players) {
+      this.version = version;
+      this.teamCreated = teamCreated;
+      this.players = freeze(Arrays.asList(players));
+    }
+
+    /**
+     * the players of this snapshot in the given order, sorted on first use.
+     */
+    private List<Player> sorted(PlayerQuery.Order order) {
+      if (order == PlayerQuery.Order.NAME) {
+        return players;
+      }
+      List<Player> ordered = sorted.get(order.ordinal());
+      if (ordered == null) {
+        List<Player> copy = new ArrayList<>(players);
+        copy.sort(order.getComparator());
+        ordered = Collections.unmodifiableList(copy);
+        sorted.set(order.ordinal(), ordered);
+      }
+      return ordered;
+    }
+
+    private String getTeam() {
+      String text = teamInfo;
+      if (text == null) {
+        StringBuilder out = new StringBuilder();
+        TeamRenderer.appendUnchecked(o -> TeamRenderer.renderTeam(players, o), out);
+        text = out.toString();
+        teamInfo = text;
+      }
+      return text;
+    }
+
+    private String getLineUp() {
+      String text = lineUpInfo;
+      if (text == null) {
+        Map<Position, List<Player>> groups = lineUp();
+        StringBuilder out = new StringBuilder();
+        TeamRenderer.appendUnchecked(o -> TeamRenderer.renderLineUp(groups, o), out);
+        text = out.toString();
+        lineUpInfo = text;
+      }
+      return text;
+    }
+
+    private String getBench() {
+      String text = benchInfo;
+      if (text == null) {
+        Set<Player> inLineUp = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<Player> group : lineUp().values()) {
+          inLineUp.addAll(group);
+        }
+        List<Player> bench = new ArrayList<>();
+        for (Player player : players) {
+          if (!inLineUp.contains(player)) {
+            bench.add(player);
+          }
+        }
+        StringBuilder out = new StringBuilder();
+        TeamRenderer.appendUnchecked(o -> TeamRenderer.renderBench(bench, o), out);
+        text = out.toString();
+        benchInfo = text;
+      }
+      return text;
+    }
+
+    /**
+     * the lineUp of this snapshot, picked by the engine of the team. Each group is ordered by
+     * names and birthday like the lineUp of TeamImpl.
+     */
+    private Map<Position, List<Player>> lineUp() {
+      Map<Position, List<Player>> groups = lineUp;
+      if (groups == null) {
+        // players are ordered by names, so a stable sort keeps names as the tie break
+        List<Player> bySkill = new ArrayList<>(players);
+        bySkill.sort(Comparator.comparingInt(Player::getSkillLevel).reversed());
+        Map<Position, List<Player>> picked = roster.getLineUpEngine().makeLineUp(bySkill,
+            roster.getRules().getSlots());
+        groups = new EnumMap<>(Position.class);
+        Set<Player> chosen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Position position : Position.values()) {
+          chosen.clear();
+          chosen.addAll(picked.get(position));
+          List<Player> group = new ArrayList<>();
+          for (Player player : players) {
+            if (chosen.contains(player)) {
+              group.add(player);
+            }
+          }
+          groups.put(position, group);
+        }
+        lineUp = groups;
+      }
+      return groups;
+    }
+  }
+
+  /**
+   * a player as it was when a snapshot was taken. The jersey number is copied, so a later
+   * makeTeam does not change what the snapshot shows.
+   */
+  private static final class FrozenPlayer implements Player {
+    private final PlayerImpl player;
+    private final int jerseyNumber;
+
+    private FrozenPlayer(PlayerImpl player) {
+      this.player = player;
+      this.jerseyNumber = player.getJerseyNumber();
+    }
+
+    @Override public String getFirstName() {
+      return player.getFirstName();
+    }
+
+    @Override public String getLastName() {
+      return player.getLastName();
+    }
+
+    @Override public LocalDate getDateOfBirth() {
+      return player.getDateOfBirth();
+    }
+
+    @Override public Position getPreferredPosition() {
+      return player.getPreferredPosition();
+    }
+
+    @Override public int getSkillLevel() {
+      return player.getSkillLevel();
+    }
+
+    @Override public int getJerseyNumber() {
+      return this.jerseyNumber;
+    }
+
+    @Override public void appendTo(Appendable out) throws IOException {
+      player.appendTo(out, jerseyNumber);
+    }
+
+    @Override public String toString() {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(this::appendTo, out);
+      return out.toString();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package soccerteam;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * This class is a TeamDisplay writing to a stream instead of a window, so the system runs on
+ * servers without a display and without loading any Swing class. Messages are written one per
+ * line and a team, lineUp or bench follows its notification. Nothing is flushed until flush is
+ * called, so over a buffered stream a long script costs no system call per command.
+ */
+public class ConsoleTeamDisplay implements TeamDisplay {
+  private final PrintWriter out;
+
+  /**
+   * Constructs a new ConsoleTeamDisplay writing to the given stream.
+   *
+   * @param out the stream receiving the output, e.g. standard output.
+   */
+  public ConsoleTeamDisplay(Writer out) {
+    this.out = new PrintWriter(out, false);
+  }
+
+  /**
+   * write all buffered output to the stream.
+   */
+  public void flush() {
+    out.flush();
+  }
+
+  /**
+   * A helper function that writes a notification followed by the text it announces.
+   *
+   * @param text         the text, possibly empty.
+   * @param notification the notification.
+   */
+  private void print(String text, String notification) {
+    out.print(notification);
+    if (!text.isEmpty()) {
+      out.print('\n');
+      out.print(text);
+    }
+    if (text.isEmpty() || text.charAt(text.length() - 1) != '\n') {
+      out.print('\n');
+    }
+  }
+
+  /**
+   * commands are read by BatchMain, so there is nothing to bind them to.
+   */
+  @Override public void addFeatures(Features features) {
+  }
+
+  @Override public void resetFocus() {
+  }
+
+  @Override public void displayPlayerMessage(String message) {
+    out.print(message);
+    out.print('\n');
+  }
+
+  @Override public void resetAllInputs() {
+  }
+
+  @Override public void displayTeam(String team, String notification) {
+    print(team, notification);
+  }
+
+  /**
+   * the players are written in the text of Team.getTeam.
+   */
+  @Override public void displayRoster(Team team, String notification) {
+    print(team.getTeam(), notification);
+  }
+
+  @Override public void displayLineUp(String lineUp, String notification) {
+    print(lineUp, notification);
+  }
+
+  @Override public void displayBench(String bench, String notification) {
+    print(bench, notification);
+  }
+
+  @Override public void displayMetrics(String metrics, String notification) {
+    print(metrics, notification);
+  }
+
+  @Override public void switchToAddPlayerPanel() {
+  }
+
+  @Override public void switchToDisplayPanel() {
+  }
+}
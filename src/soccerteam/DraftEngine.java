@@ -0,0 +1,416 @@
+package soccerteam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class splits one large pool of players into several squads of equal size. Squads should
+ * be able to field the formation of a team (1 goalie, 2 defenders, 3 midfielders and 1 forward)
+ * with players in their preferred positions, and should have near-equal skill totals. Covering
+ * the formation comes first, balancing skill second.
+ *
+ * <p>Players are first dealt in snake order by skill level, then improved by a local search that
+ * swaps players between two squads. Players of the same position and skill level are alike for
+ * both goals, so a squad is kept as 20 lists of such alike players and a swap is picked among at
+ * most 400 kinds of swaps, whatever the size of the squads. Squads are paired by a round-robin
+ * schedule; the pairs of one round share no squad, so they are improved in parallel on a fork-join
+ * pool. Rounds are repeated until no pair improves any more, so the result is deterministic and
+ * does not depend on the number of cores.
+ */
+public class DraftEngine {
+  private static final Position[] POSITIONS = Position.values();
+  private static final int SKILLS =
+      PlayerImpl.MAXIMUM_SKILL_LEVEL - PlayerImpl.MINIMUM_SKILL_LEVEL + 1;
+  private static final int KINDS = POSITIONS.length * SKILLS;
+  private static final int MAXIMUM_CYCLES = 100;
+  private static final int PAIRS_PER_TASK = 4;
+  private static final Comparator<Player> PLAYER_COMPARATOR =
+      Comparator.comparing(Player::getLastName)
+          .thenComparing(Player::getFirstName)
+          .thenComparing(Player::getDateOfBirth);
+  private final ForkJoinPool pool;
+  private final int[] slots;
+
+  /**
+   * a constructor to create an engine searching on the common fork-join pool, for the formation
+   * of 7-a-side.
+   */
+  public DraftEngine() {
+    this(ForkJoinPool.commonPool(), TeamRules.SEVEN_A_SIDE.getSlots());
+  }
+
+  /**
+   * a constructor to create an engine searching on the given pool, for the given formation.
+   *
+   * @param pool  the pool running the search.
+   * @param slots the number of slots of each position.
+   * @throws IllegalArgumentException if the pool is null or a position has no slot count.
+   */
+  public DraftEngine(ForkJoinPool pool, Map<Position, Integer> slots)
+      throws IllegalArgumentException {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool must not be null.");
+    }
+    this.pool = pool;
+    this.slots = new int[POSITIONS.length];
+    for (Position position : POSITIONS) {
+      Integer count = slots.get(position);
+      if (count == null || count < 0) {
+        throw new IllegalArgumentException("Every position needs a number of slots.");
+      }
+      this.slots[position.ordinal()] = count;
+    }
+  }
+
+  /**
+   * split a pool of players into squads. Squad sizes differ by at most one.
+   *
+   * @param players   the players to split.
+   * @param teamCount the number of squads.
+   * @return the squads.
+   * @throws IllegalArgumentException if the number of squads is not positive, a player is null or
+   *                                  has an unknown skill level, or there are fewer players than
+   *                                  squads.
+   */
+  public Draft draft(List<? extends Player> players, int teamCount)
+      throws IllegalArgumentException {
+    if (teamCount < 1) {
+      throw new IllegalArgumentException("There must be at least one team.");
+    }
+    if (players.size() < teamCount) {
+      throw new IllegalArgumentException("There must be at least one player per team.");
+    }
+    List<Player> ordered = new ArrayList<>(players.size());
+    long grandTotal = 0;
+    for (Player player : players) {
+      if (player == null) {
+        throw new IllegalArgumentException("Player must not be null.");
+      }
+      int skillLevel = player.getSkillLevel();
+      if (skillLevel < PlayerImpl.MINIMUM_SKILL_LEVEL
+          || skillLevel > PlayerImpl.MAXIMUM_SKILL_LEVEL) {
+        throw new IllegalArgumentException("Skill level must be between "
+            + PlayerImpl.MINIMUM_SKILL_LEVEL + " and " + PlayerImpl.MAXIMUM_SKILL_LEVEL + ".");
+      }
+      ordered.add(player);
+      grandTotal += skillLevel;
+    }
+    ordered.sort(Comparator.comparingInt(Player::getSkillLevel).reversed()
+        .thenComparing(PLAYER_COMPARATOR));
+
+    Squad[] squads = new Squad[teamCount];
+    for (int t = 0; t < teamCount; t++) {
+      squads[t] = new Squad();
+    }
+    // snake order: 0, 1, ..., n - 1, n - 1, ..., 0, 0, 1, ...
+    for (int i = 0; i < ordered.size(); i++) {
+      int round = i / teamCount;
+      int index = i % teamCount;
+      squads[round % 2 == 0 ? index : teamCount - 1 - index].add(ordered.get(i));
+    }
+    search(squads, ordered.size(), grandTotal);
+
+    List<List<Player>> teams = new ArrayList<>(teamCount);
+    int[] skillTotals = new int[teamCount];
+    int[] outOfPosition = new int[teamCount];
+    for (int t = 0; t < teamCount; t++) {
+      List<Player> team = new ArrayList<>(squads[t].size);
+      for (List<Player> alike : squads[t].players) {
+        team.addAll(alike);
+      }
+      team.sort(PLAYER_COMPARATOR);
+      teams.add(Collections.unmodifiableList(team));
+      skillTotals[t] = (int) squads[t].total;
+      outOfPosition[t] = squads[t].shortfall();
+    }
+    return new Draft(teams, skillTotals, outOfPosition);
+  }
+
+  /**
+   * a helper function that improves pairs of squads, one round-robin round at a time, until a
+   * whole cycle of rounds improves nothing.
+   */
+  private void search(Squad[] squads, int playerCount, long grandTotal) {
+    int n = squads.length;
+    if (n < 2) {
+      return;
+    }
+    // circle method: with an even number of entries, one entry stays put and the others rotate
+    int entries = n % 2 == 0 ? n : n + 1;
+    int[] circle = new int[entries];
+    for (int i = 0; i < entries; i++) {
+      circle[i] = i < n ? i : -1;
+    }
+    AtomicBoolean improved = new AtomicBoolean();
+    for (int cycle = 0; cycle < MAXIMUM_CYCLES; cycle++) {
+      improved.set(false);
+      for (int round = 0; round < entries - 1; round++) {
+        List<Squad[]> pairs = new ArrayList<>(entries / 2);
+        for (int k = 0; k < entries / 2; k++) {
+          int a = circle[k];
+          int b = circle[entries - 1 - k];
+          if (a >= 0 && b >= 0) {
+            pairs.add(new Squad[] {squads[a], squads[b]});
+          }
+        }
+        pool.invoke(new PairTask(pairs, 0, pairs.size(), playerCount, grandTotal, improved));
+        int last = circle[entries - 1];
+        System.arraycopy(circle, 1, circle, 2, entries - 2);
+        circle[1] = last;
+      }
+      if (!improved.get()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * a task improving a range of pairs of squads, split in halves until a few pairs are left.
+   */
+  private final class PairTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient List<Squad[]> pairs;
+    private final int from;
+    private final int to;
+    private final int playerCount;
+    private final long grandTotal;
+    private final AtomicBoolean improved;
+
+    private PairTask(List<Squad[]> pairs, int from, int to, int playerCount, long grandTotal,
+        AtomicBoolean improved) {
+      this.pairs = pairs;
+      this.from = from;
+      this.to = to;
+      this.playerCount = playerCount;
+      this.grandTotal = grandTotal;
+      this.improved = improved;
+    }
+
+    @Override protected void compute() {
+      if (to - from <= PAIRS_PER_TASK) {
+        for (int i = from; i < to; i++) {
+          if (improve(pairs.get(i)[0], pairs.get(i)[1], playerCount, grandTotal)) {
+            improved.set(true);
+          }
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new PairTask(pairs, from, middle, playerCount, grandTotal, improved),
+          new PairTask(pairs, middle, to, playerCount, grandTotal, improved));
+    }
+  }
+
+  /**
+   * a helper function that swaps players between two squads while a swap makes them better. Each
+   * step takes the best kind of swap: the one covering the most slots, then the one bringing the
+   * skill totals closest to their share of the pool.
+   *
+   * @return true if any swap was made.
+   */
+  private boolean improve(Squad a, Squad b, int playerCount, long grandTotal) {
+    boolean improved = false;
+    while (true) {
+      long bestShortfall = a.shortfall() + b.shortfall();
+      double bestImbalance = imbalance(a.total, a.size, playerCount, grandTotal)
+          + imbalance(b.total, b.size, playerCount, grandTotal);
+      int bestFrom = -1;
+      int bestTo = -1;
+      for (int i = 0; i < KINDS; i++) {
+        if (a.players.get(i).isEmpty()) {
+          continue;
+        }
+        for (int j = 0; j < KINDS; j++) {
+          if (i == j || b.players.get(j).isEmpty()) {
+            continue;
+          }
+          int difference = skillOf(j) - skillOf(i);
+          long shortfall = a.shortfallAfter(positionOf(i), positionOf(j))
+              + b.shortfallAfter(positionOf(j), positionOf(i));
+          if (shortfall > bestShortfall) {
+            continue;
+          }
+          double imbalance = imbalance(a.total + difference, a.size, playerCount, grandTotal)
+              + imbalance(b.total - difference, b.size, playerCount, grandTotal);
+          if (shortfall < bestShortfall || imbalance < bestImbalance) {
+            bestShortfall = shortfall;
+            bestImbalance = imbalance;
+            bestFrom = i;
+            bestTo = j;
+          }
+        }
+      }
+      if (bestFrom < 0) {
+        return improved;
+      }
+      Player fromA = a.remove(bestFrom);
+      Player fromB = b.remove(bestTo);
+      a.add(fromB);
+      b.add(fromA);
+      improved = true;
+    }
+  }
+
+  /**
+   * a helper function that measures how far a squad's skill total is from its share of the pool,
+   * scaled by the number of players so the share stays an integer. The square is taken as a double,
+   * which cannot overflow for large pools.
+   */
+  private static double imbalance(long total, int size, int playerCount, long grandTotal) {
+    double deviation = total * playerCount - grandTotal * size;
+    return deviation * deviation;
+  }
+
+  private static int kindOf(Player player) {
+    return player.getPreferredPosition().ordinal() * SKILLS
+        + player.getSkillLevel() - PlayerImpl.MINIMUM_SKILL_LEVEL;
+  }
+
+  private static int positionOf(int kind) {
+    return kind / SKILLS;
+  }
+
+  private static int skillOf(int kind) {
+    return kind % SKILLS + PlayerImpl.MINIMUM_SKILL_LEVEL;
+  }
+
+  /**
+   * a squad being drafted: its players grouped by position and skill level, with the counts the
+   * search needs.
+   */
+  private final class Squad {
+    private final List<List<Player>> players = new ArrayList<>(KINDS);
+    private final int[] positionCount = new int[POSITIONS.length];
+    private long total = 0;
+    private int size = 0;
+
+    private Squad() {
+      for (int i = 0; i < KINDS; i++) {
+        players.add(new ArrayList<>());
+      }
+    }
+
+    private void add(Player player) {
+      players.get(kindOf(player)).add(player);
+      positionCount[player.getPreferredPosition().ordinal()]++;
+      total += player.getSkillLevel();
+      size++;
+    }
+
+    private Player remove(int kind) {
+      List<Player> alike = players.get(kind);
+      Player player = alike.remove(alike.size() - 1);
+      positionCount[positionOf(kind)]--;
+      total -= skillOf(kind);
+      size--;
+      return player;
+    }
+
+    /**
+     * the number of slots of the formation that players in their preferred position cannot fill.
+     */
+    private int shortfall() {
+      int shortfall = 0;
+      for (int p = 0; p < slots.length; p++) {
+        shortfall += Math.max(0, slots[p] - positionCount[p]);
+      }
+      return shortfall;
+    }
+
+    /**
+     * the shortfall after a player of one position leaves and a player of another joins.
+     */
+    private int shortfallAfter(int leaving, int joining) {
+      if (leaving == joining) {
+        return shortfall();
+      }
+      positionCount[leaving]--;
+      positionCount[joining]++;
+      int shortfall = shortfall();
+      positionCount[leaving]++;
+      positionCount[joining]--;
+      return shortfall;
+    }
+  }
+
+  /**
+   * the squads made by a draft, with their skill totals and the number of formation slots each
+   * one has to fill with players out of their preferred position.
+   */
+  public static final class Draft {
+    private final List<List<Player>> teams;
+    private final int[] skillTotals;
+    private final int[] outOfPosition;
+
+    private Draft(List<List<Player>> teams, int[] skillTotals, int[] outOfPosition) {
+      this.teams = Collections.unmodifiableList(teams);
+      this.skillTotals = skillTotals;
+      this.outOfPosition = outOfPosition;
+    }
+
+    /**
+     * a getter provides the squads, each ordered by names and birthday.
+     *
+     * @return a read-only list of read-only squads.
+     */
+    public List<List<Player>> getTeams() {
+      return this.teams;
+    }
+
+    /**
+     * a getter provides the skill total of a squad.
+     *
+     * @param team the index of the squad.
+     * @return the sum of the skill levels of its players.
+     */
+    public int getSkillTotal(int team) {
+      return skillTotals[team];
+    }
+
+    /**
+     * a getter provides the number of formation slots a squad has to fill with players out of
+     * their preferred position.
+     *
+     * @param team the index of the squad.
+     * @return the number of out-of-position slots.
+     */
+    public int getOutOfPosition(int team) {
+      return outOfPosition[team];
+    }
+
+    /**
+     * a getter provides the number of out-of-position slots of all squads.
+     *
+     * @return the total number of out-of-position slots.
+     */
+    public int getOutOfPosition() {
+      int sum = 0;
+      for (int count : outOfPosition) {
+        sum += count;
+      }
+      return sum;
+    }
+
+    /**
+     * a getter provides the difference between the largest and the smallest skill total. Squads
+     * of different sizes are compared by their totals as they are.
+     *
+     * @return the spread of the skill totals.
+     */
+    public int getSkillSpread() {
+      int min = Integer.MAX_VALUE;
+      int max = Integer.MIN_VALUE;
+      for (int total : skillTotals) {
+        min = Math.min(min, total);
+        max = Math.max(max, total);
+      }
+      return max - min;
+    }
+  }
+}
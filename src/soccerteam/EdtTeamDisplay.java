@@ -0,0 +1,83 @@
+package soccerteam;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * This class passes every call to a Swing view on the Event Dispatch Thread. Controllers running
+ * model work on a background thread talk to this view, so Swing components are still only touched
+ * on the Event Dispatch Thread.
+ */
+public class EdtTeamDisplay implements TeamDisplay {
+  private final TeamDisplay view;
+
+  /**
+   * Constructs a new EdtTeamDisplay forwarding to the given view.
+   *
+   * @param view the Swing view receiving the calls.
+   */
+  public EdtTeamDisplay(TeamDisplay view) {
+    this.view = view;
+  }
+
+  /**
+   * A helper function that runs a call now when already on the Event Dispatch Thread, and posts it
+   * there otherwise.
+   *
+   * @param call the call to the view.
+   */
+  private void onEdt(Runnable call) {
+    if (SwingUtilities.isEventDispatchThread()) {
+      call.run();
+    } else {
+      SwingUtilities.invokeLater(call);
+    }
+  }
+
+  @Override public void addFeatures(Features features) {
+    onEdt(() -> view.addFeatures(features));
+  }
+
+  @Override public void resetFocus() {
+    onEdt(view::resetFocus);
+  }
+
+  @Override public void displayPlayerMessage(String message) {
+    onEdt(() -> view.displayPlayerMessage(message));
+  }
+
+  @Override public void resetAllInputs() {
+    onEdt(view::resetAllInputs);
+  }
+
+  @Override public void displayTeam(String team, String notification) {
+    onEdt(() -> view.displayTeam(team, notification));
+  }
+
+  /**
+   * the team is handed over as it is, so the Swing view should show the rows its table model
+   * follows rather than read the team on the Event Dispatch Thread.
+   */
+  @Override public void displayRoster(Team team, String notification) {
+    onEdt(() -> view.displayRoster(team, notification));
+  }
+
+  @Override public void displayLineUp(String lineUp, String notification) {
+    onEdt(() -> view.displayLineUp(lineUp, notification));
+  }
+
+  @Override public void displayBench(String bench, String notification) {
+    onEdt(() -> view.displayBench(bench, notification));
+  }
+
+  @Override public void displayMetrics(String metrics, String notification) {
+    onEdt(() -> view.displayMetrics(metrics, notification));
+  }
+
+  @Override public void switchToAddPlayerPanel() {
+    onEdt(view::switchToAddPlayerPanel);
+  }
+
+  @Override public void switchToDisplayPanel() {
+    onEdt(view::switchToDisplayPanel);
+  }
+}
@@ -39,6 +39,11 @@ public interface Features {
    */
   void displayBench();
 
+  /**
+   * Displays the counters and latencies of the team operations.
+   */
+  void displayMetrics();
+
   /**
    * Resets all the information related to the team.
    */
@@ -0,0 +1,171 @@
+package soccerteam;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class reads and writes flat JSON objects, i.e. objects whose values are strings, numbers,
+ * booleans or null. It is all the JSON the roster files and the API need, and keeps the program
+ * free of external libraries.
+ */
+final class FlatJson {
+
+  private FlatJson() {
+  }
+
+  /**
+   * parse one flat JSON object. Values are returned as strings; null values are returned as null.
+   *
+   * @param text a string holding one JSON object.
+   * @return a map from field name to value, in the order of the text.
+   * @throws IllegalArgumentException if the text is not a flat JSON object.
+   */
+  static Map<String, String> parseObject(CharSequence text) throws IllegalArgumentException {
+    Map<String, String> fields = new LinkedHashMap<>();
+    int[] index = {skipSpaces(text, 0)};
+    expect(text, index, '{');
+    index[0] = skipSpaces(text, index[0]);
+    if (index[0] < text.length() && text.charAt(index[0]) == '}') {
+      index[0]++;
+    } else {
+      while (true) {
+        index[0] = skipSpaces(text, index[0]);
+        String name = readString(text, index);
+        index[0] = skipSpaces(text, index[0]);
+        expect(text, index, ':');
+        index[0] = skipSpaces(text, index[0]);
+        fields.put(name, readValue(text, index));
+        index[0] = skipSpaces(text, index[0]);
+        if (index[0] < text.length() && text.charAt(index[0]) == ',') {
+          index[0]++;
+          continue;
+        }
+        expect(text, index, '}');
+        break;
+      }
+    }
+    if (skipSpaces(text, index[0]) != text.length()) {
+      throw new IllegalArgumentException("Unexpected text after the JSON object.");
+    }
+    return fields;
+  }
+
+  /**
+   * append a string as a quoted JSON string.
+   *
+   * @param out   the builder to append to.
+   * @param value the string to quote.
+   * @return the builder.
+   */
+  static StringBuilder quote(StringBuilder out, String value) {
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+      }
+    }
+    return out.append('"');
+  }
+
+  private static int skipSpaces(CharSequence text, int index) {
+    while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  private static void expect(CharSequence text, int[] index, char c) {
+    if (index[0] >= text.length() || text.charAt(index[0]) != c) {
+      throw new IllegalArgumentException("Malformed JSON: expected '" + c + "'.");
+    }
+    index[0]++;
+  }
+
+  private static String readValue(CharSequence text, int[] index) {
+    if (index[0] < text.length() && text.charAt(index[0]) == '"') {
+      return readString(text, index);
+    }
+    int start = index[0];
+    while (index[0] < text.length() && ",}".indexOf(text.charAt(index[0])) < 0
+        && !Character.isWhitespace(text.charAt(index[0]))) {
+      index[0]++;
+    }
+    String literal = text.subSequence(start, index[0]).toString();
+    if (literal.isEmpty() || literal.charAt(0) == '{' || literal.charAt(0) == '[') {
+      throw new IllegalArgumentException("Malformed JSON: only flat values are supported.");
+    }
+    return "null".equals(literal) ? null : literal;
+  }
+
+  private static String readString(CharSequence text, int[] index) {
+    expect(text, index, '"');
+    StringBuilder value = new StringBuilder();
+    while (index[0] < text.length()) {
+      char c = text.charAt(index[0]++);
+      if (c == '"') {
+        return value.toString();
+      }
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+      if (index[0] >= text.length()) {
+        break;
+      }
+      char escaped = text.charAt(index[0]++);
+      switch (escaped) {
+        case 'n':
+          value.append('\n');
+          break;
+        case 't':
+          value.append('\t');
+          break;
+        case 'r':
+          value.append('\r');
+          break;
+        case 'b':
+          value.append('\b');
+          break;
+        case 'f':
+          value.append('\f');
+          break;
+        case 'u':
+          if (index[0] + 4 > text.length()) {
+            throw new IllegalArgumentException("Malformed JSON: bad unicode escape.");
+          }
+          try {
+            value.append((char) Integer.parseInt(
+                text.subSequence(index[0], index[0] + 4).toString(), 16));
+          } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed JSON: bad unicode escape.");
+          }
+          index[0] += 4;
+          break;
+        default:
+          value.append(escaped);
+      }
+    }
+    throw new IllegalArgumentException("Malformed JSON: unterminated string.");
+  }
+}
@@ -0,0 +1,58 @@
+package soccerteam;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class picks the lineUp greedily. Players are assigned to their preferred positions by skill
+ * levels. If preferred position is full, the player is added to a wait list. If lineUp still has
+ * slots for different positions, players from the wait list are added, regardless their preferred
+ * position, to the first position with a free slot.
+ */
+public class GreedyLineUpEngine implements LineUpEngine {
+  private static final Position[] POSITIONS = Position.values();
+
+  @Override public Map<Position, List<Player>> makeLineUp(List<Player> candidates,
+      Map<Position, Integer> slots) {
+    Map<Position, List<Player>> lineUp = new EnumMap<>(Position.class);
+    // free slots of each position, indexed by ordinal
+    int[] free = new int[POSITIONS.length];
+    int remainingSlots = 0;
+    for (Position position : POSITIONS) {
+      lineUp.put(position, new ArrayList<>());
+      free[position.ordinal()] = slots.get(position);
+      remainingSlots += free[position.ordinal()];
+    }
+
+    // add players to their preferred positions if there is a slot available
+    ArrayList<Player> waitList = new ArrayList<>();
+    for (Player player : candidates) {
+      Position preferredPosition = player.getPreferredPosition();
+      if (free[preferredPosition.ordinal()] > 0) {
+        free[preferredPosition.ordinal()]--;
+        lineUp.get(preferredPosition).add(player);
+        remainingSlots--;
+      } else {
+        waitList.add(player);
+      }
+    }
+
+    // if there is any slot for lineUp, pick player from wait list
+    for (Player player : waitList) {
+      if (remainingSlots == 0) {
+        break;
+      }
+      for (Position position : POSITIONS) {
+        if (free[position.ordinal()] > 0) {
+          free[position.ordinal()]--;
+          lineUp.get(position).add(player);
+          remainingSlots--;
+          break;
+        }
+      }
+    }
+    return lineUp;
+  }
+}
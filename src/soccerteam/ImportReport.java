@@ -0,0 +1,69 @@
+package soccerteam;
+
+/**
+ * This class summarizes one roster import. Rejected rows are written to the rejection report while
+ * the import runs; this summary only holds the counts.
+ */
+public class ImportReport {
+  private final long rowsRead;
+  private final long playersAdded;
+  private final long rowsRejected;
+  private final long elapsedNanos;
+
+  /**
+   * A constructor to create an import summary.
+   *
+   * @param rowsRead     the number of non-empty data rows read.
+   * @param playersAdded the number of rows handed to the team successfully.
+   * @param rowsRejected the number of rows rejected by validation or by the team.
+   * @param elapsedNanos the time the import took in nanoseconds.
+   */
+  public ImportReport(long rowsRead, long playersAdded, long rowsRejected, long elapsedNanos) {
+    this.rowsRead = rowsRead;
+    this.playersAdded = playersAdded;
+    this.rowsRejected = rowsRejected;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * A getter to get the number of data rows read.
+   *
+   * @return the number of non-empty data rows read.
+   */
+  public long getRowsRead() {
+    return this.rowsRead;
+  }
+
+  /**
+   * A getter to get the number of players handed to the team. A team may still drop some of them
+   * later, e.g. when it is full.
+   *
+   * @return the number of rows handed to the team successfully.
+   */
+  public long getPlayersAdded() {
+    return this.playersAdded;
+  }
+
+  /**
+   * A getter to get the number of rejected rows.
+   *
+   * @return the number of rows rejected by validation or by the team.
+   */
+  public long getRowsRejected() {
+    return this.rowsRejected;
+  }
+
+  /**
+   * A getter to get the import throughput.
+   *
+   * @return the number of rows read per second.
+   */
+  public double getRowsPerSecond() {
+    return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  @Override public String toString() {
+    return "Rows read: " + rowsRead + ", Players added: " + playersAdded + ", Rows rejected: "
+        + rowsRejected + ", Rows per second: " + Math.round(getRowsPerSecond()) + "\n";
+  }
+}
@@ -0,0 +1,217 @@
+package soccerteam;
+
+import java.util.Random;
+
+/**
+ * This class hands out the jersey numbers of one team. Free numbers are kept in a bitset over a
+ * configurable range, e.g. 1 to 20 or 1 to 99. Requested numbers are given when they are free, and
+ * other numbers are picked at random among the free ones; with the same seed and the same calls,
+ * the same numbers are picked. Numbers stay taken until they are released, so players keep their
+ * numbers when the roster changes.
+ *
+ * <p>The free numbers of each 64-bit word of the bitset are counted in a Fenwick tree, so the k-th
+ * free number is found in logarithmic time and numbering a whole tryout pool stays fast.
+ *
+ * <p>All methods are synchronized, so teams of a league can be numbered from many threads at once;
+ * each team has its own allocator, so they do not wait for each other.
+ */
+public final class JerseyAllocator {
+  private final int minimumNumber;
+  private final int maximumNumber;
+  // bit n of the bitset is set when number n is free
+  private final long[] free;
+  // Fenwick tree over the number of free numbers of each word, indexed from 1
+  private final int[] freeCounts;
+  private final Random random;
+  private int freeCount;
+
+  /**
+   * a constructor to create an allocator of the numbers 1 to maximumNumber with a random seed.
+   *
+   * @param maximumNumber the largest jersey number.
+   * @throws IllegalArgumentException if maximumNumber is less than 1.
+   */
+  public JerseyAllocator(int maximumNumber) throws IllegalArgumentException {
+    this(1, maximumNumber, new Random().nextLong());
+  }
+
+  /**
+   * a constructor to create an allocator of a range of numbers.
+   *
+   * @param minimumNumber the smallest jersey number, at least 1.
+   * @param maximumNumber the largest jersey number.
+   * @param seed          the seed of the random picks.
+   * @throws IllegalArgumentException if the numbers do not form a range of positive numbers.
+   */
+  public JerseyAllocator(int minimumNumber, int maximumNumber, long seed)
+      throws IllegalArgumentException {
+    if (minimumNumber < 1 || maximumNumber < minimumNumber
+        || maximumNumber == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Jersey numbers must form a range of positive numbers.");
+    }
+    this.minimumNumber = minimumNumber;
+    this.maximumNumber = maximumNumber;
+    this.free = new long[(maximumNumber >>> 6) + 1];
+    this.freeCounts = new int[free.length + 1];
+    for (int number = minimumNumber; number <= maximumNumber; number++) {
+      free[number >>> 6] |= 1L << number;
+    }
+    // build the tree in linear time: each node passes its count on to its parent
+    for (int i = 1; i <= free.length; i++) {
+      freeCounts[i] += Long.bitCount(free[i - 1]);
+      int parent = i + (i & -i);
+      if (parent <= free.length) {
+        freeCounts[parent] += freeCounts[i];
+      }
+    }
+    this.freeCount = getCapacity();
+    this.random = new Random(seed);
+  }
+
+  /**
+   * a getter provides the smallest jersey number.
+   *
+   * @return the smallest number of the range.
+   */
+  public int getMinimumNumber() {
+    return this.minimumNumber;
+  }
+
+  /**
+   * a getter provides the largest jersey number.
+   *
+   * @return the largest number of the range.
+   */
+  public int getMaximumNumber() {
+    return this.maximumNumber;
+  }
+
+  /**
+   * a getter provides the number of jersey numbers in the range.
+   *
+   * @return the size of the range.
+   */
+  public int getCapacity() {
+    return maximumNumber - minimumNumber + 1;
+  }
+
+  /**
+   * a getter provides the number of jersey numbers still free.
+   *
+   * @return the number of free numbers.
+   */
+  public synchronized int getFreeCount() {
+    return this.freeCount;
+  }
+
+  /**
+   * check if a number is part of the range.
+   *
+   * @param number a jersey number.
+   * @return true if the number is in the range.
+   */
+  public boolean inRange(int number) {
+    return number >= minimumNumber && number <= maximumNumber;
+  }
+
+  /**
+   * check if a number is free.
+   *
+   * @param number a jersey number.
+   * @return true if the number is in the range and not taken.
+   */
+  public synchronized boolean isFree(int number) {
+    return inRange(number) && (free[number >>> 6] & (1L << number)) != 0;
+  }
+
+  /**
+   * take a number picked at random among the free ones.
+   *
+   * @return the number.
+   * @throws IllegalStateException if no number is free.
+   */
+  public synchronized int allocate() throws IllegalStateException {
+    if (freeCount == 0) {
+      throw new IllegalStateException("No jersey number is left.");
+    }
+    int number = select(random.nextInt(freeCount));
+    take(number);
+    return number;
+  }
+
+  /**
+   * take the requested number if it is free, or else a number picked at random.
+   *
+   * @param requested the requested number, or 0 for no preference.
+   * @return the number.
+   * @throws IllegalStateException if no number is free.
+   */
+  public synchronized int allocate(int requested) throws IllegalStateException {
+    return reserve(requested) ? requested : allocate();
+  }
+
+  /**
+   * take a given number, e.g. one a player asked for or had before.
+   *
+   * @param number a jersey number.
+   * @return true if the number was free and is now taken.
+   */
+  public synchronized boolean reserve(int number) {
+    if (!isFree(number)) {
+      return false;
+    }
+    take(number);
+    return true;
+  }
+
+  /**
+   * give a number back, e.g. when its player leaves the team. Numbers outside the range are
+   * ignored.
+   *
+   * @param number a jersey number.
+   */
+  public synchronized void release(int number) {
+    if (inRange(number) && !isFree(number)) {
+      free[number >>> 6] |= 1L << number;
+      count(number >>> 6, 1);
+    }
+  }
+
+  /**
+   * a helper function that marks a free number as taken.
+   */
+  private void take(int number) {
+    free[number >>> 6] &= ~(1L << number);
+    count(number >>> 6, -1);
+  }
+
+  /**
+   * a helper function that adds to the number of free numbers of a word.
+   */
+  private void count(int word, int delta) {
+    freeCount += delta;
+    for (int i = word + 1; i < freeCounts.length; i += i & -i) {
+      freeCounts[i] += delta;
+    }
+  }
+
+  /**
+   * a helper function that finds the k-th free number, counting from 0: the tree is walked down to
+   * the word holding it, then the bits of that word are skipped.
+   */
+  private int select(int k) {
+    int word = 0;
+    for (int step = Integer.highestOneBit(free.length); step > 0; step >>>= 1) {
+      int next = word + step;
+      if (next < freeCounts.length && freeCounts[next] <= k) {
+        word = next;
+        k -= freeCounts[next];
+      }
+    }
+    long bits = free[word];
+    for (; k > 0; k--) {
+      bits &= bits - 1;
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(bits);
+  }
+}
@@ -0,0 +1,97 @@
+package soccerteam;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * This interface represents the operations offered by a league. A league owns many teams keyed by
+ * club and age group. Operations on different teams are independent, so registering players into
+ * one team never waits for another team.
+ */
+public interface League {
+
+  /**
+   * register a team for the given club and age group. If the team is already registered, the
+   * existing team is returned.
+   *
+   * @param club     a string representing the club name.
+   * @param ageGroup a string representing the age group.
+   * @return the team registered under this key.
+   * @throws IllegalArgumentException if club or age group is empty.
+   */
+  Team registerTeam(String club, String ageGroup) throws IllegalArgumentException;
+
+  /**
+   * a getter provides the team registered under the given club and age group.
+   *
+   * @param club     a string representing the club name.
+   * @param ageGroup a string representing the age group.
+   * @return the team registered under this key.
+   * @throws IllegalArgumentException if no such team is registered.
+   */
+  Team getTeam(String club, String ageGroup) throws IllegalArgumentException;
+
+  /**
+   * add a player to a registered team. Only the target team is locked while the player is added.
+   *
+   * @param club              a string representing the club name.
+   * @param ageGroup          a string representing the age group.
+   * @param firstName         a string representing a player's first name.
+   * @param lastName          a string representing a player's last name.
+   * @param dateOfBirth       a LocalDate representing a player's birthdate.
+   * @param preferredPosition an enum type position.
+   * @param skillLevel        an integer representing skill level.
+   * @throws IllegalArgumentException if the team is not registered or the player is invalid.
+   */
+  void addPlayer(String club, String ageGroup, String firstName, String lastName,
+      LocalDate dateOfBirth, Position preferredPosition, int skillLevel)
+      throws IllegalArgumentException;
+
+  /**
+   * apply an operation to one registered team while holding that team's lock. Teams are not
+   * thread-safe on their own, so every access from concurrent callers should go through here.
+   *
+   * @param club      a string representing the club name.
+   * @param ageGroup  a string representing the age group.
+   * @param operation the operation applied to the team.
+   * @param <R>       the type of the result.
+   * @return the result of the operation.
+   * @throws IllegalArgumentException if the team is not registered.
+   */
+  <R> R withTeam(String club, String ageGroup, Function<Team, R> operation)
+      throws IllegalArgumentException;
+
+  /**
+   * apply an operation to every registered team in parallel across cores. Each team is locked only
+   * while its own operation runs. A null result is left out of the returned map.
+   *
+   * @param operation the operation applied to each team.
+   * @param <R>       the type of the results.
+   * @return a map from team key to the result of the operation for that team.
+   */
+  <R> Map<TeamKey, R> forEachTeam(Function<Team, R> operation);
+
+  /**
+   * create every registered team in parallel.
+   *
+   * @return a map from team key to the error message for every team that could not be created.
+   *     Teams that were created successfully are not in the map.
+   */
+  Map<TeamKey, String> makeAllTeams();
+
+  /**
+   * a getter provides the keys of all registered teams.
+   *
+   * @return a set of team keys.
+   */
+  Set<TeamKey> getTeamKeys();
+
+  /**
+   * a getter provides the number of registered teams.
+   *
+   * @return the number of registered teams.
+   */
+  int size();
+}
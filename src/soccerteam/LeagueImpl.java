@@ -0,0 +1,222 @@
+package soccerteam;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * This class is used to manage all teams of a league. Teams are stored in shards, each shard is a
+ * HashMap guarded by its own read-write lock, so registering a team only locks one shard and
+ * looking a team up never waits for a registration in another shard. Players are added while
+ * holding the lock of the target team only, so teams are filled independently of each other.
+ */
+public class LeagueImpl implements League {
+  private static final int SHARDS_PER_CORE = 4;
+  private final Shard[] shards;
+  private final int shardMask;
+  private final Function<TeamKey, Team> teamFactory;
+
+  /**
+   * a constructor to create a league whose teams are TeamImpl instances. The number of shards is
+   * derived from the number of available cores.
+   */
+  public LeagueImpl() {
+    this(key -> new TeamImpl(), Runtime.getRuntime().availableProcessors() * SHARDS_PER_CORE);
+  }
+
+  /**
+   * a constructor to create a league with a custom team factory and shard count.
+   *
+   * @param teamFactory a supplier creating a new empty team for each registration.
+   * @param shardCount  the minimal number of shards, rounded up to a power of two.
+   * @throws IllegalArgumentException if the factory is null or the shard count is not positive.
+   */
+  public LeagueImpl(Supplier<Team> teamFactory, int shardCount) throws IllegalArgumentException {
+    this(teamFactory == null ? null : key -> teamFactory.get(), shardCount);
+  }
+
+  /**
+   * the constructor shared by the public ones and withTeamRules, with a factory that may depend on
+   * the key of the team and may refuse it by throwing an IllegalArgumentException.
+   */
+  private LeagueImpl(Function<TeamKey, Team> teamFactory, int shardCount)
+      throws IllegalArgumentException {
+    if (teamFactory == null) {
+      throw new IllegalArgumentException("Team factory must not be null.");
+    }
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException("Shard count must be positive.");
+    }
+    int size = Integer.highestOneBit(shardCount);
+    if (size < shardCount) {
+      size <<= 1;
+    }
+    this.shards = new Shard[size];
+    for (int i = 0; i < size; i++) {
+      shards[i] = new Shard();
+    }
+    this.shardMask = size - 1;
+    this.teamFactory = teamFactory;
+  }
+
+  /**
+   * a function creating a league whose teams play by the rules of their age group, so one league
+   * holds teams of every formation. Registering a team of an age group without rules is refused.
+   * The number of shards is derived from the number of available cores.
+   *
+   * @return the league.
+   */
+  public static LeagueImpl withTeamRules() {
+    return new LeagueImpl(key -> new TeamImpl(TeamRules.forAgeGroup(key.getAgeGroup())),
+        Runtime.getRuntime().availableProcessors() * SHARDS_PER_CORE);
+  }
+
+  /**
+   * a helper function to find the shard of a key. Hash bits are spread so that keys with similar
+   * hash codes do not pile up in the same shard.
+   */
+  private Shard shardOf(TeamKey key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    return shards[h & shardMask];
+  }
+
+  @Override public Team registerTeam(String club, String ageGroup) {
+    TeamKey key = new TeamKey(club, ageGroup);
+    Shard shard = shardOf(key);
+    shard.lock.readLock().lock();
+    try {
+      Team existing = shard.teams.get(key);
+      if (existing != null) {
+        return existing;
+      }
+    } finally {
+      shard.lock.readLock().unlock();
+    }
+    shard.lock.writeLock().lock();
+    try {
+      return shard.teams.computeIfAbsent(key, teamFactory);
+    } finally {
+      shard.lock.writeLock().unlock();
+    }
+  }
+
+  @Override public Team getTeam(String club, String ageGroup) {
+    TeamKey key = new TeamKey(club, ageGroup);
+    Shard shard = shardOf(key);
+    Team team;
+    shard.lock.readLock().lock();
+    try {
+      team = shard.teams.get(key);
+    } finally {
+      shard.lock.readLock().unlock();
+    }
+    if (team == null) {
+      throw new IllegalArgumentException("No team registered for " + key + ".");
+    }
+    return team;
+  }
+
+  @Override public void addPlayer(String club, String ageGroup, String firstName,
+      String lastName, LocalDate dateOfBirth, Position preferredPosition, int skillLevel) {
+    withTeam(club, ageGroup, team -> {
+      team.addPlayer(firstName, lastName, dateOfBirth, preferredPosition, skillLevel);
+      return null;
+    });
+  }
+
+  @Override public <R> R withTeam(String club, String ageGroup, Function<Team, R> operation) {
+    Team team = getTeam(club, ageGroup);
+    synchronized (team) {
+      return operation.apply(team);
+    }
+  }
+
+  @Override public <R> Map<TeamKey, R> forEachTeam(Function<Team, R> operation) {
+    Map<TeamKey, R> results = new ConcurrentHashMap<>();
+    snapshot().parallelStream().forEach(entry -> {
+      Team team = entry.getValue();
+      R result;
+      synchronized (team) {
+        result = operation.apply(team);
+      }
+      if (result != null) {
+        results.put(entry.getKey(), result);
+      }
+    });
+    return results;
+  }
+
+  @Override public Map<TeamKey, String> makeAllTeams() {
+    return forEachTeam(team -> {
+      try {
+        team.makeTeam();
+        return null;
+      } catch (IllegalArgumentException e) {
+        return e.getMessage();
+      }
+    });
+  }
+
+  @Override public Set<TeamKey> getTeamKeys() {
+    Set<TeamKey> keys = new HashSet<>();
+    for (Shard shard : shards) {
+      shard.lock.readLock().lock();
+      try {
+        keys.addAll(shard.teams.keySet());
+      } finally {
+        shard.lock.readLock().unlock();
+      }
+    }
+    return keys;
+  }
+
+  @Override public int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      shard.lock.readLock().lock();
+      try {
+        size += shard.teams.size();
+      } finally {
+        shard.lock.readLock().unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * a helper function that copies all registered teams, locking one shard at a time. Bulk
+   * operations work on this copy so that registrations are not blocked while they run.
+   */
+  private List<Map.Entry<TeamKey, Team>> snapshot() {
+    List<Map.Entry<TeamKey, Team>> entries = new ArrayList<>();
+    for (Shard shard : shards) {
+      shard.lock.readLock().lock();
+      try {
+        for (Map.Entry<TeamKey, Team> entry : shard.teams.entrySet()) {
+          entries.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+      } finally {
+        shard.lock.readLock().unlock();
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * a shard of the league, holding the teams whose keys hash into it.
+   */
+  private static final class Shard {
+    private final Map<TeamKey, Team> teams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  }
+}
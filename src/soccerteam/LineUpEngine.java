@@ -0,0 +1,24 @@
+package soccerteam;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This interface represents a strategy to pick the starting lineUp of a team. Teams hand their
+ * candidates to an engine whenever the lineUp has to be rebuilt, so different strategies can be
+ * plugged into the same team. An engine may be called from several threads at once, e.g. by the
+ * LineUpSimulator, so it keeps no state between calls.
+ */
+public interface LineUpEngine {
+
+  /**
+   * pick the players of the lineUp and the position each of them plays. Every position gets at
+   * most as many players as it has slots, and a player is used at most once.
+   *
+   * @param candidates players ordered by skill level from high to low, players with the same skill
+   *                   level are ordered by names and birthday.
+   * @param slots      the number of slots of each position.
+   * @return a map from each position to the players playing there. Every position is a key.
+   */
+  Map<Position, List<Player>> makeLineUp(List<Player> candidates, Map<Position, Integer> slots);
+}
@@ -0,0 +1,262 @@
+package soccerteam;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * This class answers what-if questions before match day: which lineUp would the team field if
+ * some players were out? Each scenario is a set of absent players. The lineUp of a scenario is
+ * picked the way the team picks its own: the remaining players, ordered by skill level and names,
+ * are handed to the lineUp engine of the team with the slots of the formation.
+ *
+ * <p>The players are copied from the team once, so the team is never changed and its own lineUp
+ * stays cached. Scenarios are then evaluated in parallel on a fork-join pool, a batch of scenarios
+ * per task, and ranked: lineUps filling more slots first, then those with fewer players out of
+ * their preferred position, then higher skill totals.
+ */
+public class LineUpSimulator {
+  private static final int SCENARIOS_PER_TASK = 64;
+  private static final Comparator<Outcome> RANKING =
+      Comparator.comparingInt(Outcome::getFilledSlots).reversed()
+          .thenComparingInt(Outcome::getOutOfPosition)
+          .thenComparing(Comparator.comparingInt(Outcome::getSkillTotal).reversed())
+          .thenComparingInt(Outcome::getScenario);
+  private final ForkJoinPool pool;
+
+  /**
+   * a constructor to create a simulator running on the common fork-join pool.
+   */
+  public LineUpSimulator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * a constructor to create a simulator running on the given pool.
+   *
+   * @param pool the pool evaluating the scenarios.
+   * @throws IllegalArgumentException if the pool is null.
+   */
+  public LineUpSimulator(ForkJoinPool pool) throws IllegalArgumentException {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool must not be null.");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * evaluate the lineUp of the team in every scenario. The team must not change while this method
+   * copies its players; the copies are then evaluated in parallel.
+   *
+   * @param team      the team whose lineUp is simulated.
+   * @param scenarios the scenarios, each the players absent in it. Players are matched by names and
+   *                  birthday.
+   * @return the outcomes of all scenarios, best first.
+   * @throws IllegalArgumentException if a scenario or player is null, or a player is not in the
+   *                                  team.
+   */
+  public List<Outcome> simulate(TeamImpl team,
+      List<? extends Collection<? extends Player>> scenarios) throws IllegalArgumentException {
+    List<Player> candidates = team.query(new PlayerQuery(PlayerQuery.Order.SKILL))
+        .collect(Collectors.toList());
+    Map<Player, Integer> rank = new TreeMap<>(PlayerQuery.Order.NAME.getComparator());
+    for (int i = 0; i < candidates.size(); i++) {
+      rank.put(candidates.get(i), i);
+    }
+    BitSet[] absences = new BitSet[scenarios.size()];
+    for (int s = 0; s < absences.length; s++) {
+      Collection<? extends Player> absent = scenarios.get(s);
+      if (absent == null) {
+        throw new IllegalArgumentException("Scenario must not be null.");
+      }
+      absences[s] = new BitSet(candidates.size());
+      for (Player player : absent) {
+        if (player == null) {
+          throw new IllegalArgumentException("Player must not be null.");
+        }
+        Integer index = rank.get(player);
+        if (index == null) {
+          throw new IllegalArgumentException("The player is not in the team.");
+        }
+        absences[s].set(index);
+      }
+    }
+
+    Outcome[] outcomes = new Outcome[absences.length];
+    pool.invoke(new ScenarioTask(candidates, team.getLineUpEngine(), team.getRules().getSlots(),
+        absences, outcomes, 0, outcomes.length));
+    List<Outcome> ranked = new ArrayList<>(outcomes.length);
+    Collections.addAll(ranked, outcomes);
+    ranked.sort(RANKING);
+    return ranked;
+  }
+
+  /**
+   * a task evaluating a range of scenarios, split in halves until a batch is left.
+   */
+  private static final class ScenarioTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient List<Player> candidates;
+    private final transient LineUpEngine engine;
+    private final transient Map<Position, Integer> slots;
+    private final BitSet[] absences;
+    private final transient Outcome[] outcomes;
+    private final int from;
+    private final int to;
+
+    private ScenarioTask(List<Player> candidates, LineUpEngine engine,
+        Map<Position, Integer> slots, BitSet[] absences, Outcome[] outcomes, int from, int to) {
+      this.candidates = candidates;
+      this.engine = engine;
+      this.slots = slots;
+      this.absences = absences;
+      this.outcomes = outcomes;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override protected void compute() {
+      if (to - from <= SCENARIOS_PER_TASK) {
+        for (int s = from; s < to; s++) {
+          outcomes[s] = evaluate(s);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new ScenarioTask(candidates, engine, slots, absences, outcomes, from, middle),
+          new ScenarioTask(candidates, engine, slots, absences, outcomes, middle, to));
+    }
+
+    /**
+     * pick the lineUp of one scenario from the candidates who are not absent, keeping their order.
+     */
+    private Outcome evaluate(int scenario) {
+      BitSet absent = absences[scenario];
+      List<Player> present = new ArrayList<>(candidates.size() - absent.cardinality());
+      List<Player> missing = new ArrayList<>(absent.cardinality());
+      for (int i = 0; i < candidates.size(); i++) {
+        if (absent.get(i)) {
+          missing.add(candidates.get(i));
+        } else {
+          present.add(candidates.get(i));
+        }
+      }
+      Map<Position, List<Player>> picked = engine.makeLineUp(present, slots);
+      Map<Position, List<Player>> lineUp = new EnumMap<>(Position.class);
+      int filledSlots = 0;
+      int skillTotal = 0;
+      int outOfPosition = 0;
+      for (Position position : Position.values()) {
+        List<Player> group = new ArrayList<>(picked.get(position));
+        group.sort(PlayerQuery.Order.NAME.getComparator());
+        lineUp.put(position, Collections.unmodifiableList(group));
+        for (Player player : group) {
+          filledSlots++;
+          skillTotal += player.getSkillLevel();
+          if (player.getPreferredPosition() != position) {
+            outOfPosition++;
+          }
+        }
+      }
+      missing.sort(PlayerQuery.Order.NAME.getComparator());
+      return new Outcome(scenario, Collections.unmodifiableList(missing),
+          Collections.unmodifiableMap(lineUp), filledSlots, skillTotal, outOfPosition);
+    }
+  }
+
+  /**
+   * the lineUp picked in one scenario, with the numbers it is ranked by.
+   */
+  public static final class Outcome {
+    private final int scenario;
+    private final List<Player> absent;
+    private final Map<Position, List<Player>> lineUp;
+    private final int filledSlots;
+    private final int skillTotal;
+    private final int outOfPosition;
+
+    private Outcome(int scenario, List<Player> absent, Map<Position, List<Player>> lineUp,
+        int filledSlots, int skillTotal, int outOfPosition) {
+      this.scenario = scenario;
+      this.absent = absent;
+      this.lineUp = lineUp;
+      this.filledSlots = filledSlots;
+      this.skillTotal = skillTotal;
+      this.outOfPosition = outOfPosition;
+    }
+
+    /**
+     * a getter provides the index of the scenario in the list given to simulate.
+     *
+     * @return the index of the scenario.
+     */
+    public int getScenario() {
+      return this.scenario;
+    }
+
+    /**
+     * a getter provides the players absent in the scenario, ordered by names and birthday.
+     *
+     * @return a read-only list of the absent players.
+     */
+    public List<Player> getAbsent() {
+      return this.absent;
+    }
+
+    /**
+     * a getter provides the players playing in each position, ordered by names and birthday.
+     *
+     * @return a read-only map from each position to its players.
+     */
+    public Map<Position, List<Player>> getLineUp() {
+      return this.lineUp;
+    }
+
+    /**
+     * a getter provides the number of slots of the formation filled in the scenario.
+     *
+     * @return the number of players in the lineUp.
+     */
+    public int getFilledSlots() {
+      return this.filledSlots;
+    }
+
+    /**
+     * a getter provides the sum of the skill levels of the lineUp.
+     *
+     * @return the skill total.
+     */
+    public int getSkillTotal() {
+      return this.skillTotal;
+    }
+
+    /**
+     * a getter provides the number of players of the lineUp out of their preferred position.
+     *
+     * @return the number of out-of-position players.
+     */
+    public int getOutOfPosition() {
+      return this.outOfPosition;
+    }
+
+    /**
+     * a helper function that gives the text of the lineUp, as Team.getLineUp writes it.
+     *
+     * @return the text of the lineUp.
+     */
+    @Override public String toString() {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(o -> TeamRenderer.renderLineUp(lineUp, o), out);
+      return out.toString();
+    }
+  }
+}
@@ -1,20 +1,42 @@
 package soccerteam;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.Arrays;
 
 /**
  * Run a TicTacToe game interactively on the console.
  */
 public class Main {
+  private static final String JOURNAL_FILE = "registrations.journal";
+
   /**
    * Run a TicTacToe game interactively on the console.
    *
-   * @param args not used
+   * @param args none for the window, --batch followed by an optional script to run the commands
+   *             of BatchMain without a window, or --http followed by an optional port to serve
+   *             a league over HTTP.
+   * @throws IOException if the registration journal or the script cannot be opened, or the port
+   *                     cannot be bound.
    */
-  public static void main(String[] args) {
-    Team m = new TeamImpl();
-    TeamDisplay v = new TeamDisplayImpl("U-10 Soccer Team");
-    Features c = new TeamController(v, m);
+  public static void main(String[] args) throws IOException {
+    if (args.length > 0 && args[0].equals("--batch")) {
+      BatchMain.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+    if (args.length > 0 && args[0].equals("--http")) {
+      TeamHttpServer.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+    TeamMetrics.publishDefault();
+    TeamImpl m = new TeamImpl();
+    RegistrationJournal.open(Paths.get(JOURNAL_FILE), m);
+    PlayerTableModel roster = new PlayerTableModel();
+    roster.setPlayers(m.getPlayers());
+    m.addRosterListener(roster);
+    TeamDisplay v = new TeamDisplayImpl("U-10 Soccer Team", roster);
+    Features c = new AsyncTeamController(new TeamController(new EdtTeamDisplay(v), m));
     c.go(v);
   }
 }
@@ -0,0 +1,341 @@
+package soccerteam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class is a read-only team served from a mapped roster snapshot. Players are decoded from the
+ * file the first time they are used, and the texts of the team, the lineUp and the bench are
+ * rendered once and kept. Adding players or making the team again is not possible; such calls
+ * report an IllegalStateException.
+ */
+public final class MappedTeam implements Team {
+  private static final Position[] POSITIONS = Position.values();
+  private static final int PAGE_BITS = 10;
+  private final RosterSnapshot snapshot;
+  private final ByteBuffer buffer;
+  private final int maximumNumber;
+  private final boolean teamCreated;
+  private final int playerCount;
+  private final int recordsOffset;
+  private final int lineUpOffset;
+  private final MappedPlayer[][] players;
+  private final List<Player> playerList;
+  private volatile String teamInfo;
+  private volatile String lineUpInfo;
+  private volatile String benchInfo;
+
+  MappedTeam(RosterSnapshot snapshot, int maximumNumber, boolean teamCreated, int playerCount,
+      int recordsOffset, int lineUpOffset) {
+    this.snapshot = snapshot;
+    this.buffer = snapshot.buffer();
+    this.maximumNumber = maximumNumber;
+    this.teamCreated = teamCreated;
+    this.playerCount = playerCount;
+    this.recordsOffset = recordsOffset;
+    this.lineUpOffset = lineUpOffset;
+    this.players = new MappedPlayer[(playerCount + (1 << PAGE_BITS) - 1) >> PAGE_BITS][];
+    this.playerList = new AbstractList<Player>() {
+      @Override public Player get(int index) {
+        return player(index);
+      }
+
+      @Override public int size() {
+        return playerCount;
+      }
+    };
+  }
+
+  @Override public void addPlayer(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel) throws IllegalStateException {
+    throw new IllegalStateException("A team loaded from a snapshot is read-only.");
+  }
+
+  @Override public void makeTeam() throws IllegalStateException {
+    throw new IllegalStateException("A team loaded from a snapshot is read-only.");
+  }
+
+  /**
+   * check if a player is in the team. Records are ordered by names and birthday, so a binary search
+   * decodes only the players it passes.
+   */
+  @Override public boolean hasPlayer(String firstName, String lastName, LocalDate dateOfBirth) {
+    int low = 0;
+    int high = playerCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      Player player = player(middle);
+      int order = player.getLastName().compareTo(lastName);
+      if (order == 0) {
+        order = player.getFirstName().compareTo(firstName);
+      }
+      if (order == 0) {
+        order = player.getDateOfBirth().compareTo(dateOfBirth);
+      }
+      if (order == 0) {
+        return true;
+      } else if (order < 0) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * a getter provides the number of players saved in the team.
+   *
+   * @return the number of players.
+   */
+  public int getPlayerCount() {
+    return this.playerCount;
+  }
+
+  /**
+   * a getter provides the maximum number of players the team held.
+   *
+   * @return the capacity of the team.
+   */
+  public int getMaximumNumber() {
+    return this.maximumNumber;
+  }
+
+  /**
+   * a getter tells if jersey numbers were assigned when the snapshot was taken.
+   *
+   * @return true if the team had been made.
+   */
+  @Override public boolean isTeamCreated() {
+    return this.teamCreated;
+  }
+
+  /**
+   * a getter provides the players of the team ordered by names and birthday. Players are decoded
+   * as the list is read.
+   *
+   * @return a read-only list of the players.
+   */
+  @Override public List<Player> getPlayers() {
+    return this.playerList;
+  }
+
+  /**
+   * read players of the snapshot. Players are saved in name order, so a query by names decodes
+   * only the players it reads; other orders decode and sort all players first.
+   */
+  @Override public Stream<Player> query(PlayerQuery query) {
+    if (query.getOrder() == PlayerQuery.Order.NAME) {
+      return query.select(playerList);
+    }
+    List<Player> sorted = new ArrayList<>(playerList);
+    sorted.sort(query.getOrder().getComparator());
+    return query.select(sorted);
+  }
+
+  /**
+   * a snapshot keeps no index but name order, so the lookups below decode and scan all players.
+   */
+  @Override public Player getPlayerByJerseyNumber(int jerseyNumber) {
+    for (Player player : playerList) {
+      if (jerseyNumber > 0 && player.getJerseyNumber() == jerseyNumber) {
+        return player;
+      }
+    }
+    return null;
+  }
+
+  @Override public List<Player> getPlayersByPosition(Position position)
+      throws IllegalArgumentException {
+    if (position == null) {
+      throw new IllegalArgumentException("Position must not be null.");
+    }
+    return query(new PlayerQuery(PlayerQuery.Order.NAME, position,
+        PlayerImpl.MINIMUM_SKILL_LEVEL, PlayerImpl.MAXIMUM_SKILL_LEVEL))
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  @Override public List<Player> getPlayersBornIn(int year) {
+    return playerList.stream()
+        .filter(player -> player.getDateOfBirth().getYear() == year)
+        .sorted(PlayerQuery.Order.BIRTHDAY.getComparator())
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  @Override public String getTeam() throws IllegalStateException {
+    String text = teamInfo;
+    if (text == null) {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(this::renderTeam, out);
+      text = out.toString();
+      teamInfo = text;
+    }
+    return text;
+  }
+
+  @Override public String getLineUp() {
+    String text = lineUpInfo;
+    if (text == null) {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(this::renderLineUp, out);
+      text = out.toString();
+      lineUpInfo = text;
+    }
+    return text;
+  }
+
+  @Override public String getBench() {
+    String text = benchInfo;
+    if (text == null) {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(this::renderBench, out);
+      text = out.toString();
+      benchInfo = text;
+    }
+    return text;
+  }
+
+  @Override public void renderTeam(Appendable out) throws IOException, IllegalStateException {
+    if (!teamCreated) {
+      throw new IllegalStateException("The team had not been made when the snapshot was taken.");
+    }
+    String text = teamInfo;
+    if (text != null) {
+      out.append(text);
+    } else {
+      TeamRenderer.renderTeam(playerList, out);
+    }
+  }
+
+  @Override public void renderLineUp(Appendable out) throws IOException {
+    String text = lineUpInfo;
+    if (text != null) {
+      out.append(text);
+      return;
+    }
+    Map<Position, List<Player>> lineUp = new EnumMap<>(Position.class);
+    for (Position position : POSITIONS) {
+      lineUp.put(position, new ArrayList<>());
+    }
+    int lineUpSize = buffer.getInt(lineUpOffset);
+    for (int i = 0; i < lineUpSize; i++) {
+      int index = buffer.getInt(lineUpOffset + 4 + i * 4);
+      byte role = buffer.get(recordsOffset + index * RosterSnapshot.RECORD_SIZE + 18);
+      lineUp.get(POSITIONS[role]).add(player(index));
+    }
+    TeamRenderer.renderLineUp(lineUp, out);
+  }
+
+  @Override public void renderBench(Appendable out) throws IOException {
+    String text = benchInfo;
+    if (text != null) {
+      out.append(text);
+      return;
+    }
+    List<Player> bench = new ArrayList<>();
+    for (int i = 0; i < playerCount; i++) {
+      if (buffer.get(recordsOffset + i * RosterSnapshot.RECORD_SIZE + 18)
+          == RosterSnapshot.BENCH) {
+        bench.add(player(i));
+      }
+    }
+    TeamRenderer.renderBench(bench, out);
+  }
+
+  /**
+   * a helper function that gives the view of a player, creating it on first use. Views are kept in
+   * pages of 1024 that are created when one of their players is used, so a large team costs nothing
+   * until it is read. Racing callers may create two equal views or pages, which is harmless.
+   */
+  private Player player(int index) {
+    if (index < 0 || index >= playerCount) {
+      throw new IndexOutOfBoundsException("No player at index " + index + ".");
+    }
+    MappedPlayer[] page = players[index >> PAGE_BITS];
+    if (page == null) {
+      page = new MappedPlayer[1 << PAGE_BITS];
+      players[index >> PAGE_BITS] = page;
+    }
+    int slot = index & ((1 << PAGE_BITS) - 1);
+    MappedPlayer player = page[slot];
+    if (player == null) {
+      player = new MappedPlayer(recordsOffset + index * RosterSnapshot.RECORD_SIZE);
+      page[slot] = player;
+    }
+    return player;
+  }
+
+  /**
+   * a player read from its record. Names are decoded from the pool the first time they are used.
+   */
+  private final class MappedPlayer implements Player {
+    private final int record;
+    private String firstName;
+    private String lastName;
+    private String displayPrefix;
+
+    private MappedPlayer(int record) {
+      this.record = record;
+    }
+
+    @Override public String getFirstName() {
+      String name = firstName;
+      if (name == null) {
+        name = snapshot.readString(buffer.getInt(record));
+        firstName = name;
+      }
+      return name;
+    }
+
+    @Override public String getLastName() {
+      String name = lastName;
+      if (name == null) {
+        name = snapshot.readString(buffer.getInt(record + 4));
+        lastName = name;
+      }
+      return name;
+    }
+
+    @Override public LocalDate getDateOfBirth() {
+      return LocalDate.ofEpochDay(buffer.getInt(record + 8));
+    }
+
+    @Override public Position getPreferredPosition() {
+      return POSITIONS[buffer.get(record + 16)];
+    }
+
+    @Override public int getSkillLevel() {
+      return buffer.get(record + 17);
+    }
+
+    @Override public int getJerseyNumber() {
+      return buffer.getInt(record + 12);
+    }
+
+    @Override public void appendTo(Appendable out) throws IOException {
+      String prefix = displayPrefix;
+      if (prefix == null) {
+        prefix = getFirstName() + ", " + getLastName() + ", " + getDateOfBirth() + ", "
+            + "Skill Level: " + getSkillLevel() + ", " + "Jersey Number: ";
+        displayPrefix = prefix;
+      }
+      out.append(prefix);
+      TeamRenderer.appendInt(out, getJerseyNumber());
+      out.append('\n');
+    }
+
+    @Override public String toString() {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(this::appendTo, out);
+      return out.toString();
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package soccerteam;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class picks the lineUp with the highest total skill level. A player playing out of his/her
+ * preferred position counts with his/her skill level minus a penalty. Filling every slot always
+ * comes first, the total skill level second.
+ *
+ * <p>The engine solves the assignment of players to slots exactly. Only the best players for each
+ * position can appear in an optimal lineUp, so the candidates are first cut down to at most
+ * twice the number of slots per position. The remaining players are then assigned by dynamic
+ * programming over the number of free slots left in each position, which is a small table (48
+ * states for a 1-2-3-1 formation). Both steps together keep the cost nearly independent of the
+ * size of the candidate pool. When several lineUps are equally good, the higher ranked player and
+ * the preferred position win, so the result is deterministic.
+ */
+public class OptimalLineUpEngine implements LineUpEngine {
+  private static final int DEFAULT_PENALTY = 2;
+  private static final int POSITIONS = Position.values().length;
+  private static final byte SKIP = -1;
+  private final int outOfPositionPenalty;
+
+  /**
+   * a constructor to create an engine with the default penalty. A player out of his/her preferred
+   * position counts two skill levels less.
+   */
+  public OptimalLineUpEngine() {
+    this(DEFAULT_PENALTY);
+  }
+
+  /**
+   * a constructor to create an engine with a custom penalty.
+   *
+   * @param outOfPositionPenalty the skill levels subtracted for playing out of position.
+   * @throws IllegalArgumentException if the penalty is negative.
+   */
+  public OptimalLineUpEngine(int outOfPositionPenalty) throws IllegalArgumentException {
+    if (outOfPositionPenalty < 0) {
+      throw new IllegalArgumentException("The penalty must not be negative.");
+    }
+    this.outOfPositionPenalty = outOfPositionPenalty;
+  }
+
+  @Override public Map<Position, List<Player>> makeLineUp(List<Player> candidates,
+      Map<Position, Integer> slots) {
+    Position[] positions = Position.values();
+    int[] slotCount = new int[POSITIONS];
+    int totalSlots = 0;
+    for (Position position : positions) {
+      slotCount[position.ordinal()] = slots.get(position);
+      totalSlots += slotCount[position.ordinal()];
+    }
+    List<Player> pool = prune(candidates, totalSlots);
+
+    // mixed radix encoding of the free slots left in each position
+    int[] radix = new int[POSITIONS];
+    int states = 1;
+    for (int p = 0; p < POSITIONS; p++) {
+      radix[p] = states;
+      states *= slotCount[p] + 1;
+    }
+    int full = states - 1;
+
+    // a missing player costs more than any skill level can make up for
+    int fillWeight = (PlayerImpl.MAXIMUM_SKILL_LEVEL + outOfPositionPenalty + 1)
+        * (totalSlots + 1);
+    int size = pool.size();
+    int[] next = new int[states];
+    int[] current = new int[states];
+    byte[][] choice = new byte[size][states];
+    for (int state = 0; state < states; state++) {
+      next[state] = -fillWeight * freeSlots(state, radix, slotCount);
+    }
+    for (int i = size - 1; i >= 0; i--) {
+      Player player = pool.get(i);
+      int preferred = player.getPreferredPosition().ordinal();
+      for (int state = 0; state < states; state++) {
+        int best = next[state];
+        byte bestChoice = SKIP;
+        // the preferred position is tried first so that it wins ties
+        for (int k = -1; k < POSITIONS; k++) {
+          int p = k < 0 ? preferred : k;
+          if (k == preferred || (state / radix[p]) % (slotCount[p] + 1) == 0) {
+            continue;
+          }
+          int value = player.getSkillLevel() - (p == preferred ? 0 : outOfPositionPenalty)
+              + next[state - radix[p]];
+          if (value > best || (value == best && bestChoice == SKIP)) {
+            best = value;
+            bestChoice = (byte) p;
+          }
+        }
+        current[state] = best;
+        choice[i][state] = bestChoice;
+      }
+      int[] swap = next;
+      next = current;
+      current = swap;
+    }
+
+    Map<Position, List<Player>> lineUp = new EnumMap<>(Position.class);
+    for (Position position : positions) {
+      lineUp.put(position, new ArrayList<>());
+    }
+    int state = full;
+    for (int i = 0; i < size && state != 0; i++) {
+      byte p = choice[i][state];
+      if (p != SKIP) {
+        lineUp.get(positions[p]).add(pool.get(i));
+        state -= radix[p];
+      }
+    }
+    return lineUp;
+  }
+
+  /**
+   * a helper function that counts the free slots of an encoded state.
+   */
+  private static int freeSlots(int state, int[] radix, int[] slotCount) {
+    int free = 0;
+    for (int p = 0; p < POSITIONS; p++) {
+      free += (state / radix[p]) % (slotCount[p] + 1);
+    }
+    return free;
+  }
+
+  /**
+   * a helper function that keeps only the players who can be part of an optimal lineUp. For each
+   * position, an optimal lineUp only uses players among the best totalSlots players at that
+   * position: otherwise one of those is unused and could take the place without losing skill. The
+   * best players at a position are the best ones preferring it or the best ones not preferring
+   * it, so the first totalSlots of both kinds are kept. The ranking of candidates is preserved.
+   */
+  private static List<Player> prune(List<Player> candidates, int totalSlots) {
+    if (candidates.size() <= totalSlots * 2) {
+      return candidates;
+    }
+    int[] preferring = new int[POSITIONS];
+    int[] notPreferring = new int[POSITIONS];
+    List<Player> pool = new ArrayList<>();
+    int positionsDone = 0;
+    for (Player player : candidates) {
+      int preferred = player.getPreferredPosition().ordinal();
+      boolean keep = false;
+      for (int p = 0; p < POSITIONS; p++) {
+        int[] counter = p == preferred ? preferring : notPreferring;
+        if (counter[p] < totalSlots) {
+          counter[p]++;
+          keep = true;
+          if (preferring[p] == totalSlots && notPreferring[p] == totalSlots) {
+            positionsDone++;
+          }
+        }
+      }
+      if (keep) {
+        pool.add(player);
+      }
+      if (positionsDone == POSITIONS) {
+        break;
+      }
+    }
+    return pool;
+  }
+}
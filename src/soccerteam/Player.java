@@ -1,5 +1,6 @@
 package soccerteam;
 
+import java.io.IOException;
 import java.time.LocalDate;
 
 /**
@@ -45,5 +46,12 @@ public interface Player {
    * @return an integer representing player's jersey number in a team.
    */
   int getJerseyNumber();
-}
 
+  /**
+   * Write the player's information, as returned by toString, into an Appendable without building
+   * a string first.
+   * @param out the destination of the text, e.g. a Writer or a StringBuilder.
+   * @throws IOException if the destination fails.
+   */
+  void appendTo(Appendable out) throws IOException;
+}
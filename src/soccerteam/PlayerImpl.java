@@ -1,7 +1,8 @@
 package soccerteam;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.time.Period;
 
 /**
  * This class is used to create players of a soccer team. Players are viewed as identical if they
@@ -10,16 +11,17 @@ import java.time.Period;
 public class PlayerImpl implements Player {
   private static final int MAXIMUM_NUMBER = 20;
   private static final int MINIMUM_NUMBER = 1;
-  private static final int MAXIMUM_AGE = 10;
-  private static final int MINIMUM_AGE = 6;
-  private static final int MAXIMUM_SKILL_LEVEL = 5;
-  private static final int MINIMUM_SKILL_LEVEL = 1;
+  static final int MAXIMUM_SKILL_LEVEL = 5;
+  static final int MINIMUM_SKILL_LEVEL = 1;
+  private static final int MAXIMUM_NAME_BYTES = 65535;
   private final String firstName;
   private final String lastName;
   private final LocalDate dateOfBirth;
   private final Position preferredPosition;
   private final int skillLevel;
-  private int jerseyNumber = -1; // -1 as default
+  private final String displayPrefix; // everything toString shows before the jersey number
+  private int jerseyNumber; // -1 as default
+  private int requestedJerseyNumber = 0; // 0 for no preference
 
   /**
    * A constructor to create players. If given information is not valid, report exceptions.
@@ -34,20 +36,117 @@ public class PlayerImpl implements Player {
    */
   public PlayerImpl(String firstName, String lastName, LocalDate dateOfBirth,
       Position preferredPosition, int skillLevel) throws IllegalArgumentException {
+    this(firstName, lastName, checkAge(dateOfBirth, SeasonEligibility.today(AgeGroup.U10),
+        AgeGroup.U10), preferredPosition, skillLevel, -1);
+  }
+
+  /**
+   * A constructor to create players whose age is checked against an age group of a season, e.g.
+   * when many players are created for the same season.
+   *
+   * @param firstName         a string representing a player's first name.
+   * @param lastName          a string representing a player's last name.
+   * @param dateOfBirth       a LocalDate representing a player's birthdate.
+   * @param preferredPosition an enum type position.
+   * @param skillLevel        an integer representing skill level that assigned by the user.
+   * @param eligibility       the season the age is counted in.
+   * @param ageGroup          the age group the player must belong to.
+   * @throws IllegalArgumentException if the player is not in the age group or the skill level is
+   *                                  not valid.
+   */
+  public PlayerImpl(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel, SeasonEligibility eligibility,
+      AgeGroup ageGroup) throws IllegalArgumentException {
+    this(firstName, lastName, checkAge(dateOfBirth, eligibility, ageGroup), preferredPosition,
+        skillLevel, -1);
+  }
+
+  /**
+   * A helper function that creates a player saved earlier, e.g. in a journal. The age is not
+   * checked again, as it was checked when the player was first added and the player must come
+   * back even if the season has moved on since.
+   *
+   * @param firstName         a string representing a player's first name.
+   * @param lastName          a string representing a player's last name.
+   * @param dateOfBirth       a LocalDate representing a player's birthdate.
+   * @param preferredPosition an enum type position.
+   * @param skillLevel        an integer representing skill level.
+   * @return the player.
+   * @throws IllegalArgumentException if the skill level is not valid.
+   */
+  static PlayerImpl restore(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel) throws IllegalArgumentException {
+    return new PlayerImpl(firstName, lastName, dateOfBirth, preferredPosition, skillLevel, -1);
+  }
+
+  /**
+   * the constructor shared by the public ones and restore, called once the age has been checked
+   * if it is to be checked.
+   */
+  private PlayerImpl(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel, int jerseyNumber) {
+    checkName(firstName);
+    checkName(lastName);
     this.firstName = firstName;
     this.lastName = lastName;
-    int age = Period.between(dateOfBirth, LocalDate.now()).getYears();
-    if (age < MINIMUM_AGE || age >= MAXIMUM_AGE) {
-      throw new IllegalArgumentException(
-          "The team only accept player older than 6 and under 10 years old.");
-    }
     this.dateOfBirth = dateOfBirth;
     this.preferredPosition = preferredPosition;
+    checkSkillLevel(skillLevel);
+    this.skillLevel = skillLevel;
+    this.jerseyNumber = jerseyNumber;
+    this.displayPrefix = firstName + ", " + lastName + ", " + dateOfBirth + ", " + "Skill Level: "
+        + skillLevel + ", " + "Jersey Number: ";
+  }
 
+  /**
+   * A helper function that checks if a player born on the given day belongs to an age group.
+   *
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   * @param eligibility the season the age is counted in.
+   * @param ageGroup    the age group the player must belong to.
+   * @return the birthdate.
+   * @throws IllegalArgumentException if the season is null or the player is not in the age group.
+   */
+  private static LocalDate checkAge(LocalDate dateOfBirth, SeasonEligibility eligibility,
+      AgeGroup ageGroup) throws IllegalArgumentException {
+    if (eligibility == null) {
+      throw new IllegalArgumentException("Season must not be null.");
+    }
+    eligibility.check(dateOfBirth, ageGroup);
+    return dateOfBirth;
+  }
+
+  /**
+   * A helper function that checks if a name can be saved: names are journaled with writeUTF, which
+   * holds at most 65535 bytes of modified UTF-8.
+   *
+   * @param name a first or last name.
+   * @throws IllegalArgumentException if the name is too long.
+   */
+  static void checkName(String name) throws IllegalArgumentException {
+    if (name == null || name.length() <= MAXIMUM_NAME_BYTES / 3) {
+      return;
+    }
+    long bytes = 0;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      bytes += c >= 0x0001 && c <= 0x007f ? 1 : c <= 0x07ff ? 2 : 3;
+    }
+    if (bytes > MAXIMUM_NAME_BYTES) {
+      throw new IllegalArgumentException("Names must not be longer than 65535 bytes.");
+    }
+  }
+
+  /**
+   * A helper function that checks if a skill level is valid.
+   *
+   * @param skillLevel an integer representing skill level.
+   * @throws IllegalArgumentException if the skill level is not between 1 and 5.
+   */
+  static void checkSkillLevel(int skillLevel) throws IllegalArgumentException {
     if (skillLevel < MINIMUM_SKILL_LEVEL || skillLevel > MAXIMUM_SKILL_LEVEL) {
       throw new IllegalArgumentException("Skill level must be between 1 and 5.");
     }
-    this.skillLevel = skillLevel;
   }
 
   @Override public String getFirstName() {
@@ -82,14 +181,85 @@ public class PlayerImpl implements Player {
    * @throws IllegalStateException jerseyNumber is not in the range 1 to 20.
    */
   protected void assignJerseyNumber(int jerseyNumber) throws IllegalArgumentException {
-    if (jerseyNumber < MINIMUM_NUMBER || jerseyNumber > MAXIMUM_NUMBER) {
-      throw new IllegalArgumentException("The jersey number should be chosen from 1 to 20.");
+    assignJerseyNumber(jerseyNumber, MAXIMUM_NUMBER);
+  }
+
+  /**
+   * A helper function that assign the jersey number to a player of a team holding more than 20
+   * players, e.g. a tryout pool.
+   *
+   * @param jerseyNumber  an integer that representing the jersey number.
+   * @param maximumNumber the largest jersey number available in the team.
+   * @throws IllegalStateException jerseyNumber is not in the range 1 to maximumNumber.
+   */
+  protected void assignJerseyNumber(int jerseyNumber, int maximumNumber)
+      throws IllegalArgumentException {
+    assignJerseyNumber(jerseyNumber, MINIMUM_NUMBER, maximumNumber);
+  }
+
+  /**
+   * A helper function that assign the jersey number to a player of a team numbering its players
+   * from a custom range, e.g. 1 to 99.
+   *
+   * @param jerseyNumber  an integer that representing the jersey number.
+   * @param minimumNumber the smallest jersey number available in the team.
+   * @param maximumNumber the largest jersey number available in the team.
+   * @throws IllegalStateException jerseyNumber is not in the range minimumNumber to maximumNumber.
+   */
+  void assignJerseyNumber(int jerseyNumber, int minimumNumber, int maximumNumber)
+      throws IllegalArgumentException {
+    if (jerseyNumber < minimumNumber || jerseyNumber > maximumNumber) {
+      throw new IllegalArgumentException(
+          "The jersey number should be chosen from " + minimumNumber + " to " + maximumNumber
+              + ".");
     }
     this.jerseyNumber = jerseyNumber;
   }
 
+  /**
+   * a getter provides the jersey number the player asked for.
+   *
+   * @return the requested number, or 0 if the player has no preference.
+   */
+  int getRequestedJerseyNumber() {
+    return this.requestedJerseyNumber;
+  }
+
+  /**
+   * A helper function that notes the jersey number the player asks for. It is given when the team
+   * is made, if no other player holds it.
+   *
+   * @param requestedJerseyNumber the requested number, or 0 for no preference.
+   */
+  void requestJerseyNumber(int requestedJerseyNumber) {
+    this.requestedJerseyNumber = requestedJerseyNumber;
+  }
+
+  @Override public void appendTo(Appendable out) throws IOException {
+    appendTo(out, jerseyNumber);
+  }
+
+  /**
+   * A helper function that writes the player's information with the given jersey number instead
+   * of the current one, e.g. the number the player had when a snapshot of the team was taken.
+   *
+   * @param out          the destination of the text.
+   * @param jerseyNumber the jersey number to show.
+   * @throws IOException if the destination fails.
+   */
+  void appendTo(Appendable out, int jerseyNumber) throws IOException {
+    out.append(displayPrefix);
+    TeamRenderer.appendInt(out, jerseyNumber);
+    out.append('\n');
+  }
+
   @Override public String toString() {
-    return getFirstName() + ", " + getLastName() + ", " + getDateOfBirth() + ", " + "Skill Level: "
-        + getSkillLevel() + ", " + "Jersey Number: " + getJerseyNumber() + "\n";
+    StringBuilder builder = new StringBuilder(displayPrefix.length() + 4);
+    try {
+      appendTo(builder);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return builder.toString();
   }
 }
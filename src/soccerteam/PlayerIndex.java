@@ -0,0 +1,156 @@
+package soccerteam;
+
+import java.time.LocalDate;
+
+/**
+ * This class finds players by first name, last name and birthdate, the fields that make two players
+ * the same. It is a hash table with open addressing: the key is hashed from the hash codes of the
+ * names, which strings cache, and the epoch day of the birthdate, so no key object or string is
+ * built per lookup. Removed entries are closed up by shifting later entries back, so lookups stay
+ * short after many evictions.
+ */
+final class PlayerIndex {
+  private static final int INITIAL_CAPACITY = 32;
+  private Player[] players = new Player[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size = 0;
+
+  /**
+   * check if a player with these names and birthdate is in the index.
+   *
+   * @param firstName   a string representing a player's first name.
+   * @param lastName    a string representing a player's last name.
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   * @return true if such a player is in the index.
+   */
+  boolean contains(String firstName, String lastName, LocalDate dateOfBirth) {
+    return find(hash(firstName, lastName, dateOfBirth), firstName, lastName, dateOfBirth) >= 0;
+  }
+
+  /**
+   * find the player with these names and birthdate.
+   *
+   * @param firstName   a string representing a player's first name.
+   * @param lastName    a string representing a player's last name.
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   * @return the player, or null if no such player is in the index.
+   */
+  Player get(String firstName, String lastName, LocalDate dateOfBirth) {
+    int slot = find(hash(firstName, lastName, dateOfBirth), firstName, lastName, dateOfBirth);
+    return slot < 0 ? null : players[slot];
+  }
+
+  /**
+   * add a player unless a player with the same names and birthdate is already there.
+   *
+   * @param player the player to add.
+   * @return true if the player was added.
+   */
+  boolean add(Player player) {
+    int hash = hash(player.getFirstName(), player.getLastName(), player.getDateOfBirth());
+    if (find(hash, player.getFirstName(), player.getLastName(), player.getDateOfBirth()) >= 0) {
+      return false;
+    }
+    if ((size + 1) * 2 > players.length) {
+      resize(players.length * 2);
+    }
+    insert(hash, player);
+    size++;
+    return true;
+  }
+
+  /**
+   * remove the player with the same names and birthdate as the given one.
+   *
+   * @param player the player to remove.
+   * @return true if a player was removed.
+   */
+  boolean remove(Player player) {
+    int slot = find(hash(player.getFirstName(), player.getLastName(), player.getDateOfBirth()),
+        player.getFirstName(), player.getLastName(), player.getDateOfBirth());
+    if (slot < 0) {
+      return false;
+    }
+    int mask = players.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (players[next] != null) {
+      int home = hashes[next] & mask;
+      // an entry may move into the hole only if the hole lies between its home slot and its slot
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        players[hole] = players[next];
+        hashes[hole] = hashes[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    players[hole] = null;
+    size--;
+    return true;
+  }
+
+  /**
+   * a getter provides the number of players in the index.
+   *
+   * @return the number of players.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * remove all players.
+   */
+  void clear() {
+    players = new Player[INITIAL_CAPACITY];
+    hashes = new int[INITIAL_CAPACITY];
+    size = 0;
+  }
+
+  private int find(int hash, String firstName, String lastName, LocalDate dateOfBirth) {
+    int mask = players.length - 1;
+    for (int slot = hash & mask; players[slot] != null; slot = (slot + 1) & mask) {
+      Player player = players[slot];
+      if (hashes[slot] == hash && player.getFirstName().equals(firstName)
+          && player.getLastName().equals(lastName)
+          && player.getDateOfBirth().equals(dateOfBirth)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private void insert(int hash, Player player) {
+    int mask = players.length - 1;
+    int slot = hash & mask;
+    while (players[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    players[slot] = player;
+    hashes[slot] = hash;
+  }
+
+  private void resize(int capacity) {
+    Player[] oldPlayers = players;
+    int[] oldHashes = hashes;
+    players = new Player[capacity];
+    hashes = new int[capacity];
+    for (int i = 0; i < oldPlayers.length; i++) {
+      if (oldPlayers[i] != null) {
+        insert(oldHashes[i], oldPlayers[i]);
+      }
+    }
+  }
+
+  /**
+   * a helper function that mixes the parts of the key so that similar names and neighbouring
+   * birthdays spread over the table.
+   */
+  private static int hash(String firstName, String lastName, LocalDate dateOfBirth) {
+    int hash = firstName.hashCode();
+    hash = 31 * hash + lastName.hashCode();
+    hash = 31 * hash + Long.hashCode(dateOfBirth.toEpochDay());
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
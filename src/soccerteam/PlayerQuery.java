@@ -0,0 +1,200 @@
+package soccerteam;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class describes which players of a team to read and in which order, for Team.query. A query
+ * sorts by names, skill level, jersey number or birthday, and may keep only one preferred position
+ * or a range of skill levels. Queries are immutable.
+ *
+ * <p>Results are read page by page in one of two ways. With an offset, skip and limit the lazy
+ * stream, e.g. query(q).skip(40).limit(20). With a cursor, after(last player of the previous page)
+ * starts the next page right after that player, so a page costs about its own size however deep
+ * it is.
+ */
+public final class PlayerQuery {
+  /**
+   * the orders players can be read in. Ties are broken by names and birthday, so every order is
+   * total and a cursor always points between two players.
+   */
+  public enum Order {
+    /**
+     * by last name, first name and birthday, the order of getTeam.
+     */
+    NAME(byName()),
+    /**
+     * by skill level, highest first.
+     */
+    SKILL(Comparator.comparingInt(Player::getSkillLevel).reversed().thenComparing(byName())),
+    /**
+     * by jersey number, lowest first. Players without a number come last.
+     */
+    JERSEY_NUMBER(Comparator.<Player>comparingInt(player -> player.getJerseyNumber() > 0
+        ? player.getJerseyNumber() : Integer.MAX_VALUE).thenComparing(byName())),
+    /**
+     * by birthday, oldest first.
+     */
+    BIRTHDAY(Comparator.comparing(Player::getDateOfBirth).thenComparing(byName()));
+
+    private final Comparator<Player> comparator;
+
+    Order(Comparator<Player> comparator) {
+      this.comparator = comparator;
+    }
+
+    private static Comparator<Player> byName() {
+      return Comparator.comparing(Player::getLastName)
+          .thenComparing(Player::getFirstName)
+          .thenComparing(Player::getDateOfBirth);
+    }
+
+    /**
+     * a getter provides the comparator sorting players in this order.
+     *
+     * @return the comparator.
+     */
+    public Comparator<Player> getComparator() {
+      return this.comparator;
+    }
+  }
+
+  private final Order order;
+  private final Position position;
+  private final int minimumSkillLevel;
+  private final int maximumSkillLevel;
+  private final Player after;
+
+  /**
+   * a constructor to create a query reading all players in the given order.
+   *
+   * @param order the order of the players.
+   * @throws IllegalArgumentException if the order is null.
+   */
+  public PlayerQuery(Order order) throws IllegalArgumentException {
+    this(order, null, PlayerImpl.MINIMUM_SKILL_LEVEL, PlayerImpl.MAXIMUM_SKILL_LEVEL);
+  }
+
+  /**
+   * a constructor to create a query reading the players of one position and a range of skill
+   * levels in the given order.
+   *
+   * @param order             the order of the players.
+   * @param position          the preferred position players must have, or null for any.
+   * @param minimumSkillLevel the lowest skill level kept.
+   * @param maximumSkillLevel the highest skill level kept.
+   * @throws IllegalArgumentException if the order is null or the skill levels are not a range
+   *                                  within 1 to 5.
+   */
+  public PlayerQuery(Order order, Position position, int minimumSkillLevel,
+      int maximumSkillLevel) throws IllegalArgumentException {
+    this(order, position, minimumSkillLevel, maximumSkillLevel, null);
+  }
+
+  private PlayerQuery(Order order, Position position, int minimumSkillLevel,
+      int maximumSkillLevel, Player after) throws IllegalArgumentException {
+    if (order == null) {
+      throw new IllegalArgumentException("Order must not be null.");
+    }
+    if (minimumSkillLevel < PlayerImpl.MINIMUM_SKILL_LEVEL
+        || maximumSkillLevel > PlayerImpl.MAXIMUM_SKILL_LEVEL
+        || minimumSkillLevel > maximumSkillLevel) {
+      throw new IllegalArgumentException("Skill levels must be a range between 1 and 5.");
+    }
+    this.order = order;
+    this.position = position;
+    this.minimumSkillLevel = minimumSkillLevel;
+    this.maximumSkillLevel = maximumSkillLevel;
+    this.after = after;
+  }
+
+  /**
+   * a function creating the query of the next page: the same query, starting right after the
+   * given player in the order of the query.
+   *
+   * @param player the last player of the previous page.
+   * @return a query starting after the player.
+   * @throws IllegalArgumentException if the player is null.
+   */
+  public PlayerQuery after(Player player) throws IllegalArgumentException {
+    if (player == null) {
+      throw new IllegalArgumentException("Player must not be null.");
+    }
+    return new PlayerQuery(order, position, minimumSkillLevel, maximumSkillLevel, player);
+  }
+
+  /**
+   * a getter provides the order of the query.
+   *
+   * @return the order.
+   */
+  public Order getOrder() {
+    return this.order;
+  }
+
+  /**
+   * a getter provides the position players must prefer.
+   *
+   * @return the position, or null for any position.
+   */
+  public Position getPosition() {
+    return this.position;
+  }
+
+  /**
+   * a getter provides the lowest skill level kept.
+   *
+   * @return the lowest skill level.
+   */
+  public int getMinimumSkillLevel() {
+    return this.minimumSkillLevel;
+  }
+
+  /**
+   * a getter provides the highest skill level kept.
+   *
+   * @return the highest skill level.
+   */
+  public int getMaximumSkillLevel() {
+    return this.maximumSkillLevel;
+  }
+
+  /**
+   * a getter provides the player the query starts after.
+   *
+   * @return the cursor, or null to start at the first player.
+   */
+  public Player getAfter() {
+    return this.after;
+  }
+
+  /**
+   * check if a player passes the position and skill filters of the query.
+   *
+   * @param player the player to check.
+   * @return true if the player is kept.
+   */
+  public boolean matches(Player player) {
+    return (position == null || player.getPreferredPosition() == position)
+        && player.getSkillLevel() >= minimumSkillLevel
+        && player.getSkillLevel() <= maximumSkillLevel;
+  }
+
+  /**
+   * a helper function that runs the query over players already sorted in its order, e.g. those of
+   * a snapshot. The cursor is found by binary search, so only the players of the page are read.
+   *
+   * @param sorted the players, sorted by the comparator of the order.
+   * @return a lazy stream of the players kept.
+   */
+  Stream<Player> select(List<Player> sorted) {
+    int from = 0;
+    if (after != null) {
+      int found = Collections.binarySearch(sorted, after, order.getComparator());
+      from = found >= 0 ? found + 1 : -(found + 1);
+    }
+    return sorted.subList(from, sorted.size()).stream().filter(this::matches);
+  }
+}
@@ -0,0 +1,327 @@
+package soccerteam;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class stores players column by column in primitive arrays instead of one object per player.
+ * Names are interned once and referenced by id, birthdates are kept as epoch days, and position,
+ * skill level and jersey number take one byte each, so a player costs about 15 bytes plus its share
+ * of the distinct names. It is meant for league-sized pools of millions of players.
+ *
+ * <p>Players are read through flyweight views implementing Player. get returns a small view bound
+ * to one index; a Cursor is a single view that can be moved over the whole store without creating
+ * any object per player. Players follow the same rules as PlayerImpl, with ages counted in the
+ * season of the store, or on the day each player is added.
+ */
+public class PlayerStore {
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final Position[] POSITIONS = Position.values();
+  private static final int NO_JERSEY_NUMBER = -1;
+  private final SeasonEligibility eligibility; // null to count ages on the day of each addition
+  private final AgeGroup ageGroup;
+  private final Map<String, Integer> nameIds = new HashMap<>();
+  private String[] names = new String[INITIAL_CAPACITY];
+  private int nameCount = 0;
+  private int[] firstNameIds = new int[INITIAL_CAPACITY];
+  private int[] lastNameIds = new int[INITIAL_CAPACITY];
+  private int[] birthDays = new int[INITIAL_CAPACITY];
+  private byte[] positions = new byte[INITIAL_CAPACITY];
+  private byte[] skillLevels = new byte[INITIAL_CAPACITY];
+  private byte[] jerseyNumbers = new byte[INITIAL_CAPACITY];
+  private int size = 0;
+
+  /**
+   * a constructor to create a store of U-10 players, with ages counted today.
+   */
+  public PlayerStore() {
+    this.eligibility = null;
+    this.ageGroup = AgeGroup.U10;
+  }
+
+  /**
+   * a constructor to create a store of players of one age group of a season.
+   *
+   * @param eligibility the season the age is counted in.
+   * @param ageGroup    the age group players must belong to.
+   * @throws IllegalArgumentException if the season is null or does not hold the age group.
+   */
+  public PlayerStore(SeasonEligibility eligibility, AgeGroup ageGroup)
+      throws IllegalArgumentException {
+    if (eligibility == null) {
+      throw new IllegalArgumentException("Season must not be null.");
+    }
+    eligibility.maskOf(ageGroup);
+    this.eligibility = eligibility;
+    this.ageGroup = ageGroup;
+  }
+
+  /**
+   * add a player to the store. The same rules as in the PlayerImpl constructor apply, with the age
+   * counted in the season of the store.
+   *
+   * @param firstName         a string representing a player's first name.
+   * @param lastName          a string representing a player's last name.
+   * @param dateOfBirth       a LocalDate representing a player's birthdate.
+   * @param preferredPosition an enum type position.
+   * @param skillLevel        an integer representing skill level.
+   * @return the index of the new player.
+   * @throws IllegalArgumentException if the age or skill level is not valid.
+   */
+  public int add(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel) throws IllegalArgumentException {
+    SeasonEligibility season = eligibility != null ? eligibility
+        : SeasonEligibility.today(ageGroup);
+    season.check(dateOfBirth, ageGroup);
+    PlayerImpl.checkSkillLevel(skillLevel);
+    if (size == firstNameIds.length) {
+      grow();
+    }
+    firstNameIds[size] = intern(firstName);
+    lastNameIds[size] = intern(lastName);
+    birthDays[size] = (int) dateOfBirth.toEpochDay();
+    positions[size] = (byte) preferredPosition.ordinal();
+    skillLevels[size] = (byte) skillLevel;
+    jerseyNumbers[size] = NO_JERSEY_NUMBER;
+    return size++;
+  }
+
+  /**
+   * a getter provides the number of players in the store.
+   *
+   * @return the number of players.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * a getter provides the number of distinct names in the store.
+   *
+   * @return the number of interned names.
+   */
+  public int getNameCount() {
+    return this.nameCount;
+  }
+
+  /**
+   * a getter provides a view of one player.
+   *
+   * @param index the index of the player.
+   * @return a player view bound to this index.
+   * @throws IndexOutOfBoundsException if the index is not in the store.
+   */
+  public Player get(int index) {
+    checkIndex(index);
+    return new PlayerView(index);
+  }
+
+  /**
+   * create a movable view, starting before the first player.
+   *
+   * @return a cursor over this store.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * assign a jersey number to a player.
+   *
+   * @param index        the index of the player.
+   * @param jerseyNumber the jersey number, from 1 to 127.
+   * @throws IllegalArgumentException if the jersey number does not fit.
+   */
+  public void assignJerseyNumber(int index, int jerseyNumber) throws IllegalArgumentException {
+    checkIndex(index);
+    if (jerseyNumber < 1 || jerseyNumber > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "The jersey number should be chosen from 1 to " + Byte.MAX_VALUE + ".");
+    }
+    jerseyNumbers[index] = (byte) jerseyNumber;
+  }
+
+  /**
+   * a getter provides the birthdate of a player as a number of days since 1970-01-01, without
+   * creating a LocalDate.
+   *
+   * @param index the index of the player.
+   * @return the epoch day of the birthdate.
+   */
+  public int getEpochDay(int index) {
+    checkIndex(index);
+    return birthDays[index];
+  }
+
+  /**
+   * a getter provides the skill level of a player without creating a view.
+   *
+   * @param index the index of the player.
+   * @return the skill level.
+   */
+  public int getSkillLevel(int index) {
+    checkIndex(index);
+    return skillLevels[index];
+  }
+
+  /**
+   * a getter provides the preferred position of a player without creating a view.
+   *
+   * @param index the index of the player.
+   * @return the preferred position.
+   */
+  public Position getPreferredPosition(int index) {
+    checkIndex(index);
+    return POSITIONS[positions[index]];
+  }
+
+  private int intern(String name) {
+    Integer id = nameIds.get(name);
+    if (id != null) {
+      return id;
+    }
+    if (nameCount == names.length) {
+      names = Arrays.copyOf(names, nameCount * 2);
+    }
+    names[nameCount] = name;
+    nameIds.put(name, nameCount);
+    return nameCount++;
+  }
+
+  private void grow() {
+    int capacity = firstNameIds.length * 2;
+    firstNameIds = Arrays.copyOf(firstNameIds, capacity);
+    lastNameIds = Arrays.copyOf(lastNameIds, capacity);
+    birthDays = Arrays.copyOf(birthDays, capacity);
+    positions = Arrays.copyOf(positions, capacity);
+    skillLevels = Arrays.copyOf(skillLevels, capacity);
+    jerseyNumbers = Arrays.copyOf(jerseyNumbers, capacity);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No player at index " + index + ".");
+    }
+  }
+
+  /**
+   * a helper function that writes a number with leading zeros.
+   */
+  private static void appendPadded(Appendable out, int value, int digits) throws IOException {
+    for (int limit = 10; digits > 1; digits--, limit *= 10) {
+      if (value < limit) {
+        out.append('0');
+      }
+    }
+    TeamRenderer.appendInt(out, value);
+  }
+
+  /**
+   * a view of the player at one index of the store.
+   */
+  public class PlayerView implements Player {
+    int index;
+
+    private PlayerView(int index) {
+      this.index = index;
+    }
+
+    @Override public String getFirstName() {
+      return names[firstNameIds[index]];
+    }
+
+    @Override public String getLastName() {
+      return names[lastNameIds[index]];
+    }
+
+    @Override public LocalDate getDateOfBirth() {
+      return LocalDate.ofEpochDay(birthDays[index]);
+    }
+
+    @Override public Position getPreferredPosition() {
+      return POSITIONS[positions[index]];
+    }
+
+    @Override public int getSkillLevel() {
+      return skillLevels[index];
+    }
+
+    @Override public int getJerseyNumber() {
+      return jerseyNumbers[index];
+    }
+
+    @Override public void appendTo(Appendable out) throws IOException {
+      LocalDate dateOfBirth = getDateOfBirth();
+      out.append(getFirstName()).append(", ").append(getLastName()).append(", ");
+      if (dateOfBirth.getYear() < 1000 || dateOfBirth.getYear() > 9999) {
+        out.append(dateOfBirth.toString());
+      } else {
+        TeamRenderer.appendInt(out, dateOfBirth.getYear());
+        out.append('-');
+        appendPadded(out, dateOfBirth.getMonthValue(), 2);
+        out.append('-');
+        appendPadded(out, dateOfBirth.getDayOfMonth(), 2);
+      }
+      out.append(", Skill Level: ");
+      TeamRenderer.appendInt(out, skillLevels[index]);
+      out.append(", Jersey Number: ");
+      TeamRenderer.appendInt(out, jerseyNumbers[index]);
+      out.append('\n');
+    }
+
+    @Override public String toString() {
+      StringBuilder out = new StringBuilder();
+      TeamRenderer.appendUnchecked(this::appendTo, out);
+      return out.toString();
+    }
+  }
+
+  /**
+   * a single view that moves over the store. Reading a whole store through a cursor creates no
+   * object per player.
+   */
+  public final class Cursor extends PlayerView {
+
+    private Cursor() {
+      super(-1);
+    }
+
+    /**
+     * move to the next player.
+     *
+     * @return true if the cursor now points at a player, false if the store has no more players.
+     */
+    public boolean next() {
+      if (index + 1 >= size) {
+        return false;
+      }
+      index++;
+      return true;
+    }
+
+    /**
+     * move to the player at the given index.
+     *
+     * @param index the index of the player.
+     * @return this cursor.
+     * @throws IndexOutOfBoundsException if the index is not in the store.
+     */
+    public Cursor moveTo(int index) {
+      checkIndex(index);
+      this.index = index;
+      return this;
+    }
+
+    /**
+     * a getter provides the index the cursor points at.
+     *
+     * @return the current index.
+     */
+    public int getIndex() {
+      return this.index;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package soccerteam;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * This class is the table model behind the roster table of TeamDisplayImpl: one row per player and
+ * one column per field. A JTable asks the model only for the cells it paints, so a roster of
+ * thousands of players costs no more to show than the rows on screen.
+ *
+ * <p>As a RosterListener of a team, the model follows the roster one change at a time: an added
+ * player inserts one row, a dropped player deletes one row and a made team repaints the jersey
+ * column only. Changes may be reported on any thread; rows are only touched on the event dispatch
+ * thread, as Swing requires. Rows are kept in the order they arrive; the table sorts them.
+ */
+public class PlayerTableModel extends AbstractTableModel implements RosterListener {
+  private static final long serialVersionUID = 1L;
+  private static final String[] COLUMNS = {"First Name", "Last Name", "Date of Birth",
+      "Preferred Position", "Skill Level", "Jersey Number"};
+  private static final Class<?>[] COLUMN_CLASSES = {String.class, String.class, LocalDate.class,
+      Position.class, Integer.class, Integer.class};
+  private static final int JERSEY_COLUMN = 5;
+  private final List<Player> rows = new ArrayList<>();
+  private final Map<Player, Integer> rowIndex = new IdentityHashMap<>();
+
+  /**
+   * replace all rows with the given players.
+   *
+   * @param players the players to show.
+   */
+  public void setPlayers(List<? extends Player> players) {
+    List<Player> copy = new ArrayList<>(players);
+    onEdt(() -> {
+      rows.clear();
+      rowIndex.clear();
+      for (Player player : copy) {
+        rowIndex.put(player, rows.size());
+        rows.add(player);
+      }
+      fireTableDataChanged();
+    });
+  }
+
+  /**
+   * a getter provides the player shown in a row of the model.
+   *
+   * @param row the index of the row in the model, not in a sorted view.
+   * @return the player of the row.
+   */
+  public Player getPlayer(int row) {
+    return rows.get(row);
+  }
+
+  @Override public int getRowCount() {
+    return rows.size();
+  }
+
+  @Override public int getColumnCount() {
+    return COLUMNS.length;
+  }
+
+  @Override public String getColumnName(int column) {
+    return COLUMNS[column];
+  }
+
+  @Override public Class<?> getColumnClass(int column) {
+    return COLUMN_CLASSES[column];
+  }
+
+  @Override public Object getValueAt(int row, int column) {
+    Player player = rows.get(row);
+    switch (column) {
+      case 0:
+        return player.getFirstName();
+      case 1:
+        return player.getLastName();
+      case 2:
+        return player.getDateOfBirth();
+      case 3:
+        return player.getPreferredPosition();
+      case 4:
+        return player.getSkillLevel();
+      default:
+        int jerseyNumber = player.getJerseyNumber();
+        return jerseyNumber > 0 ? jerseyNumber : null;
+    }
+  }
+
+  @Override public void playerAdded(Player player) {
+    onEdt(() -> {
+      int row = rows.size();
+      rowIndex.put(player, row);
+      rows.add(player);
+      fireTableRowsInserted(row, row);
+    });
+  }
+
+  /**
+   * the last row takes the place of the dropped one, so no other row moves.
+   */
+  @Override public void playerDropped(Player player) {
+    onEdt(() -> {
+      Integer row = rowIndex.remove(player);
+      if (row == null) {
+        return;
+      }
+      int last = rows.size() - 1;
+      Player moved = rows.remove(last);
+      if (row != last) {
+        rows.set(row, moved);
+        rowIndex.put(moved, row);
+        fireTableRowsUpdated(row, row);
+      }
+      fireTableRowsDeleted(last, last);
+    });
+  }
+
+  @Override public void teamMade(List<Player> players) {
+    onEdt(() -> {
+      if (players.size() != rows.size()) {
+        setPlayers(players);
+      } else if (!rows.isEmpty()) {
+        fireTableChanged(new TableModelEvent(this, 0, rows.size() - 1, JERSEY_COLUMN));
+      }
+    });
+  }
+
+  /**
+   * a helper function that runs a change of the rows on the event dispatch thread, right away if
+   * it is the current thread.
+   */
+  private static void onEdt(Runnable change) {
+    if (SwingUtilities.isEventDispatchThread()) {
+      change.run();
+    } else {
+      SwingUtilities.invokeLater(change);
+    }
+  }
+}
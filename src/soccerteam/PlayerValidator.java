@@ -0,0 +1,80 @@
+package soccerteam;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * This class holds the checks applied to raw player information before a player is added to a
+ * team. The controller and the roster importer share these checks, so players entered by hand and
+ * players imported from files follow the same rules. Rules on age and skill level are enforced by
+ * the player itself when it is created.
+ */
+public final class PlayerValidator {
+
+  private PlayerValidator() {
+  }
+
+  /**
+   * check if raw player information is complete and well-formed.
+   *
+   * @param firstName            first name of a player(string).
+   * @param lastName             last name of a player(string).
+   * @param dateOfBirthStr       date of birth of a player(string).
+   * @param preferredPositionObj preferred position of a player(Object).
+   * @param skillLevelObj        skill level of a player(Object).
+   * @return a message describing the first problem found, or null if the information is valid.
+   */
+  public static String validate(String firstName, String lastName, String dateOfBirthStr,
+      Object preferredPositionObj, Object skillLevelObj) {
+    if (firstName == null || lastName == null || dateOfBirthStr == null || skillLevelObj == null
+        || firstName.isEmpty() || lastName.isEmpty() || dateOfBirthStr.isEmpty()
+        || preferredPositionObj == null || Objects.equals(skillLevelObj.toString(), "")) {
+      return "Please input complete player information.";
+    }
+
+    try {
+      LocalDate.parse(dateOfBirthStr, DateTimeFormatter.ISO_LOCAL_DATE);
+    } catch (DateTimeParseException e) {
+      return "Invalid date format. Please use the format: yyyy-MM-dd.";
+    }
+
+    boolean positionIsValid = false;
+    for (Position position : Position.values()) {
+      if (position.equals(preferredPositionObj)) {
+        positionIsValid = true;
+        break;
+      }
+    }
+    if (!positionIsValid) {
+      return "Please input a valid position.";
+    }
+
+    try {
+      Integer.parseInt(skillLevelObj.toString());
+    } catch (IllegalArgumentException e) {
+      return "Invalid skill level.";
+    }
+    return null;
+  }
+
+  /**
+   * turn a position name from a file, a script or a request into a position, ignoring case.
+   * Unknown names are returned as they are, so that validate reports them.
+   *
+   * @param name the name of a position.
+   * @return the position, the unknown name, or null if the name is null or empty.
+   */
+  static Object toPosition(String name) {
+    if (name == null || name.isEmpty()) {
+      return null;
+    }
+    for (Position position : Position.values()) {
+      if (position.name().equalsIgnoreCase(name)) {
+        return position;
+      }
+    }
+    return name;
+  }
+}
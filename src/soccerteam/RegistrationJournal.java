@@ -0,0 +1,579 @@
+package soccerteam;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class keeps a write-ahead journal of a team: every added player, every dropped player and
+ * every made team with its jersey numbers is appended to a file, so the roster survives a crash or
+ * an exit. On startup the journal is replayed into an empty TeamImpl, which then holds the same
+ * players and jersey numbers as before.
+ *
+ * <p>Entries are committed in groups: a writer thread takes everything appended since its last
+ * write and makes it durable with a single force, so a burst of registrations shares one fsync. By
+ * default the thread changing the team waits until its entry is durable. A journal created with
+ * waitForCommit set to false returns at once instead; callers then use awaitCommit, e.g. after
+ * releasing the team's lock, so that registrations of other threads join the same group.
+ *
+ * <p>Once the journal grows past a threshold it is compacted when the change that grew it has
+ * finished, so the team is whole again: the team is saved to a roster snapshot next to the journal
+ * and the journal starts over. Entries are numbered in the order they are appended; the snapshot
+ * notes the number of the last entry it holds and the journal header the number of the entry
+ * before its first one. Replay skips the entries the snapshot already holds, so a crash between
+ * writing the snapshot and emptying the journal neither loses an entry nor applies one twice.
+ *
+ * <p>A thread interrupted while it waits for the journal keeps waiting, as its change has already
+ * been made to the team, and finds its interrupt status set again once the wait is over.
+ *
+ * <p>Each entry is framed by its length and a CRC32 checksum; an entry torn by a crash is dropped,
+ * with everything after it, when the journal is opened.
+ */
+public final class RegistrationJournal implements RosterListener, Closeable {
+  private static final int MAGIC = 0x53544a52;
+  private static final int FORMAT_VERSION = 3;
+  private static final int HEADER_SIZE = 16;
+  private static final long DEFAULT_COMPACTION_THRESHOLD = 16L << 20;
+  private static final byte ADD = 1;
+  private static final byte DROP = 2;
+  private static final byte MAKE_TEAM = 3;
+  private final Path snapshotFile;
+  private final TeamImpl team;
+  private final FileChannel channel;
+  private final boolean waitForCommit;
+  private final long compactionThreshold;
+  private final Object lock = new Object();
+  private final ThreadLocal<long[]> lastAppended = ThreadLocal.withInitial(() -> new long[1]);
+  private final Thread writer;
+  private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+  private long appendedSequence = 0;
+  private long durableSequence = 0;
+  private long size;
+  private long commitCount = 0;
+  private long entryCount = 0;
+  private IOException failure;
+  private boolean closed = false;
+  private boolean compactionDue = false;
+  private boolean truncateRequested = false;
+
+  private RegistrationJournal(Path file, TeamImpl team, FileChannel channel, Replayed replayed,
+      boolean waitForCommit, long compactionThreshold) {
+    this.snapshotFile = snapshotFile(file);
+    this.team = team;
+    this.channel = channel;
+    this.size = replayed.size;
+    this.appendedSequence = replayed.sequence;
+    this.durableSequence = replayed.sequence;
+    this.waitForCommit = waitForCommit;
+    this.compactionThreshold = compactionThreshold;
+    this.writer = new Thread(this::writeLoop, "registration-journal");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * open the journal of a team, waiting for every entry to be durable and compacting past 16 MB.
+   *
+   * @param file the journal file, created if it does not exist.
+   * @param team an empty team receiving the saved roster.
+   * @return the journal, listening to the team.
+   * @throws IOException              if the journal or its snapshot cannot be read or written.
+   * @throws IllegalArgumentException if the team is not empty or a file is not a journal.
+   */
+  public static RegistrationJournal open(Path file, TeamImpl team)
+      throws IOException, IllegalArgumentException {
+    return open(file, team, true, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * open the journal of a team. The snapshot left by the last compaction and then the journal
+   * entries it does not hold are replayed into the team, a torn last entry is cut off, and the
+   * journal starts listening to the team.
+   *
+   * @param file                the journal file, created if it does not exist.
+   * @param team                an empty team receiving the saved roster.
+   * @param waitForCommit       true if changes of the team wait until their entry is durable.
+   * @param compactionThreshold the journal size in bytes past which it is compacted.
+   * @return the journal, listening to the team.
+   * @throws IOException              if the journal or its snapshot cannot be read or written.
+   * @throws IllegalArgumentException if the team is not empty, a file is not a journal, or the
+   *                                  threshold is not positive.
+   */
+  public static RegistrationJournal open(Path file, TeamImpl team, boolean waitForCommit,
+      long compactionThreshold) throws IOException, IllegalArgumentException {
+    if (team.toArray().length > 0) {
+      throw new IllegalArgumentException("A journal can only be replayed into an empty team.");
+    }
+    if (compactionThreshold <= 0) {
+      throw new IllegalArgumentException("Compaction threshold must be positive.");
+    }
+    Path snapshot = snapshotFile(file);
+    long snapshotSequence = 0;
+    if (Files.exists(snapshot)) {
+      RosterSnapshot saved = RosterSnapshot.open(snapshot);
+      restoreSnapshot(saved.getTeam(), team);
+      snapshotSequence = saved.getJournalSequence();
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      Replayed replayed = replay(channel, team, snapshotSequence);
+      channel.position(replayed.size);
+      RegistrationJournal journal = new RegistrationJournal(file, team, channel, replayed,
+          waitForCommit, compactionThreshold);
+      team.addRosterListener(journal);
+      return journal;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override public void playerAdded(Player player) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(ADD);
+      writeKey(out, player);
+      out.writeByte(player.getPreferredPosition().ordinal());
+      out.writeByte(player.getSkillLevel());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    append(bytes.toByteArray());
+  }
+
+  @Override public void playerDropped(Player player) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(DROP);
+      writeKey(out, player);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    append(bytes.toByteArray());
+  }
+
+  @Override public void teamMade(List<Player> players) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * players.size() + 8);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(MAKE_TEAM);
+      out.writeInt(players.size());
+      for (Player player : players) {
+        writeKey(out, player);
+        out.writeInt(player.getJerseyNumber());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    append(bytes.toByteArray());
+  }
+
+  /**
+   * compact the journal if the change that has just finished grew it past the threshold. The
+   * entries are durable whether or not the compaction succeeds, so a failed compaction leaves the
+   * journal as it is and is tried again after the next change.
+   */
+  @Override public void changeFinished() {
+    synchronized (lock) {
+      if (!compactionDue || closed) {
+        return;
+      }
+      compactionDue = false;
+    }
+    try {
+      compact();
+    } catch (IOException | UncheckedIOException e) {
+      synchronized (lock) {
+        compactionDue = true;
+      }
+    }
+  }
+
+  /**
+   * wait until every entry appended by the calling thread is durable.
+   *
+   * @throws UncheckedIOException if the journal could not be written.
+   */
+  public void awaitCommit() throws UncheckedIOException {
+    awaitDurable(lastAppended.get()[0]);
+  }
+
+  /**
+   * a getter provides the number of forces made so far, each committing a group of entries.
+   *
+   * @return the number of commits.
+   */
+  public long getCommitCount() {
+    synchronized (lock) {
+      return this.commitCount;
+    }
+  }
+
+  /**
+   * a getter provides the number of entries appended since the journal was opened.
+   *
+   * @return the number of entries.
+   */
+  public long getEntryCount() {
+    synchronized (lock) {
+      return this.entryCount;
+    }
+  }
+
+  /**
+   * a getter provides the size of the journal file, including entries not yet durable.
+   *
+   * @return the size in bytes.
+   */
+  public long size() {
+    synchronized (lock) {
+      return this.size + pending.size();
+    }
+  }
+
+  /**
+   * save the team to the snapshot file and empty the journal. The caller must hold whatever lock
+   * guards the team, as for any other change of the team. The journal is emptied by the writer
+   * thread, so an interrupt of the caller cannot close it. The snapshot notes the number of the
+   * last entry it holds, and the emptied journal goes on numbering from there.
+   *
+   * @throws IOException if the snapshot or the journal cannot be written.
+   */
+  public void compact() throws IOException {
+    // an interrupt would close the snapshot file, so it is put aside until the compaction is over
+    boolean interrupted = Thread.interrupted();
+    try {
+      long sequence = appendedSequenceNow();
+      awaitDurable(sequence);
+      interrupted |= Thread.interrupted();
+      RosterSnapshot.write(snapshotFile, team, sequence);
+      synchronized (lock) {
+        if (closed) {
+          throw new IOException("The journal is closed.");
+        }
+        // entries appended by other threads meanwhile are in the snapshot, as the team is locked
+        truncateRequested = true;
+        lock.notifyAll();
+        while (truncateRequested && failure == null) {
+          interrupted |= waitUninterruptibly();
+        }
+        if (truncateRequested) {
+          throw failure;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * stop listening to the team, make every entry durable and close the file.
+   *
+   * @throws IOException if the journal cannot be written.
+   */
+  @Override public void close() throws IOException {
+    team.removeRosterListener(this);
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      lock.notifyAll();
+    }
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    channel.close();
+    synchronized (lock) {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * a helper function that frames an entry, numbers it and hands it to the writer thread.
+   */
+  private void append(byte[] entry) {
+    CRC32 crc = new CRC32();
+    crc.update(entry);
+    long sequence;
+    synchronized (lock) {
+      if (closed) {
+        throw new IllegalStateException("The journal is closed.");
+      }
+      writeInt(pending, entry.length);
+      writeInt(pending, (int) crc.getValue());
+      pending.write(entry, 0, entry.length);
+      sequence = ++appendedSequence;
+      entryCount++;
+      compactionDue |= size + pending.size() > compactionThreshold;
+      lock.notifyAll();
+    }
+    lastAppended.get()[0] = sequence;
+    if (waitForCommit) {
+      awaitDurable(sequence);
+    }
+  }
+
+  private long appendedSequenceNow() {
+    synchronized (lock) {
+      return appendedSequence;
+    }
+  }
+
+  private void awaitDurable(long sequence) {
+    boolean interrupted = false;
+    try {
+      synchronized (lock) {
+        while (durableSequence < sequence && failure == null) {
+          interrupted |= waitUninterruptibly();
+        }
+        if (durableSequence < sequence) {
+          throw new UncheckedIOException(failure);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * the body of the writer thread: empty the journal if a compaction asks for it, then take all
+   * pending entries, write them and force them at once. The journal is cut back to its header
+   * before the header is given the number of the last entry cut, so a crash in between leaves an
+   * empty journal rather than old entries under a new number.
+   */
+  private void writeLoop() {
+    while (true) {
+      byte[] group;
+      long sequence;
+      long cutSequence;
+      boolean truncate;
+      synchronized (lock) {
+        while (pending.size() == 0 && !truncateRequested && !closed) {
+          waitUninterruptibly();
+        }
+        if (pending.size() == 0 && !truncateRequested) {
+          return;
+        }
+        group = pending.toByteArray();
+        pending = new ByteArrayOutputStream(Math.max(32, group.length));
+        sequence = appendedSequence;
+        cutSequence = durableSequence;
+        truncate = truncateRequested;
+      }
+      try {
+        if (truncate) {
+          channel.truncate(HEADER_SIZE);
+          channel.force(true);
+          channel.write(ByteBuffer.allocate(8).putLong(0, cutSequence), 8);
+          channel.position(HEADER_SIZE);
+          channel.force(true);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(group);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        if (group.length > 0) {
+          channel.force(false);
+        }
+      } catch (IOException e) {
+        synchronized (lock) {
+          failure = e;
+          lock.notifyAll();
+        }
+        return;
+      }
+      synchronized (lock) {
+        if (truncate) {
+          size = HEADER_SIZE;
+          truncateRequested = false;
+        }
+        size += group.length;
+        durableSequence = sequence;
+        if (group.length > 0) {
+          commitCount++;
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * a helper function that waits on the lock once. An interrupt ends this wait but not the wait of
+   * the caller, who sets the interrupt status again once it is done waiting.
+   *
+   * @return true if the thread was interrupted.
+   */
+  private boolean waitUninterruptibly() {
+    try {
+      lock.wait();
+      return false;
+    } catch (InterruptedException e) {
+      return true;
+    }
+  }
+
+  /**
+   * a helper function that replays the journal entries numbered after the snapshot into the team.
+   *
+   * @return the size of the journal up to the last complete entry, and the number of that entry.
+   */
+  private static Replayed replay(FileChannel channel, TeamImpl team, long snapshotSequence)
+      throws IOException {
+    if (channel.size() < HEADER_SIZE) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION)
+          .putLong(snapshotSequence);
+      header.flip();
+      channel.truncate(0);
+      channel.write(header, 0);
+      channel.force(true);
+      return new Replayed(HEADER_SIZE, snapshotSequence);
+    }
+    if (channel.size() > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The journal is too large to be replayed.");
+    }
+    ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+    while (content.hasRemaining() && channel.read(content, content.position()) >= 0) {
+      continue;
+    }
+    content.flip();
+    if (content.getInt() != MAGIC || content.getInt() != FORMAT_VERSION) {
+      throw new IllegalArgumentException("The file is not a registration journal.");
+    }
+    long sequence = content.getLong();
+    CRC32 crc = new CRC32();
+    long valid = HEADER_SIZE;
+    while (content.remaining() >= 8) {
+      int length = content.getInt();
+      int checksum = content.getInt();
+      if (length <= 0 || length > content.remaining()) {
+        break;
+      }
+      byte[] entry = new byte[length];
+      content.get(entry);
+      crc.reset();
+      crc.update(entry);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      if (++sequence > snapshotSequence) {
+        apply(entry, team);
+      }
+      valid = content.position();
+    }
+    if (sequence < snapshotSequence) {
+      // the snapshot holds entries torn off the journal, so the journal starts over after them
+      channel.truncate(HEADER_SIZE);
+      channel.force(true);
+      channel.write(ByteBuffer.allocate(8).putLong(0, snapshotSequence), 8);
+      channel.force(true);
+      return new Replayed(HEADER_SIZE, snapshotSequence);
+    }
+    if (valid < channel.size()) {
+      channel.truncate(valid);
+      channel.force(true);
+    }
+    return new Replayed(valid, sequence);
+  }
+
+  private static void apply(byte[] entry, TeamImpl team) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+    byte type = in.readByte();
+    if (type == ADD) {
+      String firstName = in.readUTF();
+      String lastName = in.readUTF();
+      LocalDate dateOfBirth = LocalDate.ofEpochDay(in.readInt());
+      team.restorePlayer(firstName, lastName, dateOfBirth, Position.values()[in.readByte()],
+          in.readByte());
+    } else if (type == DROP) {
+      team.restoreDrop(in.readUTF(), in.readUTF(), LocalDate.ofEpochDay(in.readInt()));
+    } else if (type == MAKE_TEAM) {
+      int count = in.readInt();
+      String[] firstNames = new String[count];
+      String[] lastNames = new String[count];
+      LocalDate[] datesOfBirth = new LocalDate[count];
+      int[] jerseyNumbers = new int[count];
+      for (int i = 0; i < count; i++) {
+        firstNames[i] = in.readUTF();
+        lastNames[i] = in.readUTF();
+        datesOfBirth[i] = LocalDate.ofEpochDay(in.readInt());
+        jerseyNumbers[i] = in.readInt();
+      }
+      team.restoreJerseyNumbers(firstNames, lastNames, datesOfBirth, jerseyNumbers);
+    } else {
+      throw new IllegalArgumentException("Unknown journal entry type " + type + ".");
+    }
+  }
+
+  private static void restoreSnapshot(MappedTeam snapshot, TeamImpl team) {
+    for (Player player : snapshot.getPlayers()) {
+      team.restorePlayer(player.getFirstName(), player.getLastName(), player.getDateOfBirth(),
+          player.getPreferredPosition(), player.getSkillLevel());
+    }
+    if (snapshot.isTeamCreated()) {
+      List<Player> players = snapshot.getPlayers();
+      String[] firstNames = new String[players.size()];
+      String[] lastNames = new String[players.size()];
+      LocalDate[] datesOfBirth = new LocalDate[players.size()];
+      int[] jerseyNumbers = new int[players.size()];
+      for (int i = 0; i < players.size(); i++) {
+        Player player = players.get(i);
+        firstNames[i] = player.getFirstName();
+        lastNames[i] = player.getLastName();
+        datesOfBirth[i] = player.getDateOfBirth();
+        jerseyNumbers[i] = player.getJerseyNumber();
+      }
+      team.restoreJerseyNumbers(firstNames, lastNames, datesOfBirth, jerseyNumbers);
+    }
+  }
+
+  private static void writeKey(DataOutputStream out, Player player) throws IOException {
+    out.writeUTF(player.getFirstName());
+    out.writeUTF(player.getLastName());
+    out.writeInt((int) player.getDateOfBirth().toEpochDay());
+  }
+
+  private static void writeInt(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private static Path snapshotFile(Path file) {
+    return file.resolveSibling(file.getFileName() + ".snapshot");
+  }
+
+  /**
+   * the size of a replayed journal and the number of its last entry.
+   */
+  private static final class Replayed {
+    private final long size;
+    private final long sequence;
+
+    private Replayed(long size, long sequence) {
+      this.size = size;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -0,0 +1,350 @@
+package soccerteam;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class imports rosters from CSV or JSON lines files into a team. Files are read one line at
+ * a time and players are handed to the team in batches, so memory use depends on the batch size,
+ * not on the size of the file. Every row goes through the same checks as a player entered in the
+ * controller, and the team applies the player rules on age and skill level. Rejected rows are
+ * written to a rejection report with their line number and reason, and counted in the metrics
+ * under the same reasons as players refused by the controller. Players already in the team,
+ * including earlier rows of the same file, are rejected as duplicates.
+ *
+ * <p>When the importer is given the season of the team, the birthdates of each batch are checked
+ * against the age group in one pass before the team is locked, and rows outside the group are
+ * rejected without reaching the team.
+ *
+ * <p>CSV rows hold firstName, lastName, dateOfBirth, preferredPosition and skillLevel in this
+ * order, optionally after a header row. Blank lines and CSV lines starting with "#" are skipped,
+ * also before the header. JSON lines hold one object per line with these field names.
+ */
+public class RosterImporter {
+  private static final int DEFAULT_BATCH_SIZE = 1024;
+  private static final String[] FIELDS = {"firstName", "lastName", "dateOfBirth",
+      "preferredPosition", "skillLevel"};
+  private static final String DUPLICATE =
+      "This player has already been added. Please confirm and try again.";
+  private final Team team;
+  private final int batchSize;
+  private final SeasonEligibility eligibility;
+  private final AgeGroup ageGroup;
+  private TeamMetrics metrics = TeamMetrics.getDefault();
+
+  /**
+   * a constructor to create an importer with the default batch size.
+   *
+   * @param team the team receiving the players.
+   */
+  public RosterImporter(Team team) {
+    this(team, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * a constructor to create an importer. The team is locked once per batch while the batch is
+   * added, so a team shared by a league can keep serving other callers between batches.
+   *
+   * @param team      the team receiving the players.
+   * @param batchSize the number of players added to the team at once.
+   * @throws IllegalArgumentException if the team is null or the batch size is not positive.
+   */
+  public RosterImporter(Team team, int batchSize) throws IllegalArgumentException {
+    this(team, batchSize, null, null);
+  }
+
+  /**
+   * a constructor to create an importer checking ages against an age group of a season before the
+   * players reach the team. The season should be the one the team counts ages in.
+   *
+   * @param team        the team receiving the players.
+   * @param batchSize   the number of players added to the team at once.
+   * @param eligibility the season the age is counted in, or null to leave the check to the team.
+   * @param ageGroup    the age group players must belong to.
+   * @throws IllegalArgumentException if the team is null, the batch size is not positive, or the
+   *                                  season does not hold the age group.
+   */
+  public RosterImporter(Team team, int batchSize, SeasonEligibility eligibility,
+      AgeGroup ageGroup) throws IllegalArgumentException {
+    if (eligibility != null) {
+      eligibility.maskOf(ageGroup);
+    }
+    if (team == null) {
+      throw new IllegalArgumentException("Team must not be null.");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    this.team = team;
+    this.batchSize = batchSize;
+    this.eligibility = eligibility;
+    this.ageGroup = ageGroup;
+  }
+
+  /**
+   * set the metrics counting the rejected rows. Importers use the default metrics unless given
+   * others.
+   *
+   * @param metrics the metrics to use.
+   * @throws IllegalArgumentException if the metrics are null.
+   */
+  public void setMetrics(TeamMetrics metrics) throws IllegalArgumentException {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Metrics must not be null.");
+    }
+    this.metrics = metrics;
+  }
+
+  /**
+   * import players from CSV text. A first row starting with "firstName" is taken as a header.
+   *
+   * @param in         the CSV text.
+   * @param rejections the report receiving one "line,reason" row per rejected row.
+   * @return a summary of the import.
+   * @throws IOException if reading or writing fails.
+   */
+  public ImportReport importCsv(Reader in, Writer rejections) throws IOException {
+    return importRows(in, rejections, true);
+  }
+
+  /**
+   * import players from JSON lines text, one JSON object per line.
+   *
+   * @param in         the JSON lines text.
+   * @param rejections the report receiving one "line,reason" row per rejected row.
+   * @return a summary of the import.
+   * @throws IOException if reading or writing fails.
+   */
+  public ImportReport importJsonLines(Reader in, Writer rejections) throws IOException {
+    return importRows(in, rejections, false);
+  }
+
+  private ImportReport importRows(Reader in, Writer rejections, boolean csv) throws IOException {
+    long start = System.nanoTime();
+    BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in
+        : new BufferedReader(in, 1 << 16);
+    Batch batch = new Batch(batchSize);
+    String[] fields = new String[FIELDS.length];
+    long lineNumber = 0;
+    long rowsRead = 0;
+    long rejected = 0;
+    long added = 0;
+    boolean headerSeen = false;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || csv && line.startsWith("#")) {
+        continue;
+      }
+      if (csv && rowsRead == 0 && !headerSeen && line.regionMatches(true, 0, FIELDS[0], 0,
+          FIELDS[0].length())) {
+        headerSeen = true;
+        continue;
+      }
+      rowsRead++;
+      String problem = csv ? splitCsv(line, fields) : splitJson(line, fields);
+      if (problem == null) {
+        problem = PlayerValidator.validate(fields[0], fields[1], fields[2],
+            PlayerValidator.toPosition(fields[3]), fields[4]);
+      }
+      if (problem != null) {
+        metrics.countRejection(problem);
+        reject(rejections, lineNumber, problem);
+        rejected++;
+        continue;
+      }
+      batch.add(lineNumber, fields);
+      if (batch.size == batchSize) {
+        int committed = commit(batch, rejections);
+        added += committed;
+        rejected += batch.size - committed;
+        batch.size = 0;
+      }
+    }
+    int committed = commit(batch, rejections);
+    added += committed;
+    rejected += batch.size - committed;
+    return new ImportReport(rowsRead, added, rejected, System.nanoTime() - start);
+  }
+
+  /**
+   * a helper function that adds a batch of rows to the team while holding the team's lock. Rows
+   * refused by the team are written to the rejection report once the lock is released.
+   *
+   * @return the number of rows added successfully.
+   */
+  private int commit(Batch batch, Writer rejections) throws IOException {
+    int committed = 0;
+    List<String> problems = new ArrayList<>();
+    int groupMask = ~0;
+    if (eligibility != null) {
+      eligibility.classify(batch.epochDays, batch.size, batch.ageGroupMasks);
+      groupMask = eligibility.maskOf(ageGroup);
+    }
+    synchronized (team) {
+      for (int i = 0; i < batch.size; i++) {
+        if ((batch.ageGroupMasks[i] & groupMask) == 0) {
+          metrics.countRejection(TeamMetrics.Rejection.AGE);
+          problems.add("Add failed! " + eligibility.message(ageGroup));
+          continue;
+        }
+        if (team.hasPlayer(batch.firstNames[i], batch.lastNames[i], batch.datesOfBirth[i])) {
+          metrics.countRejection(TeamMetrics.Rejection.DUPLICATE);
+          problems.add(DUPLICATE);
+          continue;
+        }
+        try {
+          team.addPlayer(batch.firstNames[i], batch.lastNames[i], batch.datesOfBirth[i],
+              batch.positions[i], batch.skillLevels[i]);
+          committed++;
+          problems.add(null);
+        } catch (IllegalArgumentException e) {
+          metrics.countRejection(e.getMessage());
+          problems.add("Add failed! " + e.getMessage());
+        }
+      }
+    }
+    for (int i = 0; i < problems.size(); i++) {
+      if (problems.get(i) != null) {
+        reject(rejections, batch.lineNumbers[i], problems.get(i));
+      }
+    }
+    return committed;
+  }
+
+  private static void reject(Writer rejections, long lineNumber, String problem)
+      throws IOException {
+    rejections.write(Long.toString(lineNumber));
+    rejections.write(",\"");
+    rejections.write(problem.replace("\"", "\"\""));
+    rejections.write("\"\n");
+  }
+
+  /**
+   * a helper function that splits a CSV row into the player fields. Fields may be quoted, and
+   * quotes inside quoted fields are doubled.
+   *
+   * @return a message describing the problem, or null if the row has the expected fields.
+   */
+  private static String splitCsv(String line, String[] fields) {
+    int field = 0;
+    int index = 0;
+    int length = line.length();
+    StringBuilder quoted = null;
+    while (field < fields.length) {
+      String value;
+      if (index < length && line.charAt(index) == '"') {
+        if (quoted == null) {
+          quoted = new StringBuilder();
+        }
+        quoted.setLength(0);
+        index++;
+        boolean closed = false;
+        while (index < length) {
+          char c = line.charAt(index++);
+          if (c == '"') {
+            if (index < length && line.charAt(index) == '"') {
+              quoted.append('"');
+              index++;
+            } else {
+              closed = true;
+              break;
+            }
+          } else {
+            quoted.append(c);
+          }
+        }
+        if (!closed) {
+          return "Malformed row: unterminated quote.";
+        }
+        value = quoted.toString();
+      } else {
+        int end = line.indexOf(',', index);
+        if (end < 0) {
+          end = length;
+        }
+        value = line.substring(index, end).trim();
+        index = end;
+      }
+      fields[field++] = value;
+      if (index >= length) {
+        break;
+      }
+      if (line.charAt(index) != ',') {
+        return "Malformed row: unexpected text after a quoted field.";
+      }
+      index++;
+    }
+    if (field < fields.length) {
+      return "Please input complete player information.";
+    }
+    if (index < length) {
+      return "Malformed row: too many fields.";
+    }
+    return null;
+  }
+
+  /**
+   * a helper function that reads the player fields of a JSON object.
+   *
+   * @return a message describing the problem, or null if the row is a JSON object.
+   */
+  private static String splitJson(String line, String[] fields) {
+    Map<String, String> values;
+    try {
+      values = FlatJson.parseObject(line);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    for (int i = 0; i < FIELDS.length; i++) {
+      fields[i] = values.get(FIELDS[i]);
+    }
+    return null;
+  }
+
+  /**
+   * a batch of validated rows waiting to be added to the team.
+   */
+  private static final class Batch {
+    private final long[] lineNumbers;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final LocalDate[] datesOfBirth;
+    private final int[] epochDays;
+    private final int[] ageGroupMasks;
+    private final Position[] positions;
+    private final int[] skillLevels;
+    private int size = 0;
+
+    private Batch(int capacity) {
+      lineNumbers = new long[capacity];
+      firstNames = new String[capacity];
+      lastNames = new String[capacity];
+      datesOfBirth = new LocalDate[capacity];
+      epochDays = new int[capacity];
+      ageGroupMasks = new int[capacity];
+      Arrays.fill(ageGroupMasks, ~0);
+      positions = new Position[capacity];
+      skillLevels = new int[capacity];
+    }
+
+    private void add(long lineNumber, String[] fields) {
+      lineNumbers[size] = lineNumber;
+      firstNames[size] = fields[0];
+      lastNames[size] = fields[1];
+      datesOfBirth[size] = LocalDate.parse(fields[2], DateTimeFormatter.ISO_LOCAL_DATE);
+      epochDays[size] = (int) datesOfBirth[size].toEpochDay();
+      positions[size] = (Position) PlayerValidator.toPosition(fields[3]);
+      skillLevels[size] = Integer.parseInt(fields[4]);
+      size++;
+    }
+  }
+}
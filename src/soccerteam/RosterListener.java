@@ -0,0 +1,39 @@
+package soccerteam;
+
+import java.util.List;
+
+/**
+ * This interface represents a listener told about every change of a team's roster, e.g. a journal
+ * saving registrations. Listeners are called on the thread changing the team, right after the
+ * change, in the order the changes are made.
+ */
+public interface RosterListener {
+  /**
+   * a player has been added to the team. If the team is over its capacity, a playerDropped call
+   * follows.
+   *
+   * @param player the new player.
+   */
+  void playerAdded(Player player);
+
+  /**
+   * a player has been dropped to keep the team within its capacity.
+   *
+   * @param player the dropped player.
+   */
+  void playerDropped(Player player);
+
+  /**
+   * jersey numbers have been assigned to all players.
+   *
+   * @param players the players of the team, each holding its new jersey number.
+   */
+  void teamMade(List<Player> players);
+
+  /**
+   * a change of the team has finished: every call it led to has been made, so the team is whole
+   * again, e.g. added and no longer over its capacity. This is where a listener may save the team.
+   */
+  default void changeFinished() {
+  }
+}
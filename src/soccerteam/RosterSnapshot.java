@@ -0,0 +1,424 @@
+package soccerteam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * This class saves teams and leagues to a compact binary file and maps them back. A restart maps
+ * the file and serves the team, the lineUp and the bench from it without adding any player again:
+ * opening a snapshot reads a fixed-size header, and players are decoded only when they are used.
+ *
+ * <p>The file holds a header, one directory entry per team, one fixed-size record per player, the
+ * record numbers of the lineUp of each team and a pool of names, each name written once. Records of
+ * a team are ordered by names and birthday like the roster of TeamImpl and note the jersey number
+ * and the lineUp position of each player, so the lineUp does not have to be picked again and is
+ * found without reading the whole team. Files are written to a temporary file first and moved
+ * in place, so a crash never leaves a half-written snapshot. A snapshot is limited to 2 GB. A
+ * snapshot written by a RegistrationJournal also notes the last journal entry it holds.
+ */
+public final class RosterSnapshot {
+  private static final int MAGIC = 0x53545253;
+  private static final int FORMAT_VERSION = 3;
+  private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8;
+  static final int TEAM_ENTRY_SIZE = 4 + 4 + 4 + 1 + 4 + 8 + 8;
+  static final int RECORD_SIZE = 4 + 4 + 4 + 4 + 1 + 1 + 1 + 1;
+  static final byte BENCH = -1;
+  private static final int NO_STRING = -1;
+  private final ByteBuffer buffer;
+  private final int teamCount;
+  private final int stringsOffset;
+  private final long journalSequence;
+  private final MappedTeam[] teams;
+  private Map<TeamKey, Integer> teamIndex;
+
+  private RosterSnapshot(ByteBuffer buffer) {
+    if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("The file is not a roster snapshot.");
+    }
+    if (buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IllegalArgumentException(
+          "Unsupported roster snapshot version " + buffer.getInt(4) + ".");
+    }
+    this.buffer = buffer;
+    this.teamCount = buffer.getInt(8);
+    this.stringsOffset = (int) buffer.getLong(12);
+    this.journalSequence = buffer.getLong(20);
+    this.teams = new MappedTeam[teamCount];
+  }
+
+  /**
+   * map a snapshot file. Only the header is read; teams and players are decoded when they are used.
+   *
+   * @param file the snapshot file.
+   * @return the mapped snapshot.
+   * @throws IOException              if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a roster snapshot.
+   */
+  public static RosterSnapshot open(Path file) throws IOException, IllegalArgumentException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Roster snapshots are limited to 2 GB.");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new RosterSnapshot(buffer);
+    }
+  }
+
+  /**
+   * save one team. The lineUp is picked first if the roster has changed since it was last picked.
+   *
+   * @param file the snapshot file, replaced if it exists.
+   * @param team a TeamImpl or a ConcurrentTeamImpl.
+   * @throws IOException              if the file cannot be written.
+   * @throws IllegalArgumentException if the team cannot be saved.
+   */
+  public static void write(Path file, Team team) throws IOException, IllegalArgumentException {
+    write(file, team, 0);
+  }
+
+  /**
+   * save one team as the journal of the team had it after the given entry.
+   *
+   * @param file            the snapshot file, replaced if it exists.
+   * @param team            a TeamImpl or a ConcurrentTeamImpl.
+   * @param journalSequence the sequence number of the last journal entry the team holds.
+   * @throws IOException              if the file cannot be written.
+   * @throws IllegalArgumentException if the team cannot be saved.
+   */
+  static void write(Path file, Team team, long journalSequence)
+      throws IOException, IllegalArgumentException {
+    TeamImage image;
+    synchronized (team) {
+      image = capture(team);
+    }
+    write(file, Collections.singletonList(image), journalSequence);
+  }
+
+  /**
+   * save all teams of a league. Each team is copied while its lock is held, so teams keep serving
+   * other callers while the file is written.
+   *
+   * @param file   the snapshot file, replaced if it exists.
+   * @param league a league of TeamImpl or ConcurrentTeamImpl teams.
+   * @throws IOException              if the file cannot be written.
+   * @throws IllegalArgumentException if a team cannot be saved.
+   */
+  public static void write(Path file, League league) throws IOException, IllegalArgumentException {
+    Map<TeamKey, TeamImage> images = league.forEachTeam(RosterSnapshot::capture);
+    List<TeamImage> ordered = new ArrayList<>();
+    for (Map.Entry<TeamKey, TeamImage> entry : images.entrySet()) {
+      entry.getValue().key = entry.getKey();
+      ordered.add(entry.getValue());
+    }
+    ordered.sort((a, b) -> a.key.toString().compareTo(b.key.toString()));
+    write(file, ordered, 0);
+  }
+
+  /**
+   * a getter provides the number of teams in the snapshot.
+   *
+   * @return the number of teams.
+   */
+  public int getTeamCount() {
+    return this.teamCount;
+  }
+
+  /**
+   * a getter provides the sequence number of the last journal entry the snapshot holds.
+   *
+   * @return the sequence number, or 0 if the snapshot was not written by a journal.
+   */
+  long getJournalSequence() {
+    return this.journalSequence;
+  }
+
+  /**
+   * a getter provides the team of a snapshot holding a single team.
+   *
+   * @return the first team of the snapshot.
+   * @throws IllegalStateException if the snapshot holds no team.
+   */
+  public MappedTeam getTeam() throws IllegalStateException {
+    if (teamCount == 0) {
+      throw new IllegalStateException("The snapshot holds no team.");
+    }
+    return getTeam(0);
+  }
+
+  /**
+   * a getter provides a team by its position in the snapshot.
+   *
+   * @param index the position of the team, from 0.
+   * @return the mapped team.
+   * @throws IndexOutOfBoundsException if there is no team at this position.
+   */
+  public synchronized MappedTeam getTeam(int index) {
+    if (index < 0 || index >= teamCount) {
+      throw new IndexOutOfBoundsException("No team at index " + index + ".");
+    }
+    if (teams[index] == null) {
+      int entry = HEADER_SIZE + index * TEAM_ENTRY_SIZE;
+      teams[index] = new MappedTeam(this, buffer.getInt(entry + 8), buffer.get(entry + 12) != 0,
+          buffer.getInt(entry + 13), (int) buffer.getLong(entry + 17),
+          (int) buffer.getLong(entry + 25));
+    }
+    return teams[index];
+  }
+
+  /**
+   * a getter provides a team of a league snapshot.
+   *
+   * @param club     a string representing the club name.
+   * @param ageGroup a string representing the age group, e.g. "U-10".
+   * @return the mapped team.
+   * @throws IllegalArgumentException if the snapshot holds no such team.
+   */
+  public MappedTeam getTeam(String club, String ageGroup) throws IllegalArgumentException {
+    TeamKey key = new TeamKey(club, ageGroup);
+    Integer index;
+    synchronized (this) {
+      if (teamIndex == null) {
+        teamIndex = new HashMap<>();
+        for (int i = 0; i < teamCount; i++) {
+          TeamKey teamKey = keyOf(i);
+          if (teamKey != null) {
+            teamIndex.put(teamKey, i);
+          }
+        }
+      }
+      index = teamIndex.get(key);
+    }
+    if (index == null) {
+      throw new IllegalArgumentException("No team saved for " + key + ".");
+    }
+    return getTeam(index);
+  }
+
+  /**
+   * a getter provides the keys of the teams of a league snapshot, in the order of the file.
+   *
+   * @return the team keys.
+   */
+  public List<TeamKey> getTeamKeys() {
+    List<TeamKey> keys = new ArrayList<>();
+    for (int i = 0; i < teamCount; i++) {
+      TeamKey key = keyOf(i);
+      if (key != null) {
+        keys.add(key);
+      }
+    }
+    return keys;
+  }
+
+  private TeamKey keyOf(int index) {
+    int entry = HEADER_SIZE + index * TEAM_ENTRY_SIZE;
+    int club = buffer.getInt(entry);
+    if (club == NO_STRING) {
+      return null;
+    }
+    return new TeamKey(readString(club), readString(buffer.getInt(entry + 4)));
+  }
+
+  /**
+   * a getter provides the mapped file, shared by the teams of the snapshot. Only absolute reads are
+   * made on it, so it can be shared between threads.
+   */
+  ByteBuffer buffer() {
+    return this.buffer;
+  }
+
+  /**
+   * a helper function that decodes a name from the pool.
+   *
+   * @param offset the position of the name in the pool.
+   * @return the name.
+   */
+  String readString(int offset) {
+    int position = stringsOffset + offset;
+    int length = buffer.getInt(position);
+    byte[] bytes = new byte[length];
+    ByteBuffer view = buffer.duplicate();
+    view.position(position + 4);
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * a helper function that copies what is saved of a team. The caller holds the team's lock.
+   */
+  private static TeamImage capture(Team team) throws IllegalArgumentException {
+    if (team instanceof ConcurrentTeamImpl) {
+      return ((ConcurrentTeamImpl) team).withRoster(RosterSnapshot::capture);
+    }
+    if (!(team instanceof TeamImpl)) {
+      throw new IllegalArgumentException(
+          "Only TeamImpl and ConcurrentTeamImpl teams can be saved.");
+    }
+    return capture((TeamImpl) team);
+  }
+
+  private static TeamImage capture(TeamImpl team) {
+    Map<Player, Byte> roles = new IdentityHashMap<>();
+    for (Map.Entry<Position, TreeSet<Player>> group : team.currentLineUp().entrySet()) {
+      for (Player player : group.getValue()) {
+        roles.put(player, (byte) group.getKey().ordinal());
+      }
+    }
+    Player[] players = team.toArray();
+    TeamImage image = new TeamImage(team.getMaximumNumber(), team.isTeamCreated(), players);
+    for (int i = 0; i < players.length; i++) {
+      image.roles[i] = roles.getOrDefault(players[i], BENCH);
+      image.jerseyNumbers[i] = players[i].getJerseyNumber();
+    }
+    return image;
+  }
+
+  private static void write(Path file, List<TeamImage> images, long journalSequence)
+      throws IOException {
+    StringPool strings = new StringPool();
+    long playerCount = 0;
+    long lineUpCount = 0;
+    for (TeamImage image : images) {
+      playerCount += image.players.length;
+      lineUpCount += 1 + image.lineUpSize();
+      if (image.key != null) {
+        strings.offsetOf(image.key.getClub());
+        strings.offsetOf(image.key.getAgeGroup());
+      }
+      for (Player player : image.players) {
+        strings.offsetOf(player.getFirstName());
+        strings.offsetOf(player.getLastName());
+      }
+    }
+    long recordsOffset = HEADER_SIZE + (long) images.size() * TEAM_ENTRY_SIZE;
+    long lineUpsOffset = recordsOffset + playerCount * RECORD_SIZE;
+    long stringsOffset = lineUpsOffset + lineUpCount * 4;
+    long size = stringsOffset + strings.size;
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Roster snapshots are limited to 2 GB.");
+    }
+
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(images.size()).putLong(stringsOffset)
+          .putLong(journalSequence);
+      long records = recordsOffset;
+      long lineUps = lineUpsOffset;
+      for (TeamImage image : images) {
+        out.putInt(image.key == null ? NO_STRING : strings.offsetOf(image.key.getClub()));
+        out.putInt(image.key == null ? NO_STRING : strings.offsetOf(image.key.getAgeGroup()));
+        out.putInt(image.maximumNumber);
+        out.put((byte) (image.teamCreated ? 1 : 0));
+        out.putInt(image.players.length);
+        out.putLong(records);
+        out.putLong(lineUps);
+        records += (long) image.players.length * RECORD_SIZE;
+        lineUps += 4 + image.lineUpSize() * 4L;
+      }
+      for (TeamImage image : images) {
+        for (int i = 0; i < image.players.length; i++) {
+          Player player = image.players[i];
+          out.putInt(strings.offsetOf(player.getFirstName()));
+          out.putInt(strings.offsetOf(player.getLastName()));
+          out.putInt((int) player.getDateOfBirth().toEpochDay());
+          out.putInt(image.jerseyNumbers[i]);
+          out.put((byte) player.getPreferredPosition().ordinal());
+          out.put((byte) player.getSkillLevel());
+          out.put(image.roles[i]);
+          out.put((byte) 0);
+        }
+      }
+      for (TeamImage image : images) {
+        out.putInt(image.lineUpSize());
+        for (int i = 0; i < image.roles.length; i++) {
+          if (image.roles[i] != BENCH) {
+            out.putInt(i);
+          }
+        }
+      }
+      for (byte[] name : strings.names) {
+        out.putInt(name.length);
+        out.put(name);
+      }
+      out.force();
+    }
+    try {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * what is saved of one team.
+   */
+  private static final class TeamImage {
+    private final int maximumNumber;
+    private final boolean teamCreated;
+    private final Player[] players;
+    private final byte[] roles;
+    private final int[] jerseyNumbers;
+    private TeamKey key;
+
+    private TeamImage(int maximumNumber, boolean teamCreated, Player[] players) {
+      this.maximumNumber = maximumNumber;
+      this.teamCreated = teamCreated;
+      this.players = players;
+      this.roles = new byte[players.length];
+      this.jerseyNumbers = new int[players.length];
+    }
+
+    private int lineUpSize() {
+      int size = 0;
+      for (byte role : roles) {
+        if (role != BENCH) {
+          size++;
+        }
+      }
+      return size;
+    }
+  }
+
+  /**
+   * the names of a snapshot, each encoded once.
+   */
+  private static final class StringPool {
+    private final Map<String, Integer> offsets = new HashMap<>();
+    private final List<byte[]> names = new ArrayList<>();
+    private long size = 0;
+
+    private int offsetOf(String name) {
+      Integer offset = offsets.get(name);
+      if (offset == null) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        offset = (int) size;
+        offsets.put(name, offset);
+        names.add(bytes);
+        size += 4 + bytes.length;
+        if (size > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Roster snapshots are limited to 2 GB.");
+        }
+      }
+      return offset;
+    }
+  }
+}
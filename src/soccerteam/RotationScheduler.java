@@ -0,0 +1,302 @@
+package soccerteam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class plans the lineUp and the bench of every fixture of a season so that playing time is
+ * shared: the players who have started the fewest fixtures so far start the next one. The slots of
+ * the formation are respected in every fixture. Among players with as many starts, those whose
+ * preferred position still has a free slot are placed first, then those with higher skill levels;
+ * the remaining slots are filled regardless of the preferred position, as the greedy lineUp engine
+ * does.
+ *
+ * <p>Each fixture depends only on its availability and on the starts before it. A change of
+ * availability therefore plans again from the changed fixture on, and stops as soon as the starts
+ * after a fixture are the same as before the change, since every later fixture would come out the
+ * same. A single absence is usually made up for within a few fixtures, so a change costs about as
+ * much as planning a few fixtures, not the whole season.
+ */
+public class RotationScheduler {
+  private static final Position[] POSITIONS = Position.values();
+  private static final byte BENCH = -1;
+  private final Player[] players;
+  private final Map<Player, Integer> index;
+  private final int[] slots;
+  private final BitSet[] absent;
+  // position played by each player in each fixture, or BENCH
+  private final byte[][] plan;
+  // starts of each player before each fixture, and after the last one
+  private final int[][] starts;
+
+  /**
+   * a constructor to create a schedule for the given squad and number of fixtures, for the
+   * formation of 7-a-side. Every player is available for every fixture.
+   *
+   * @param squad    the players of the team.
+   * @param fixtures the number of fixtures of the season.
+   * @throws IllegalArgumentException if the squad is empty or holds null or the same player
+   *                                  twice, or the number of fixtures is not positive.
+   */
+  public RotationScheduler(List<? extends Player> squad, int fixtures)
+      throws IllegalArgumentException {
+    this(squad, fixtures, TeamRules.SEVEN_A_SIDE.getSlots());
+  }
+
+  /**
+   * a constructor to create a schedule for the given squad, number of fixtures and formation.
+   * Every player is available for every fixture.
+   *
+   * @param squad    the players of the team.
+   * @param fixtures the number of fixtures of the season.
+   * @param slots    the number of slots of each position.
+   * @throws IllegalArgumentException if the squad is empty or holds null or the same player
+   *                                  twice, the number of fixtures is not positive or a position
+   *                                  has no slot count.
+   */
+  public RotationScheduler(List<? extends Player> squad, int fixtures,
+      Map<Position, Integer> slots) throws IllegalArgumentException {
+    if (squad.isEmpty()) {
+      throw new IllegalArgumentException("The squad must not be empty.");
+    }
+    if (fixtures < 1) {
+      throw new IllegalArgumentException("There must be at least one fixture.");
+    }
+    this.slots = new int[POSITIONS.length];
+    for (Position position : POSITIONS) {
+      Integer count = slots.get(position);
+      if (count == null || count < 0) {
+        throw new IllegalArgumentException("Every position needs a number of slots.");
+      }
+      this.slots[position.ordinal()] = count;
+    }
+    List<Player> ordered = new ArrayList<>(squad.size());
+    for (Player player : squad) {
+      if (player == null) {
+        throw new IllegalArgumentException("Player must not be null.");
+      }
+      ordered.add(player);
+    }
+    // the index of a player is its rank by skill level, so lower indexes start first on ties
+    ordered.sort(PlayerQuery.Order.SKILL.getComparator());
+    this.players = ordered.toArray(new Player[0]);
+    this.index = new TreeMap<>(PlayerQuery.Order.NAME.getComparator());
+    for (int i = 0; i < players.length; i++) {
+      if (index.put(players[i], i) != null) {
+        throw new IllegalArgumentException("The squad must not hold the same player twice.");
+      }
+    }
+    this.absent = new BitSet[fixtures];
+    this.plan = new byte[fixtures][players.length];
+    this.starts = new int[fixtures + 1][players.length];
+    for (int f = 0; f < fixtures; f++) {
+      absent[f] = new BitSet(players.length);
+      planFixture(f);
+    }
+  }
+
+  /**
+   * a getter provides the number of fixtures of the season.
+   *
+   * @return the number of fixtures.
+   */
+  public int getFixtureCount() {
+    return this.plan.length;
+  }
+
+  /**
+   * set the players missing one fixture, replacing those set before, and plan the season again
+   * from that fixture on, as far as the change reaches.
+   *
+   * @param fixture the index of the fixture, from 0.
+   * @param missing the players not available for the fixture.
+   * @return the number of fixtures planned again.
+   * @throws IllegalArgumentException if the fixture does not exist, or a player is null or not in
+   *                                  the squad.
+   */
+  public int setAbsent(int fixture, Collection<? extends Player> missing)
+      throws IllegalArgumentException {
+    checkFixture(fixture);
+    BitSet changed = new BitSet(players.length);
+    for (Player player : missing) {
+      changed.set(indexOf(player));
+    }
+    if (changed.equals(absent[fixture])) {
+      return 0;
+    }
+    absent[fixture] = changed;
+    int planned = 0;
+    int[] before = new int[players.length];
+    for (int f = fixture; f < plan.length; f++) {
+      System.arraycopy(starts[f + 1], 0, before, 0, before.length);
+      planFixture(f);
+      planned++;
+      if (Arrays.equals(before, starts[f + 1])) {
+        break;
+      }
+    }
+    return planned;
+  }
+
+  /**
+   * a getter provides the players missing a fixture, ordered by names and birthday.
+   *
+   * @param fixture the index of the fixture, from 0.
+   * @return a list of the absent players.
+   * @throws IllegalArgumentException if the fixture does not exist.
+   */
+  public List<Player> getAbsent(int fixture) throws IllegalArgumentException {
+    checkFixture(fixture);
+    List<Player> missing = new ArrayList<>();
+    for (int i = absent[fixture].nextSetBit(0); i >= 0; i = absent[fixture].nextSetBit(i + 1)) {
+      missing.add(players[i]);
+    }
+    missing.sort(PlayerQuery.Order.NAME.getComparator());
+    return missing;
+  }
+
+  /**
+   * a getter provides the lineUp planned for a fixture.
+   *
+   * @param fixture the index of the fixture, from 0.
+   * @return a map from each position to its players, ordered by names and birthday. Every
+   *         position is a key.
+   * @throws IllegalArgumentException if the fixture does not exist.
+   */
+  public Map<Position, List<Player>> getLineUp(int fixture) throws IllegalArgumentException {
+    checkFixture(fixture);
+    Map<Position, List<Player>> lineUp = new EnumMap<>(Position.class);
+    for (Position position : POSITIONS) {
+      lineUp.put(position, new ArrayList<>());
+    }
+    for (int i = 0; i < players.length; i++) {
+      if (plan[fixture][i] != BENCH) {
+        lineUp.get(POSITIONS[plan[fixture][i]]).add(players[i]);
+      }
+    }
+    for (List<Player> group : lineUp.values()) {
+      group.sort(PlayerQuery.Order.NAME.getComparator());
+    }
+    return lineUp;
+  }
+
+  /**
+   * a getter provides the bench planned for a fixture: the available players not in its lineUp.
+   *
+   * @param fixture the index of the fixture, from 0.
+   * @return a list of the players on the bench, ordered by names and birthday.
+   * @throws IllegalArgumentException if the fixture does not exist.
+   */
+  public List<Player> getBench(int fixture) throws IllegalArgumentException {
+    checkFixture(fixture);
+    List<Player> bench = new ArrayList<>();
+    for (int i = 0; i < players.length; i++) {
+      if (plan[fixture][i] == BENCH && !absent[fixture].get(i)) {
+        bench.add(players[i]);
+      }
+    }
+    bench.sort(PlayerQuery.Order.NAME.getComparator());
+    return bench;
+  }
+
+  /**
+   * a getter provides the number of fixtures of the season a player starts.
+   *
+   * @param player a player of the squad.
+   * @return the number of starts.
+   * @throws IllegalArgumentException if the player is null or not in the squad.
+   */
+  public int getStarts(Player player) throws IllegalArgumentException {
+    return starts[plan.length][indexOf(player)];
+  }
+
+  /**
+   * a helper function that plans one fixture from the starts before it and sets the starts after
+   * it. Available players are taken by fewest starts, then by index; within one number of starts,
+   * a player whose preferred position is full waits until the others of that number are placed.
+   */
+  private void planFixture(int fixture) {
+    int n = players.length;
+    int[] before = starts[fixture];
+    byte[] positions = plan[fixture];
+    Arrays.fill(positions, BENCH);
+    // order available players by starts, then by index, with both packed in one key
+    long[] order = new long[n];
+    int available = 0;
+    for (int i = 0; i < n; i++) {
+      if (!absent[fixture].get(i)) {
+        order[available++] = ((long) before[i] << 32) | i;
+      }
+    }
+    Arrays.sort(order, 0, available);
+
+    int[] free = slots.clone();
+    int remainingSlots = 0;
+    for (int count : free) {
+      remainingSlots += count;
+    }
+    int[] waitList = new int[n];
+    int from = 0;
+    while (from < available && remainingSlots > 0) {
+      int level = (int) (order[from] >>> 32);
+      int to = from;
+      int waiting = 0;
+      while (to < available && (int) (order[to] >>> 32) == level) {
+        int i = (int) order[to++];
+        int preferred = players[i].getPreferredPosition().ordinal();
+        if (free[preferred] > 0) {
+          free[preferred]--;
+          remainingSlots--;
+          positions[i] = (byte) preferred;
+        } else {
+          waitList[waiting++] = i;
+        }
+      }
+      for (int w = 0; w < waiting && remainingSlots > 0; w++) {
+        for (int p = 0; p < free.length; p++) {
+          if (free[p] > 0) {
+            free[p]--;
+            remainingSlots--;
+            positions[waitList[w]] = (byte) p;
+            break;
+          }
+        }
+      }
+      from = to;
+    }
+
+    int[] after = starts[fixture + 1];
+    for (int i = 0; i < n; i++) {
+      after[i] = before[i] + (positions[i] == BENCH ? 0 : 1);
+    }
+  }
+
+  /**
+   * a helper function that finds the index of a player of the squad.
+   */
+  private int indexOf(Player player) throws IllegalArgumentException {
+    if (player == null) {
+      throw new IllegalArgumentException("Player must not be null.");
+    }
+    Integer i = index.get(player);
+    if (i == null) {
+      throw new IllegalArgumentException("The player is not in the squad.");
+    }
+    return i;
+  }
+
+  /**
+   * a helper function that checks that a fixture exists.
+   */
+  private void checkFixture(int fixture) throws IllegalArgumentException {
+    if (fixture < 0 || fixture >= plan.length) {
+      throw new IllegalArgumentException("There is no fixture " + fixture + ".");
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package soccerteam;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class checks the age of players against the age groups of one season. The reference date is
+ * fixed once when the season is created, and every age group is turned into a range of allowed
+ * birthdates counted in days since 1970-01-01. A player is eligible for a group if the birthdate
+ * falls in its range, which gives the same answer as counting whole years with Period on the
+ * reference date, without any date arithmetic per player.
+ *
+ * <p>Batches of birthdates are checked against all age groups in one pass: each birthdate gets a
+ * bit mask holding one bit per group, in the order the groups were given.
+ */
+public final class SeasonEligibility {
+  private static final int MAXIMUM_GROUPS = Integer.SIZE;
+  private static final ConcurrentMap<AgeGroup, SeasonEligibility> TODAY =
+      new ConcurrentHashMap<>();
+  private final LocalDate referenceDate;
+  private final AgeGroup[] ageGroups;
+  private final int[] earliestEpochDays;
+  private final int[] latestEpochDays;
+
+  /**
+   * a constructor to create a season starting today on the given clock.
+   *
+   * @param clock     the clock giving the reference date.
+   * @param ageGroups the age groups of the season.
+   * @throws IllegalArgumentException if the clock is null or the age groups are not valid.
+   */
+  public SeasonEligibility(Clock clock, AgeGroup... ageGroups) throws IllegalArgumentException {
+    this(referenceDate(clock), ageGroups);
+  }
+
+  /**
+   * a constructor to create a season with a fixed reference date, e.g. the cut-off date of a
+   * league.
+   *
+   * @param referenceDate the date ages are counted on.
+   * @param ageGroups     the age groups of the season, at most 32.
+   * @throws IllegalArgumentException if the date is null, no age group is given, or there are
+   *                                  more than 32 age groups.
+   */
+  public SeasonEligibility(LocalDate referenceDate, AgeGroup... ageGroups)
+      throws IllegalArgumentException {
+    if (referenceDate == null) {
+      throw new IllegalArgumentException("Reference date must not be null.");
+    }
+    if (ageGroups == null || ageGroups.length == 0 || ageGroups.length > MAXIMUM_GROUPS) {
+      throw new IllegalArgumentException(
+          "A season needs between 1 and " + MAXIMUM_GROUPS + " age groups.");
+    }
+    this.referenceDate = referenceDate;
+    this.ageGroups = ageGroups.clone();
+    this.earliestEpochDays = new int[ageGroups.length];
+    this.latestEpochDays = new int[ageGroups.length];
+    for (int i = 0; i < ageGroups.length; i++) {
+      if (ageGroups[i] == null) {
+        throw new IllegalArgumentException("Age group must not be null.");
+      }
+      earliestEpochDays[i] = (int) referenceDate.minusYears(ageGroups[i].getMaximumAge())
+          .toEpochDay() + 1;
+      latestEpochDays[i] = (int) referenceDate.minusYears(ageGroups[i].getMinimumAge())
+          .toEpochDay();
+    }
+  }
+
+  /**
+   * a function giving the season of one age group starting today on the system clock, for
+   * players whose age is counted on the day they are added. The season is made once a day and
+   * shared, so such a check costs a date lookup more than one in a fixed season.
+   *
+   * @param ageGroup the age group of the season.
+   * @return the season starting today.
+   * @throws IllegalArgumentException if the age group is null.
+   */
+  static SeasonEligibility today(AgeGroup ageGroup) throws IllegalArgumentException {
+    if (ageGroup == null) {
+      throw new IllegalArgumentException("Age group must not be null.");
+    }
+    LocalDate today = LocalDate.now(Clock.systemDefaultZone());
+    SeasonEligibility season = TODAY.get(ageGroup);
+    if (season == null || !season.referenceDate.equals(today)) {
+      season = new SeasonEligibility(today, ageGroup);
+      TODAY.put(ageGroup, season);
+    }
+    return season;
+  }
+
+  private static LocalDate referenceDate(Clock clock) {
+    if (clock == null) {
+      throw new IllegalArgumentException("Clock must not be null.");
+    }
+    return LocalDate.now(clock);
+  }
+
+  /**
+   * a getter provides the date ages are counted on.
+   *
+   * @return the reference date.
+   */
+  public LocalDate getReferenceDate() {
+    return this.referenceDate;
+  }
+
+  /**
+   * a getter provides the age groups of the season.
+   *
+   * @return the age groups in the order of their bits.
+   */
+  public List<AgeGroup> getAgeGroups() {
+    return Collections.unmodifiableList(Arrays.asList(ageGroups));
+  }
+
+  /**
+   * check if a birthdate is allowed in an age group.
+   *
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   * @param ageGroup    an age group of the season.
+   * @return true if the player is eligible.
+   * @throws IllegalArgumentException if the age group is not part of the season.
+   */
+  public boolean isEligible(LocalDate dateOfBirth, AgeGroup ageGroup)
+      throws IllegalArgumentException {
+    return isEligible(dateOfBirth.toEpochDay(), indexOf(ageGroup));
+  }
+
+  /**
+   * check if a birthdate is allowed in an age group, and report it if not.
+   *
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   * @param ageGroup    an age group of the season.
+   * @throws IllegalArgumentException if the player is not eligible, or the age group is not part
+   *                                  of the season.
+   */
+  public void check(LocalDate dateOfBirth, AgeGroup ageGroup) throws IllegalArgumentException {
+    int group = indexOf(ageGroup);
+    if (!isEligible(dateOfBirth.toEpochDay(), group)) {
+      throw new IllegalArgumentException(message(group));
+    }
+  }
+
+  /**
+   * find the age groups a birthdate is allowed in.
+   *
+   * @param epochDay a birthdate in days since 1970-01-01.
+   * @return a mask holding bit i if the birthdate is allowed in the i-th age group.
+   */
+  public int matchMask(int epochDay) {
+    int mask = 0;
+    for (int group = 0; group < ageGroups.length; group++) {
+      if (epochDay >= earliestEpochDays[group] && epochDay <= latestEpochDays[group]) {
+        mask |= 1 << group;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * find the age groups of a batch of birthdates in one pass.
+   *
+   * @param epochDays birthdates in days since 1970-01-01.
+   * @param count     the number of birthdates to check, from the start of the array.
+   * @param masks     receives the mask of each birthdate, as given by matchMask.
+   * @throws IllegalArgumentException if count does not fit the arrays.
+   */
+  public void classify(int[] epochDays, int count, int[] masks) throws IllegalArgumentException {
+    if (count < 0 || count > epochDays.length || count > masks.length) {
+      throw new IllegalArgumentException("Count does not fit the arrays.");
+    }
+    Arrays.fill(masks, 0, count, 0);
+    for (int group = 0; group < ageGroups.length; group++) {
+      int earliest = earliestEpochDays[group];
+      int latest = latestEpochDays[group];
+      int bit = 1 << group;
+      for (int i = 0; i < count; i++) {
+        int epochDay = epochDays[i];
+        if (epochDay >= earliest && epochDay <= latest) {
+          masks[i] |= bit;
+        }
+      }
+    }
+  }
+
+  /**
+   * a getter provides the bit of an age group in the masks.
+   *
+   * @param ageGroup an age group of the season.
+   * @return a mask holding only the bit of the age group.
+   * @throws IllegalArgumentException if the age group is not part of the season.
+   */
+  public int maskOf(AgeGroup ageGroup) throws IllegalArgumentException {
+    return 1 << indexOf(ageGroup);
+  }
+
+  /**
+   * a helper function that gives the message reported for players outside an age group.
+   */
+  String message(AgeGroup ageGroup) {
+    return message(indexOf(ageGroup));
+  }
+
+  private String message(int group) {
+    return "The team only accept player older than " + ageGroups[group].getMinimumAge()
+        + " and under " + ageGroups[group].getMaximumAge() + " years old.";
+  }
+
+  private boolean isEligible(long epochDay, int group) {
+    return epochDay >= earliestEpochDays[group] && epochDay <= latestEpochDays[group];
+  }
+
+  private int indexOf(AgeGroup ageGroup) {
+    for (int i = 0; i < ageGroups.length; i++) {
+      if (ageGroups[i] == ageGroup) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Age group " + ageGroup + " is not part of the season.");
+  }
+}
@@ -1,8 +1,11 @@
 package soccerteam;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.stream.Stream;
 
 /**
  * This interface represents the operations offered by teams. Users add players and make team from
@@ -12,6 +15,17 @@ public interface Team {
   public void addPlayer(String firstName, String lastName, LocalDate dateOfBirth,
       Position preferredPosition, int skillLevel) throws IllegalArgumentException;
 
+  /**
+   * check if a player with the same names and birthdate is in the team. Players dropped to make
+   * room for others are no longer in the team.
+   *
+   * @param firstName   a string representing a player's first name.
+   * @param lastName    a string representing a player's last name.
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   * @return true if the player has been added and not dropped.
+   */
+  public boolean hasPlayer(String firstName, String lastName, LocalDate dateOfBirth);
+
   /**
    * create a team, containing all players added in. In this team, jersey numbers are assigned but
    * positionInTeam is not determined.
@@ -20,6 +34,13 @@ public interface Team {
    */
   public void makeTeam() throws IllegalArgumentException;
 
+  /**
+   * a getter tells if jersey numbers have been assigned by makeTeam, e.g. before a restart.
+   *
+   * @return true if the team has been made.
+   */
+  public boolean isTeamCreated();
+
   /**
    * a getter provides a string displaying players' information in the team.
    *
@@ -27,12 +48,56 @@ public interface Team {
    */
   public String getTeam();
 
+  /**
+   * a getter provides the players of the team ordered by names and birthday, e.g. for a table
+   * showing one row per player. Unlike getTeam, the team is not made first, so players have no
+   * jersey number until makeTeam is called.
+   *
+   * @return a read-only list of the players.
+   */
+  public List<Player> getPlayers();
+
+  /**
+   * read the players a query keeps, in the order of the query. The stream is lazy: players are
+   * read only as far as it is consumed, so query(q).limit(20) reads about 20 players whatever the
+   * size of the team. Pages are read with skip and limit, or with a cursor made by
+   * PlayerQuery.after. Like getPlayers, the team is not made first.
+   *
+   * @param query the order, filters and cursor of the players to read.
+   * @return a lazy stream of the players.
+   */
+  public Stream<Player> query(PlayerQuery query);
+
+  /**
+   * a getter provides the player wearing a jersey number, e.g. to check if the number is taken.
+   *
+   * @param jerseyNumber the jersey number.
+   * @return the player, or null if no player has the number.
+   */
+  public Player getPlayerByJerseyNumber(int jerseyNumber);
+
+  /**
+   * a getter provides the players preferring a position, ordered by names and birthday.
+   *
+   * @param position the preferred position.
+   * @return a read-only list of the players.
+   * @throws IllegalArgumentException if the position is null.
+   */
+  public List<Player> getPlayersByPosition(Position position) throws IllegalArgumentException;
+
+  /**
+   * a getter provides the players born in a year, oldest first.
+   *
+   * @param year the year of birth.
+   * @return a read-only list of the players.
+   */
+  public List<Player> getPlayersBornIn(int year);
+
   /**
    * a getter provides a string displaying players in the lineUP. a private function makeLine is
-   * included in this function. players are reordered by skill levels, then assign to their
-   * preferred positions. If preferred position is full, add the player to a wait list. If lineUp
-   * still has slots for different positions, adding players from the wait list, regardless their
-   * preferred position.
+   * included in this function. players are reordered by skill levels and handed to a lineUp
+   * engine, which fills the slots of each position. By default the lineUp with the highest total
+   * skill level is picked, where playing out of the preferred position costs skill levels.
    *
    * @return a string representing players in each enum position.
    */
@@ -45,4 +110,29 @@ public interface Team {
    * @return a string displaying players' information in the bench.
    */
   public String getBench();
+
+  /**
+   * write the text of getTeam into an Appendable, e.g. a Writer, without building the whole string.
+   * The team is created first if it has not been created yet.
+   *
+   * @param out the destination of the text.
+   * @throws IOException if the destination fails.
+   */
+  public void renderTeam(Appendable out) throws IOException;
+
+  /**
+   * write the text of getLineUp into an Appendable without building the whole string.
+   *
+   * @param out the destination of the text.
+   * @throws IOException if the destination fails.
+   */
+  public void renderLineUp(Appendable out) throws IOException;
+
+  /**
+   * write the text of getBench into an Appendable without building the whole string.
+   *
+   * @param out the destination of the text.
+   * @throws IOException if the destination fails.
+   */
+  public void renderBench(Appendable out) throws IOException;
 }
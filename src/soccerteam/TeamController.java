@@ -1,10 +1,10 @@
 package soccerteam;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Objects;
-import java.util.TreeSet;
 
 /**
  * This class represents the controller of a soccer team management system. It implements the
@@ -12,13 +12,16 @@ import java.util.TreeSet;
  * (Team).
  */
 public class TeamController implements Features {
+  private static final String TEAM_CREATED =
+      "Team has been created, you can't add more players.";
   private TeamDisplay view;
   private final Team model;
-  private int playerCounter = 0;
-  private boolean canCreateTeam = false;
+  private final TeamMetrics metrics;
+  private int playerCounter;
+  private boolean canCreateTeam;
   private boolean lineUpGenerated = false;
-  private final TreeSet<String> uniquePlayerSet = new TreeSet<>();
-  private boolean teamCreated = false;
+  private boolean teamCreated;
+  private int rejectionCount = 0;
 
   /**
    * Constructs a new TeamController with the provided view and model.
@@ -27,11 +30,38 @@ public class TeamController implements Features {
    * @param model The model representing the soccer team.
    */
   public TeamController(TeamDisplay view, Team model) {
+    this(view, model, TeamMetrics.getDefault());
+  }
+
+  /**
+   * Constructs a new TeamController counting rejected registrations in the given metrics. The
+   * controller starts from the state of the model, e.g. a team restored from its journal.
+   *
+   * @param view    The view component to display the application.
+   * @param model   The model representing the soccer team.
+   * @param metrics The metrics counting rejections and shown by displayMetrics.
+   */
+  public TeamController(TeamDisplay view, Team model, TeamMetrics metrics) {
     this.view = view;
     this.model = model;
+    this.metrics = metrics;
+    this.teamCreated = model.isTeamCreated();
+    this.canCreateTeam = teamCreated;
+    this.playerCounter = model.getPlayers().size();
     view.displayPlayerMessage("Make your U-10 soccer team: ");
   }
 
+  /**
+   * A helper function that shows why a registration was rejected and counts it under that reason.
+   *
+   * @param problem the reason of the rejection.
+   */
+  private void reject(String problem) {
+    rejectionCount++;
+    metrics.countRejection(problem);
+    view.displayPlayerMessage(problem);
+  }
+
   /**
    * A helper function to decide if exceptions are reported.
    *
@@ -44,45 +74,30 @@ public class TeamController implements Features {
    */
   protected boolean isInputValid(String firstName, String lastName, String dateOfBirthStr,
       Object preferredPositionObj, Object skillLevelObj) {
-    if (firstName.isEmpty() || lastName.isEmpty() || dateOfBirthStr.isEmpty()
-        || preferredPositionObj == null || Objects.equals(skillLevelObj.toString(), "")) {
-      view.displayPlayerMessage("Please input complete player information.");
-      return false;
-    }
-
-    try {
-      LocalDate.parse(dateOfBirthStr, DateTimeFormatter.ISO_LOCAL_DATE);
-    } catch (DateTimeParseException e) {
-      view.displayPlayerMessage("Invalid date format. Please use the format: yyyy-MM-dd.");
-      return false;
-    }
-
-    boolean positionIsValid = false;
-    for (Position position : Position.values()) {
-      if (position.equals(preferredPositionObj)) {
-        positionIsValid = true;
-        break;
-      }
-    }
-    if (!positionIsValid) {
-      view.displayPlayerMessage("Please input a valid position.");
-      return false;
-    }
-
-    try {
-      Integer.parseInt(skillLevelObj.toString());
-    } catch (IllegalArgumentException e) {
-      view.displayPlayerMessage("Invalid skill level.");
+    String problem = PlayerValidator.validate(firstName, lastName, dateOfBirthStr,
+        preferredPositionObj, skillLevelObj);
+    if (problem != null) {
+      reject(problem);
       return false;
     }
     return true;
   }
 
+  /**
+   * A getter provides the number of players and teams this controller refused to add or make,
+   * e.g. so that a script can tell if all its commands were run.
+   *
+   * @return the number of refused commands.
+   */
+  int getRejectionCount() {
+    return this.rejectionCount;
+  }
+
   @Override public void addPlayers(String firstName, String lastName, String dateOfBirthStr,
       Object preferredPositionObj, Object skillLevelObj) {
 
     if (teamCreated) {
-      view.displayPlayerMessage("Team has been created, you can't add more players.");
+      reject(TEAM_CREATED);
       return;
     }
 
@@ -94,28 +109,52 @@ public class TeamController implements Features {
     Position preferredPosition = Position.valueOf(preferredPositionObj.toString());
     int skillLevel = Integer.parseInt(skillLevelObj.toString());
 
-    String playerIdentifier = firstName + " " + lastName + " " + dateOfBirth;
-
-    if (!uniquePlayerSet.contains(playerIdentifier)) {
+    if (!model.hasPlayer(firstName, lastName, dateOfBirth)) {
       try {
         model.addPlayer(firstName, lastName, dateOfBirth, preferredPosition, skillLevel);
-        uniquePlayerSet.add(playerIdentifier);
         playerCounter++;
         view.displayPlayerMessage(
             "Player added: " + firstName + " " + lastName + "\n" + playerCounter
                 + " Players added");
       } catch (IllegalArgumentException e) {
+        rejectionCount++;
+        metrics.countRejection(e.getMessage());
         view.displayPlayerMessage("Add failed! " + e.getMessage());
       }
     } else {
-      view.displayPlayerMessage(
-          "This player has already been added. Please confirm and try again.");
+      reject("This player has already been added. Please confirm and try again.");
     }
     view.resetAllInputs();
   }
 
+  /**
+   * Import the players of a CSV or JSON lines roster into the team. Like addPlayers, this is
+   * refused once the team has been created. Every rejected row counts as a refused command.
+   *
+   * @param in         the roster text.
+   * @param rejections the report receiving one "line,reason" row per rejected row.
+   * @param jsonLines  true if the roster holds JSON lines, false if it holds CSV.
+   * @return a summary of the import, or null if the import was refused.
+   * @throws IOException if reading or writing fails.
+   */
+  ImportReport importPlayers(Reader in, Writer rejections, boolean jsonLines)
+      throws IOException {
+    if (teamCreated) {
+      reject(TEAM_CREATED);
+      return null;
+    }
+    RosterImporter importer = new RosterImporter(model);
+    importer.setMetrics(metrics);
+    ImportReport report = jsonLines ? importer.importJsonLines(in, rejections)
+        : importer.importCsv(in, rejections);
+    playerCounter += (int) report.getPlayersAdded();
+    rejectionCount += (int) report.getRowsRejected();
+    return report;
+  }
+
   @Override public void createTeam() {
     if (teamCreated) {
+      rejectionCount++;
       view.displayTeam("", "You can't regenerate the team.");
       return;
     }
@@ -126,6 +165,7 @@ public class TeamController implements Features {
       canCreateTeam = true;
       teamCreated = true;
     } catch (IllegalArgumentException e) {
+      rejectionCount++;
       view.displayTeam("", e.getMessage());
       teamCreated = false;
     }
@@ -133,9 +173,8 @@ public class TeamController implements Features {
 
   @Override public void displayTeamPlayers() {
     if (canCreateTeam) {
-      String teamInfo = model.getTeam();
       String teamNote = "Team: ";
-      view.displayTeam(teamInfo, teamNote);
+      view.displayRoster(model, teamNote);
     } else {
       view.displayTeam("", "Please create a team before trying to display it.");
     }
@@ -167,6 +206,10 @@ public class TeamController implements Features {
     }
   }
 
+  @Override public void displayMetrics() {
+    view.displayMetrics(metrics.dump(), "Metrics: ");
+  }
+
   @Override public void resetInformation() {
     view.resetAllInputs();
     view.displayPlayerMessage("Player Registration Cancelled.");
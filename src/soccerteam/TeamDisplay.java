@@ -1,5 +1,6 @@
 package soccerteam;
 
+
 /**
  * This interface represents the view component in a soccer team management system. It defines
  * methods for displaying and updating the user interface, allowing users to interact with the
@@ -39,6 +40,16 @@ public interface TeamDisplay {
    */
   void displayTeam(String team, String notification);
 
+  /**
+   * Displays the players of the team one by one along with a notification, e.g. as rows of a
+   * table that can be sorted and filtered. A display following the roster through a
+   * RosterListener only shows the rows it already holds; others read the team before returning.
+   *
+   * @param team         the team whose players are shown.
+   * @param notification a message to display alongside the players.
+   */
+  void displayRoster(Team team, String notification);
+
   /**
    * Displays the starting lineup along with a notification.
    *
@@ -55,6 +66,14 @@ public interface TeamDisplay {
    */
   void displayBench(String bench, String notification);
 
+  /**
+   * Displays the metrics of the team operations along with a notification.
+   *
+   * @param metrics      the text of the counters and latencies.
+   * @param notification a message to display alongside the metrics.
+   */
+  void displayMetrics(String metrics, String notification);
+
   /**
    * Switches the user interface to the Add Player panel.
    */
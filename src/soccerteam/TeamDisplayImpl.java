@@ -10,19 +10,31 @@ import java.awt.CardLayout;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridLayout;
+import java.util.regex.Pattern;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
+import javax.swing.RowFilter;
 import javax.swing.SwingConstants;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.TableRowSorter;
 
 /**
  * This class represents the implementation of the TeamDisplay interface for a soccer team
  * management system. It extends JFrame to provide a graphical user interface that allows users to
  * interact with the system, manage teams, and display team information.
+ *
+ * <p>The team is shown in a table over a PlayerTableModel, so only the rows on screen are painted
+ * however large the roster is. Clicking a column header sorts by that column, and the filter field
+ * keeps the rows whose chosen column contains the typed text. The lineUp, the bench and the
+ * metrics are short and stay plain text.
  */
 public class TeamDisplayImpl extends JFrame implements TeamDisplay {
   private final JLabel teamDisplayLabel;
@@ -35,7 +47,13 @@ public class TeamDisplayImpl extends JFrame implements TeamDisplay {
   private final JButton displayTeamButton;
   private final JButton displayLineUpButton;
   private final JButton displayBenchButton;
+  private final JButton displayMetricsButton;
   private final JTextArea teamInfoArea;
+  private final JPanel teamInfoPanel;
+  private final PlayerTableModel rosterModel;
+  private final TableRowSorter<PlayerTableModel> rosterSorter;
+  private final JTextField rosterFilterField;
+  private final JComboBox<String> rosterFilterColumnCombo;
   private final JTextField firstNameField;
   private final JTextField lastNameField;
   private final JTextField dateOfBirthField;
@@ -50,7 +68,25 @@ public class TeamDisplayImpl extends JFrame implements TeamDisplay {
    * @param title the title of the JFrame window.
    */
   public TeamDisplayImpl(String title) {
+    this(title, new PlayerTableModel());
+  }
+
+  /**
+   * Constructs a new TeamDisplayImpl showing the team in the given table model. The model should
+   * be added as a RosterListener of the team once, and keeps the table up to date as players are
+   * added and dropped.
+   *
+   * @param title       the title of the JFrame window.
+   * @param rosterModel the table model holding the players of the team.
+   * @throws IllegalArgumentException if the table model is null.
+   */
+  public TeamDisplayImpl(String title, PlayerTableModel rosterModel)
+      throws IllegalArgumentException {
     super(title);
+    if (rosterModel == null) {
+      throw new IllegalArgumentException("Table model must not be null.");
+    }
+    this.rosterModel = rosterModel;
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     // create the main panel
     mainPanel = new JPanel(new CardLayout());
@@ -126,14 +162,56 @@ public class TeamDisplayImpl extends JFrame implements TeamDisplay {
     teamInfoArea.setLineWrap(true);
     teamInfoArea.setWrapStyleWord(true);
 
+    // create a table to display the players, sorted by clicking a header
+    JTable rosterTable = new JTable(rosterModel);
+    rosterSorter = new TableRowSorter<>(rosterModel);
+    rosterTable.setRowSorter(rosterSorter);
+    rosterTable.setFillsViewportHeight(true);
+
+    // create a filter keeping the rows whose chosen column contains the text
+    rosterFilterField = new JTextField();
+    String[] filterColumns = new String[rosterModel.getColumnCount() + 1];
+    filterColumns[0] = "Any Column";
+    for (int column = 0; column < rosterModel.getColumnCount(); column++) {
+      filterColumns[column + 1] = rosterModel.getColumnName(column);
+    }
+    rosterFilterColumnCombo = new JComboBox<>(filterColumns);
+    rosterFilterField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override public void insertUpdate(DocumentEvent e) {
+        filterRoster();
+      }
+
+      @Override public void removeUpdate(DocumentEvent e) {
+        filterRoster();
+      }
+
+      @Override public void changedUpdate(DocumentEvent e) {
+        filterRoster();
+      }
+    });
+    rosterFilterColumnCombo.addActionListener(evt -> filterRoster());
+    JPanel rosterFilterPanel = new JPanel(new BorderLayout());
+    rosterFilterPanel.add(new JLabel("Filter: "), BorderLayout.WEST);
+    rosterFilterPanel.add(rosterFilterField, BorderLayout.CENTER);
+    rosterFilterPanel.add(rosterFilterColumnCombo, BorderLayout.EAST);
+    JPanel rosterPanel = new JPanel(new BorderLayout());
+    rosterPanel.add(rosterFilterPanel, BorderLayout.NORTH);
+    rosterPanel.add(new JScrollPane(rosterTable), BorderLayout.CENTER);
+
+    // switch between the text and the table in the same place
+    teamInfoPanel = new JPanel(new CardLayout());
+    teamInfoPanel.add(new JScrollPane(teamInfoArea), "text");
+    teamInfoPanel.add(rosterPanel, "roster");
+
     // create another panel to display team information
     JPanel teamLayoutPanel = new JPanel(new BorderLayout());
-    teamLayoutPanel.add(teamInfoArea, BorderLayout.CENTER);
+    teamLayoutPanel.add(teamInfoPanel, BorderLayout.CENTER);
 
     createTeamButton = new JButton("Create_Team");
     displayTeamButton = new JButton("Display_Team");
     displayLineUpButton = new JButton("Display_LineUp");
     displayBenchButton = new JButton("Display_Bench");
+    displayMetricsButton = new JButton("Display_Metrics");
 
     // create displayPanel at the top
     JPanel displayTeamPanel = new JPanel(new BorderLayout());
@@ -143,12 +221,13 @@ public class TeamDisplayImpl extends JFrame implements TeamDisplay {
     teamDisplayLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
     // create buttons display panel and add buttons in
-    JPanel displayTeamButtonsPanel = new JPanel(new GridLayout(1, 4));
+    JPanel displayTeamButtonsPanel = new JPanel(new GridLayout(1, 5));
     displayTeamButtonsPanel.add(createTeamButton);
     displayTeamPanel.add(displayTeamButtonsPanel, BorderLayout.SOUTH);
     displayTeamButtonsPanel.add(displayTeamButton);
     displayTeamButtonsPanel.add(displayLineUpButton);
     displayTeamButtonsPanel.add(displayBenchButton);
+    displayTeamButtonsPanel.add(displayMetricsButton);
 
     JButton addPlayersButton = new JButton("Go to add players");
     JButton displayButton = new JButton("Go to display the team");
@@ -201,6 +280,7 @@ public class TeamDisplayImpl extends JFrame implements TeamDisplay {
     displayTeamButton.addActionListener(evt -> features.displayTeamPlayers());
     displayLineUpButton.addActionListener(evt -> features.displayStartingLineup());
     displayBenchButton.addActionListener(evt -> features.displayBench());
+    displayMetricsButton.addActionListener(evt -> features.displayMetrics());
     exitButton.addActionListener(evt -> features.exit());
   }
 
@@ -222,18 +302,55 @@ public class TeamDisplayImpl extends JFrame implements TeamDisplay {
   }
 
   @Override public void displayTeam(String team, String notification) {
+    displayText(team, notification);
+  }
+
+  /**
+   * the table model follows the roster as a RosterListener of the team, so only the card is
+   * switched and no row is rebuilt.
+   */
+  @Override public void displayRoster(Team team, String notification) {
     teamDisplayLabel.setText(notification);
-    teamInfoArea.setText(team);
+    CardLayout cl = (CardLayout) teamInfoPanel.getLayout();
+    cl.show(teamInfoPanel, "roster");
   }
 
   @Override public void displayLineUp(String lineUp, String notification) {
-    teamDisplayLabel.setText(notification);
-    teamInfoArea.setText(lineUp);
+    displayText(lineUp, notification);
   }
 
   @Override public void displayBench(String bench, String notification) {
+    displayText(bench, notification);
+  }
+
+  @Override public void displayMetrics(String metrics, String notification) {
+    displayText(metrics, notification);
+  }
+
+  /**
+   * A helper function that shows a text in place of the table.
+   */
+  private void displayText(String text, String notification) {
     teamDisplayLabel.setText(notification);
-    teamInfoArea.setText(bench);
+    teamInfoArea.setText(text);
+    CardLayout cl = (CardLayout) teamInfoPanel.getLayout();
+    cl.show(teamInfoPanel, "text");
+  }
+
+  /**
+   * A helper function that keeps the rows whose chosen column contains the text of the filter
+   * field, ignoring case.
+   */
+  private void filterRoster() {
+    String text = rosterFilterField.getText();
+    if (text.isEmpty()) {
+      rosterSorter.setRowFilter(null);
+      return;
+    }
+    String regex = "(?iu)" + Pattern.quote(text);
+    int column = rosterFilterColumnCombo.getSelectedIndex() - 1;
+    rosterSorter.setRowFilter(column < 0 ? RowFilter.regexFilter(regex)
+        : RowFilter.regexFilter(regex, column));
   }
 
   @Override public void switchToAddPlayerPanel() {
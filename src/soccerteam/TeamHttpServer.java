@@ -0,0 +1,390 @@
+package soccerteam;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * This class serves the teams of a league over HTTP with JSON bodies, so many coaches can register
+ * players and read their teams at the same time. It uses the HTTP server built into the JDK, and
+ * every request is handled on its own virtual thread (a pooled daemon thread before Java 21).
+ * Requests to different teams run in parallel; requests to one team take turns on its lock.
+ *
+ * <pre>
+ * GET  /teams                          list the registered teams
+ * PUT  /teams/{club}/{ageGroup}        register a team
+ * POST /teams/{club}/{ageGroup}/players add a player, e.g. {"firstName":"Ada","lastName":"Lee",
+ *                                      "dateOfBirth":"2016-04-01","preferredPosition":"GOALIE",
+ *                                      "skillLevel":3}
+ * GET  /teams/{club}/{ageGroup}/players list the players, or only those found by ?position=GOALIE,
+ *                                      ?jerseyNumber=7 or ?bornIn=2016
+ * POST /teams/{club}/{ageGroup}/team   make the team
+ * GET  /teams/{club}/{ageGroup}/team   show the team, its /lineup or its /bench
+ * </pre>
+ *
+ * <p>Answers are JSON objects; failures carry their message as "error". Rejected players are
+ * counted in the default metrics like the ones rejected by the TeamController.
+ *
+ * <p>The JDK server writes the headers and the body of an answer apart, so without TCP_NODELAY the
+ * body waits for the client's delayed ACK, about 40 ms per request. main turns it on; a launcher
+ * embedding the server should set the system property sun.net.httpserver.nodelay to true before
+ * the first server is created.
+ */
+public final class TeamHttpServer implements Closeable {
+  private static final int DEFAULT_PORT = 8080;
+  private static final int BACKLOG = 4096;
+  private static final int MAXIMUM_BODY = 16 * 1024;
+  private static final String DUPLICATE =
+      "This player has already been added. Please confirm and try again.";
+  private static final String TEAM_CREATED =
+      "Team has been created, you can't add more players.";
+  private final League league;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  /**
+   * Constructs a new TeamHttpServer bound to the given address. It answers once start is called.
+   *
+   * @param league  the league whose teams are served.
+   * @param address the address to listen on; port 0 picks a free port.
+   * @throws IOException              if the address cannot be bound.
+   * @throws IllegalArgumentException if the league is null.
+   */
+  public TeamHttpServer(League league, InetSocketAddress address)
+      throws IOException, IllegalArgumentException {
+    if (league == null) {
+      throw new IllegalArgumentException("League must not be null.");
+    }
+    this.league = league;
+    this.server = HttpServer.create(address, BACKLOG);
+    this.executor = VirtualThreads.newThreadPerTaskExecutor("team-http");
+    server.setExecutor(executor);
+    server.createContext("/teams", this::handle);
+  }
+
+  /**
+   * Serve a new league on localhost.
+   *
+   * @param args the port, 8080 if not given.
+   * @throws IOException if the port cannot be bound.
+   */
+  public static void main(String[] args) throws IOException {
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    TeamHttpServer server = new TeamHttpServer(LeagueImpl.withTeamRules(),
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    server.start();
+    System.out.println("Serving teams on http://localhost:" + server.getPort() + "/teams");
+  }
+
+  /**
+   * start answering requests.
+   */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * a getter provides the port the server listens on.
+   *
+   * @return the port.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * stop answering requests. Requests being handled are given a second to finish.
+   */
+  @Override public void close() {
+    server.stop(1);
+    executor.shutdownNow();
+  }
+
+  /**
+   * a helper function that answers one request. Unexpected failures are answered with status 500,
+   * without their details, so the client is never left waiting.
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    Reply reply;
+    try {
+      reply = route(exchange);
+    } catch (RuntimeException e) {
+      reply = Reply.error(500, "Internal error.");
+    }
+    try {
+      byte[] body = reply.body.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+      exchange.sendResponseHeaders(reply.status, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private Reply route(HttpExchange exchange) throws IOException {
+    String method = exchange.getRequestMethod();
+    List<String> path;
+    try {
+      path = segments(exchange.getRequestURI().getRawPath());
+    } catch (IllegalArgumentException e) {
+      return Reply.error(400, "The path holds a malformed escape.");
+    }
+    if (path.isEmpty() || !"teams".equals(path.get(0))) {
+      return Reply.error(404, "Unknown path.");
+    }
+    if (path.size() == 1) {
+      return "GET".equals(method) ? listTeams() : Reply.error(405, "Use GET.");
+    }
+    if (path.size() != 3 && path.size() != 4) {
+      return Reply.error(404, "Unknown path.");
+    }
+    String club = path.get(1);
+    String ageGroup = path.get(2);
+    try {
+      if (path.size() == 3) {
+        if (!"PUT".equals(method)) {
+          return Reply.error(405, "Use PUT.");
+        }
+        league.registerTeam(club, ageGroup);
+        return teamKey(201, club, ageGroup);
+      }
+      league.getTeam(club, ageGroup);
+    } catch (IllegalArgumentException e) {
+      return Reply.error(path.size() == 3 ? 400 : 404, e.getMessage());
+    }
+    switch (path.get(3) + " " + method) {
+      case "players POST":
+        return addPlayer(club, ageGroup, exchange);
+      case "players GET":
+        return findPlayers(club, ageGroup, exchange.getRequestURI().getRawQuery());
+      case "team POST":
+        return makeTeam(club, ageGroup);
+      case "team GET":
+        return show(club, ageGroup, "team", Team::getTeam);
+      case "lineup GET":
+        return show(club, ageGroup, "lineUp", Team::getLineUp);
+      case "bench GET":
+        return show(club, ageGroup, "bench", Team::getBench);
+      default:
+        return Reply.error(404, "Unknown path or method.");
+    }
+  }
+
+  private Reply listTeams() {
+    StringBuilder body = new StringBuilder("{\"teams\":[");
+    boolean first = true;
+    for (TeamKey key : league.getTeamKeys()) {
+      body.append(first ? "" : ",").append("{\"club\":");
+      FlatJson.quote(body, key.getClub()).append(",\"ageGroup\":");
+      FlatJson.quote(body, key.getAgeGroup()).append('}');
+      first = false;
+    }
+    return new Reply(200, body.append("]}").toString());
+  }
+
+  private Reply addPlayer(String club, String ageGroup, HttpExchange exchange)
+      throws IOException {
+    byte[] bytes = exchange.getRequestBody().readNBytes(MAXIMUM_BODY + 1);
+    if (bytes.length > MAXIMUM_BODY) {
+      return Reply.error(413, "The player is too large.");
+    }
+    Map<String, String> fields;
+    try {
+      fields = FlatJson.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      return Reply.error(400, e.getMessage());
+    }
+    String firstName = fields.get("firstName");
+    String lastName = fields.get("lastName");
+    String dateOfBirthStr = fields.get("dateOfBirth");
+    Object preferredPosition = PlayerValidator.toPosition(fields.get("preferredPosition"));
+    String skillLevelStr = fields.get("skillLevel");
+    String problem = PlayerValidator.validate(firstName, lastName, dateOfBirthStr,
+        preferredPosition, skillLevelStr);
+    if (problem != null) {
+      return reject(problem);
+    }
+    LocalDate dateOfBirth = LocalDate.parse(dateOfBirthStr, DateTimeFormatter.ISO_LOCAL_DATE);
+    int skillLevel = Integer.parseInt(skillLevelStr);
+    try {
+      String refused = league.withTeam(club, ageGroup, team -> {
+        if (team.isTeamCreated()) {
+          return TEAM_CREATED;
+        }
+        if (team.hasPlayer(firstName, lastName, dateOfBirth)) {
+          return DUPLICATE;
+        }
+        team.addPlayer(firstName, lastName, dateOfBirth, (Position) preferredPosition,
+            skillLevel);
+        return null;
+      });
+      return refused == null ? teamKey(201, club, ageGroup) : reject(409, refused);
+    } catch (IllegalArgumentException e) {
+      return reject(e.getMessage());
+    }
+  }
+
+  /**
+   * a helper function that answers a lookup through the indexes of the team: the jersey number in
+   * O(1), the position and the birth year in O(log n) plus the players found.
+   */
+  private Reply findPlayers(String club, String ageGroup, String rawQuery) {
+    Map<String, String> parameters = new HashMap<>();
+    if (rawQuery != null) {
+      try {
+        for (String parameter : rawQuery.split("&")) {
+          int equals = parameter.indexOf('=');
+          if (equals > 0) {
+            String name = URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8);
+            String value = URLDecoder.decode(parameter.substring(equals + 1),
+                StandardCharsets.UTF_8);
+            parameters.put(name, value);
+          }
+        }
+      } catch (IllegalArgumentException e) {
+        return Reply.error(400, "The query holds a malformed escape.");
+      }
+    }
+    Function<Team, List<Player>> lookup;
+    try {
+      if (parameters.containsKey("jerseyNumber")) {
+        int jerseyNumber = Integer.parseInt(parameters.get("jerseyNumber"));
+        lookup = team -> {
+          Player player = team.getPlayerByJerseyNumber(jerseyNumber);
+          return player == null ? List.of() : List.of(player);
+        };
+      } else if (parameters.containsKey("position")) {
+        Object position = PlayerValidator.toPosition(parameters.get("position"));
+        if (!(position instanceof Position)) {
+          return Reply.error(400, "Please input a valid position.");
+        }
+        lookup = team -> team.getPlayersByPosition((Position) position);
+      } else if (parameters.containsKey("bornIn")) {
+        int year = Integer.parseInt(parameters.get("bornIn"));
+        lookup = team -> team.getPlayersBornIn(year);
+      } else {
+        lookup = Team::getPlayers;
+      }
+    } catch (NumberFormatException e) {
+      return Reply.error(400, "Jersey numbers and years must be whole numbers.");
+    }
+    // players are written while the team is locked, as makeTeam may change their numbers
+    return new Reply(200, league.withTeam(club, ageGroup, team -> playersJson(lookup.apply(team))));
+  }
+
+  private static String playersJson(List<Player> players) {
+    StringBuilder body = new StringBuilder("{\"players\":[");
+    for (int i = 0; i < players.size(); i++) {
+      Player player = players.get(i);
+      body.append(i == 0 ? "" : ",").append("{\"firstName\":");
+      FlatJson.quote(body, player.getFirstName()).append(",\"lastName\":");
+      FlatJson.quote(body, player.getLastName()).append(",\"dateOfBirth\":\"")
+          .append(player.getDateOfBirth()).append("\",\"preferredPosition\":\"")
+          .append(player.getPreferredPosition()).append("\",\"skillLevel\":")
+          .append(player.getSkillLevel());
+      if (player.getJerseyNumber() > 0) {
+        body.append(",\"jerseyNumber\":").append(player.getJerseyNumber());
+      }
+      body.append('}');
+    }
+    return body.append("]}").toString();
+  }
+
+  private Reply makeTeam(String club, String ageGroup) {
+    try {
+      league.withTeam(club, ageGroup, team -> {
+        team.makeTeam();
+        return null;
+      });
+      return teamKey(200, club, ageGroup);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return Reply.error(409, e.getMessage());
+    }
+  }
+
+  private Reply show(String club, String ageGroup, String field,
+      Function<Team, String> text) {
+    String value;
+    try {
+      value = league.withTeam(club, ageGroup, text);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return Reply.error(409, e.getMessage());
+    }
+    StringBuilder body = new StringBuilder("{");
+    FlatJson.quote(body, field).append(':');
+    FlatJson.quote(body, value).append('}');
+    return new Reply(200, body.toString());
+  }
+
+  private static Reply reject(String problem) {
+    return reject(400, problem);
+  }
+
+  private static Reply reject(int status, String problem) {
+    TeamMetrics.getDefault().countRejection(problem);
+    return Reply.error(status, problem);
+  }
+
+  private static Reply teamKey(int status, String club, String ageGroup) {
+    StringBuilder body = new StringBuilder("{\"club\":");
+    FlatJson.quote(body, club).append(",\"ageGroup\":");
+    FlatJson.quote(body, ageGroup).append('}');
+    return new Reply(status, body.toString());
+  }
+
+  /**
+   * a helper function that splits a path into its decoded segments, e.g. "/teams/FC%20A/U10" into
+   * "teams", "FC A" and "U10". Segments are decoded as URI paths, so "+" stays a plus sign and an
+   * escaped "/" stays inside its segment.
+   *
+   * @throws IllegalArgumentException if a segment holds a malformed escape.
+   */
+  private static List<String> segments(String rawPath) throws IllegalArgumentException {
+    List<String> segments = new ArrayList<>();
+    for (String segment : rawPath.split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(URI.create("/" + segment).getPath().substring(1));
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * the status and JSON body of an answer.
+   */
+  private static final class Reply {
+    private final int status;
+    private final String body;
+
+    private Reply(int status, String body) {
+      this.status = status;
+      this.body = body;
+    }
+
+    private static Reply error(int status, String message) {
+      StringBuilder body = new StringBuilder("{\"error\":");
+      FlatJson.quote(body, message == null ? "" : message).append('}');
+      return new Reply(status, body.toString());
+    }
+  }
+}
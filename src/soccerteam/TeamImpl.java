@@ -1,13 +1,19 @@
 package soccerteam;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * This class is used to create three categories of soccer teams. team candidate is the big name
@@ -15,20 +21,35 @@ import java.util.TreeSet;
  * included in certain positions. Constants are included.
  */
 public class TeamImpl implements Team {
-  private static final int MAXIMUM_NUMBER = 20;
-  private static final int MINIMUM_NUMBER = 10;
-  private static final int GOALIE_SLOTS = 1;
-  private static final int DEFENDER_SLOTS = 2;
-  private static final int MIDFIELDER_SLOTS = 3;
-  private static final int FORWARD_SLOTS = 1;
   private static final Comparator<Player> PLAYER_COMPARATOR =
-      Comparator.comparing(Player::getLastName)
-          .thenComparing(Player::getFirstName)
-          .thenComparing(Player::getDateOfBirth);
+      PlayerQuery.Order.NAME.getComparator();
+  private final TeamRules rules;
+  private final int maximumNumber;
+  private final LineUpEngine lineUpEngine;
+  private final SeasonEligibility eligibility; // null to count ages on the day of each addition
+  private final AgeGroup ageGroup;
+  private final JerseyAllocator jerseyAllocator;
   private final TreeSet<Player> candidate;
+  private final PlayerIndex candidateIndex = new PlayerIndex();
+  private final List<TreeSet<Player>> candidateBySkill;
+  private final Player[] candidateByJerseyNumber;
+  private final Map<Position, TreeSet<Player>> candidateByPosition;
+  private final TreeMap<Integer, TreeSet<Player>> candidateByBirthYear = new TreeMap<>();
   private final Map<Position, TreeSet<Player>> lineUp;
   private final TreeSet<Player> bench;
   private boolean teamCreated = false;
+  private long rosterVersion = 0;
+  private long lineUpVersion = -1;
+  private long benchVersion = -1;
+  private String teamInfo;
+  private long teamInfoVersion = -1;
+  private String lineUpInfo;
+  private long lineUpInfoVersion = -1;
+  private String benchInfo;
+  private long benchInfoVersion = -1;
+  private final StringBuilder renderBuffer = new StringBuilder();
+  private final List<RosterListener> listeners = new ArrayList<>();
+  private TeamMetrics metrics = TeamMetrics.getDefault();
 
   /**
    * a constructor to create required teams. team candidate uses TreeSet as players are ordered by
@@ -37,190 +58,710 @@ public class TeamImpl implements Team {
    * ordered by name.
    */
   public TeamImpl() {
-    this.candidate = new TreeSet<>(
-        Comparator.comparing(Player::getLastName).thenComparing(Player::getFirstName)
-            .thenComparing(Player::getDateOfBirth));
+    this(TeamRules.SEVEN_A_SIDE.getMaximumPlayers());
+  }
+
+  /**
+   * a constructor to create teams playing by the given rules, holding as many players as the rules
+   * allow. Ages are counted on the day each player is added.
+   *
+   * @param rules the formation, roster bounds and age group of the team.
+   * @throws IllegalArgumentException if the rules are null.
+   */
+  public TeamImpl(TeamRules rules) throws IllegalArgumentException {
+    this(checkRules(rules).getMaximumPlayers(), new OptimalLineUpEngine(), null,
+        rules.getAgeGroup(), new JerseyAllocator(rules.getMaximumPlayers()), rules);
+  }
+
+  /**
+   * a constructor to create teams playing by the given rules in a season, e.g. the teams of one
+   * age group of a league, all sharing the same rules and season.
+   *
+   * @param rules        the formation, roster bounds and age group of the team.
+   * @param lineUpEngine the engine picking the lineUp.
+   * @param eligibility  the season the age is counted in.
+   * @throws IllegalArgumentException if the rules, engine or season is null, or the season does
+   *                                  not hold the age group of the rules.
+   */
+  public TeamImpl(TeamRules rules, LineUpEngine lineUpEngine, SeasonEligibility eligibility)
+      throws IllegalArgumentException {
+    this(checkRules(rules).getMaximumPlayers(), lineUpEngine, checkSeason(eligibility),
+        rules.getAgeGroup(), new JerseyAllocator(rules.getMaximumPlayers()), rules);
+  }
+
+  /**
+   * a constructor to create teams holding up to maximumNumber players, e.g. a tryout pool. Besides
+   * candidate, players are indexed by skill level: one TreeSet per level, ordered by names and
+   * birthday like candidate, so the player to drop is the first one of the lowest non-empty level.
+   *
+   * @param maximumNumber the maximum number of players kept in the team.
+   * @throws IllegalArgumentException if maximumNumber is less than the minimum team size.
+   */
+  public TeamImpl(int maximumNumber) throws IllegalArgumentException {
+    this(maximumNumber, new OptimalLineUpEngine());
+  }
+
+  /**
+   * a constructor to create teams whose lineUp is picked by the given engine.
+   *
+   * @param maximumNumber the maximum number of players kept in the team.
+   * @param lineUpEngine  the engine picking the lineUp.
+   * @throws IllegalArgumentException if maximumNumber is less than the minimum team size or the
+   *                                  engine is null.
+   */
+  public TeamImpl(int maximumNumber, LineUpEngine lineUpEngine) throws IllegalArgumentException {
+    this(maximumNumber, lineUpEngine, null, AgeGroup.U10, new JerseyAllocator(maximumNumber),
+        TeamRules.SEVEN_A_SIDE);
+  }
+
+  /**
+   * a constructor to create teams of one age group of a season. Ages of added players are counted
+   * on the reference date of the season instead of the day each player is added.
+   *
+   * @param maximumNumber the maximum number of players kept in the team.
+   * @param lineUpEngine  the engine picking the lineUp.
+   * @param eligibility   the season the age is counted in.
+   * @param ageGroup      the age group players must belong to.
+   * @throws IllegalArgumentException if maximumNumber is less than the minimum team size, the
+   *                                  engine or season is null, or the season does not hold the
+   *                                  age group.
+   */
+  public TeamImpl(int maximumNumber, LineUpEngine lineUpEngine, SeasonEligibility eligibility,
+      AgeGroup ageGroup) throws IllegalArgumentException {
+    this(maximumNumber, lineUpEngine, eligibility, ageGroup, new JerseyAllocator(maximumNumber));
+  }
+
+  /**
+   * a constructor to create teams whose jersey numbers come from the given allocator, e.g. one
+   * with a seed or a range of 1 to 99.
+   *
+   * @param maximumNumber   the maximum number of players kept in the team.
+   * @param lineUpEngine    the engine picking the lineUp.
+   * @param eligibility     the season the age is counted in.
+   * @param ageGroup        the age group players must belong to.
+   * @param jerseyAllocator the allocator of jersey numbers, used by this team only.
+   * @throws IllegalArgumentException if maximumNumber is less than the minimum team size, the
+   *                                  engine, season or allocator is null, the season does not
+   *                                  hold the age group, or the allocator has fewer numbers than
+   *                                  the team has players.
+   */
+  public TeamImpl(int maximumNumber, LineUpEngine lineUpEngine, SeasonEligibility eligibility,
+      AgeGroup ageGroup, JerseyAllocator jerseyAllocator) throws IllegalArgumentException {
+    this(maximumNumber, lineUpEngine, checkSeason(eligibility), ageGroup, jerseyAllocator,
+        TeamRules.SEVEN_A_SIDE);
+  }
+
+  /**
+   * the constructor shared by the public ones. The age group is given apart from the rules, as
+   * older constructors take any age group with the formation of 7-a-side. Without a season, ages
+   * are counted on the day each player is added.
+   */
+  private TeamImpl(int maximumNumber, LineUpEngine lineUpEngine, SeasonEligibility eligibility,
+      AgeGroup ageGroup, JerseyAllocator jerseyAllocator, TeamRules rules)
+      throws IllegalArgumentException {
+    if (jerseyAllocator == null || jerseyAllocator.getCapacity() < maximumNumber) {
+      throw new IllegalArgumentException(
+          "The jersey numbers must be enough for " + maximumNumber + " players.");
+    }
+    if (eligibility != null) {
+      eligibility.maskOf(ageGroup);
+    }
+    if (lineUpEngine == null) {
+      throw new IllegalArgumentException("LineUp engine must not be null.");
+    }
+    if (maximumNumber < rules.getMinimumPlayers()) {
+      throw new IllegalArgumentException("A team should be able to hold at least "
+          + rules.getMinimumPlayers() + " players.");
+    }
+    this.rules = rules;
+    this.maximumNumber = maximumNumber;
+    this.lineUpEngine = lineUpEngine;
+    this.eligibility = eligibility;
+    this.ageGroup = ageGroup;
+    this.jerseyAllocator = jerseyAllocator;
+    this.candidate = new TreeSet<>(PLAYER_COMPARATOR);
+    this.candidateBySkill = new ArrayList<>();
+    for (int i = 0; i <= PlayerImpl.MAXIMUM_SKILL_LEVEL; i++) {
+      candidateBySkill.add(new TreeSet<>(PLAYER_COMPARATOR));
+    }
+    this.candidateByJerseyNumber = new Player[jerseyAllocator.getMaximumNumber() + 1];
+    this.candidateByPosition = new EnumMap<>(Position.class);
+    for (Position position : Position.values()) {
+      candidateByPosition.put(position, new TreeSet<>(PLAYER_COMPARATOR));
+    }
     this.lineUp = new TreeMap<>();
-    this.bench = new TreeSet<>(
-        Comparator.comparing(Player::getLastName).thenComparing(Player::getFirstName)
-            .thenComparing(Player::getDateOfBirth));
+    this.bench = new TreeSet<>(PLAYER_COMPARATOR);
   }
 
   @Override public void addPlayer(String firstName, String lastName, LocalDate dateOfBirth,
       Position preferredPosition, int skillLevel) {
+    if (candidateIndex.contains(firstName, lastName, dateOfBirth)) {
+      return;
+    }
     Player newPlayer = new PlayerImpl(firstName, lastName, dateOfBirth, preferredPosition,
-        skillLevel);
-    candidate.add(newPlayer);
-    if (candidate.size() > MAXIMUM_NUMBER) {
+        skillLevel, eligibility != null ? eligibility : SeasonEligibility.today(ageGroup),
+        ageGroup);
+    index(newPlayer);
+    rosterVersion++;
+    metrics.countRegistration();
+    for (RosterListener listener : listeners) {
+      listener.playerAdded(newPlayer);
+    }
+    if (candidate.size() > maximumNumber) {
       dropPlayer();
     }
+    for (RosterListener listener : listeners) {
+      listener.changeFinished();
+    }
   }
 
   /**
-   * a helper function applied by addPlayer. if there are more than 20 players in the team， the one
-   * with the lowest skill level is dropped.
+   * add a listener told about every later change of the roster.
+   *
+   * @param listener the listener to add.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public void addRosterListener(RosterListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener must not be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * remove a listener added by addRosterListener.
+   *
+   * @param listener the listener to remove.
+   */
+  public void removeRosterListener(RosterListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * set the metrics counting registrations and evictions and timing makeTeam, the lineUp, the
+   * bench and rendering of this team. Teams use the default metrics unless given others.
+   *
+   * @param metrics the metrics to use.
+   * @throws IllegalArgumentException if the metrics are null.
+   */
+  public void setMetrics(TeamMetrics metrics) throws IllegalArgumentException {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Metrics must not be null.");
+    }
+    this.metrics = metrics;
+  }
+
+  /**
+   * check if a player is in the team through the duplicate index, a hash table kept in step with
+   * candidate, so it takes O(1) expected time and builds no string.
+   */
+  @Override public boolean hasPlayer(String firstName, String lastName, LocalDate dateOfBirth) {
+    return candidateIndex.contains(firstName, lastName, dateOfBirth);
+  }
+
+  /**
+   * a helper function applied by addPlayer. if there are more players than the team can hold, the
+   * one with the lowest skill level is dropped. Among players sharing the lowest skill level, the
+   * first one in name order is dropped. It is found through the skill index in O(log n).
    */
   protected void dropPlayer() {
-    Player lowestSkillPlayer = null;
-    for (Player player : candidate) {
-      if (lowestSkillPlayer == null || player.getSkillLevel() < lowestSkillPlayer.getSkillLevel()) {
-        lowestSkillPlayer = player;
+    for (int skillLevel = PlayerImpl.MINIMUM_SKILL_LEVEL;
+        skillLevel <= PlayerImpl.MAXIMUM_SKILL_LEVEL; skillLevel++) {
+      TreeSet<Player> sameSkill = candidateBySkill.get(skillLevel);
+      if (!sameSkill.isEmpty()) {
+        Player lowestSkillPlayer = sameSkill.first();
+        unindex(lowestSkillPlayer);
+        jerseyAllocator.release(lowestSkillPlayer.getJerseyNumber());
+        rosterVersion++;
+        metrics.countEviction();
+        for (RosterListener listener : listeners) {
+          listener.playerDropped(lowestSkillPlayer);
+        }
+        return;
       }
     }
-    if (lowestSkillPlayer != null) {
-      candidate.remove(lowestSkillPlayer);
-    }
   }
 
   @Override public void makeTeam() throws IllegalArgumentException {
-    if (candidate.size() < MINIMUM_NUMBER) {
+    if (candidate.size() < rules.getMinimumPlayers()) {
       throw new IllegalArgumentException(
           "Please add more members to the team. Now we have " + candidate.size() + " players");
     }
-    ArrayList<Integer> jerseyNumberPool = new ArrayList<>();
-    for (int i = 0; i < MAXIMUM_NUMBER; i++) {
-      jerseyNumberPool.add(i + 1);
+    long start = metrics.start();
+    // players keep the numbers they have, unless they asked for another one that is free
+    for (Player player : candidate) {
+      PlayerImpl member = (PlayerImpl) player;
+      int requested = member.getRequestedJerseyNumber();
+      if (requested != 0 && requested != member.getJerseyNumber()
+          && jerseyAllocator.reserve(requested)) {
+        jerseyAllocator.release(member.getJerseyNumber());
+        assignJerseyNumber(member, requested);
+      }
     }
-    Collections.shuffle(jerseyNumberPool);
-
-    Iterator<Player> playerIterator = candidate.iterator();
-    int jerseyNumberIndex = 0;
-    while (playerIterator.hasNext()) {
-      Player player = playerIterator.next();
-      int assignedNumber = jerseyNumberPool.get(jerseyNumberIndex);
-      ((PlayerImpl) player).assignJerseyNumber(assignedNumber);
-      jerseyNumberIndex++;
+    for (Player player : candidate) {
+      if (player.getJerseyNumber() == -1) {
+        assignJerseyNumber((PlayerImpl) player, jerseyAllocator.allocate());
+      }
     }
     teamCreated = true;
+    rosterVersion++;
+    metrics.record(TeamMetrics.Operation.MAKE_TEAM, start);
+    if (!listeners.isEmpty()) {
+      List<Player> players = Collections.unmodifiableList(new ArrayList<>(candidate));
+      for (RosterListener listener : listeners) {
+        listener.teamMade(players);
+      }
+      for (RosterListener listener : listeners) {
+        listener.changeFinished();
+      }
+    }
   }
 
-  @Override public String getTeam() {
-    if (!teamCreated) {
-      makeTeam();
-      teamCreated = true;
+  /**
+   * a helper function that gives a player a jersey number, moving it in the jersey number index.
+   */
+  private void assignJerseyNumber(PlayerImpl player, int jerseyNumber) {
+    clearJerseyNumber(player);
+    player.assignJerseyNumber(jerseyNumber, jerseyAllocator.getMinimumNumber(),
+        jerseyAllocator.getMaximumNumber());
+    candidateByJerseyNumber[jerseyNumber] = player;
+  }
+
+  /**
+   * a helper function that frees the slot of a player's jersey number, unless another player has
+   * already been given the number.
+   */
+  private void clearJerseyNumber(Player player) {
+    int jerseyNumber = player.getJerseyNumber();
+    if (jerseyNumber > 0 && candidateByJerseyNumber[jerseyNumber] == player) {
+      candidateByJerseyNumber[jerseyNumber] = null;
     }
+  }
 
-    StringBuilder teamInfo = new StringBuilder();
-    teamInfo.append("The current team contains:\n");
-    for (Player player : candidate) {
-      teamInfo.append(player.toString());
+  /**
+   * a helper function that puts a player in candidate and in every index of it. A new player has
+   * no jersey number yet, so the jersey number index is filled by assignJerseyNumber.
+   */
+  private void index(Player player) {
+    candidateIndex.add(player);
+    candidate.add(player);
+    candidateBySkill.get(player.getSkillLevel()).add(player);
+    candidateByPosition.get(player.getPreferredPosition()).add(player);
+    candidateByBirthYear.computeIfAbsent(player.getDateOfBirth().getYear(),
+        year -> new TreeSet<>(PlayerQuery.Order.BIRTHDAY.getComparator())).add(player);
+  }
+
+  /**
+   * a helper function that takes a player out of candidate and out of every index of it.
+   */
+  private void unindex(Player player) {
+    candidateIndex.remove(player);
+    candidate.remove(player);
+    candidateBySkill.get(player.getSkillLevel()).remove(player);
+    candidateByPosition.get(player.getPreferredPosition()).remove(player);
+    int year = player.getDateOfBirth().getYear();
+    TreeSet<Player> sameYear = candidateByBirthYear.get(year);
+    sameYear.remove(player);
+    if (sameYear.isEmpty()) {
+      candidateByBirthYear.remove(year);
     }
-    return teamInfo.toString();
+    clearJerseyNumber(player);
   }
 
   /**
-   * a helper function applied by getLineUp. players are reordered by skill levels, then assign to
-   * their preferred positions. If preferred position is full, add the player to a wait list. If
-   * lineUp still has slots for different positions, adding players from the wait list, regardless
-   * their preferred position.
+   * note the jersey number a player asks for. It is given at the next makeTeam if it is free;
+   * otherwise the player keeps the number it has or gets one picked at random.
+   *
+   * @param firstName    a string representing a player's first name.
+   * @param lastName     a string representing a player's last name.
+   * @param dateOfBirth  a LocalDate representing a player's birthdate.
+   * @param jerseyNumber the requested number.
+   * @throws IllegalArgumentException if the player is not in the team or the number is out of the
+   *                                  range of the team.
    */
-  private void makeLineUp() {
-    // create values of TreeMap lineUP
-    lineUp.put(Position.GOALIE, new TreeSet<>(PLAYER_COMPARATOR));
-    lineUp.put(Position.DEFENDER, new TreeSet<>(PLAYER_COMPARATOR));
-    lineUp.put(Position.MIDFIELDER, new TreeSet<>(PLAYER_COMPARATOR));
-    lineUp.put(Position.FORWARD, new TreeSet<>(PLAYER_COMPARATOR));
-
-    // create a wait list, and reorder candidate by skillLevel
-    ArrayList<Player> waitList = new ArrayList<>();
-    TreeSet<Player> candidateBySkill = new TreeSet<>(
-        Comparator.comparingInt(Player::getSkillLevel).reversed()
-            .thenComparing(PLAYER_COMPARATOR));
-    candidateBySkill.addAll(candidate);
-
-    // Iterate through waitList and add players to their preferred positions
-    // if there is a slot available
-    for (Player player : candidateBySkill) {
-      Position preferredPosition = player.getPreferredPosition();
-      TreeSet<Player> group = lineUp.get(preferredPosition);
-      if ((preferredPosition == Position.GOALIE && group.size() < GOALIE_SLOTS) || (
-          preferredPosition == Position.DEFENDER && group.size() < DEFENDER_SLOTS) || (
-          preferredPosition == Position.MIDFIELDER && group.size() < MIDFIELDER_SLOTS) || (
-          preferredPosition == Position.FORWARD && group.size() < FORWARD_SLOTS)) {
-        group.add(player);
-      } else {
-        waitList.add(player);
-      }
+  public void requestJerseyNumber(String firstName, String lastName, LocalDate dateOfBirth,
+      int jerseyNumber) throws IllegalArgumentException {
+    Player player = candidateIndex.get(firstName, lastName, dateOfBirth);
+    if (player == null) {
+      throw new IllegalArgumentException("The player is not in the team.");
+    }
+    if (!jerseyAllocator.inRange(jerseyNumber)) {
+      throw new IllegalArgumentException(
+          "The jersey number should be chosen from " + jerseyAllocator.getMinimumNumber() + " to "
+              + jerseyAllocator.getMaximumNumber() + ".");
+    }
+    ((PlayerImpl) player).requestJerseyNumber(jerseyNumber);
+  }
+
+  /**
+   * a helper function that puts back a player saved earlier, e.g. in a journal. Unlike addPlayer,
+   * the age is not checked again, no player is dropped and listeners are not told.
+   *
+   * @param firstName         a string representing a player's first name.
+   * @param lastName          a string representing a player's last name.
+   * @param dateOfBirth       a LocalDate representing a player's birthdate.
+   * @param preferredPosition an enum type position.
+   * @param skillLevel        an integer representing skill level.
+   */
+  void restorePlayer(String firstName, String lastName, LocalDate dateOfBirth,
+      Position preferredPosition, int skillLevel) {
+    if (candidateIndex.contains(firstName, lastName, dateOfBirth)) {
+      return;
     }
+    Player player = PlayerImpl.restore(firstName, lastName, dateOfBirth, preferredPosition,
+        skillLevel);
+    index(player);
+    rosterVersion++;
+  }
 
-    // if there is any slot for lineUp, pick player from wait list
-    int remainingSlotsGoalie = GOALIE_SLOTS - lineUp.get(Position.GOALIE).size();
-    int remainingSlotsDefender = DEFENDER_SLOTS - lineUp.get(Position.DEFENDER).size();
-    int remainingSlotsMidfielder = MIDFIELDER_SLOTS - lineUp.get(Position.MIDFIELDER).size();
-    int remainingSlotsForward = FORWARD_SLOTS - lineUp.get(Position.FORWARD).size();
+  /**
+   * a helper function that removes a player dropped earlier, e.g. when replaying a journal.
+   * Listeners are not told.
+   *
+   * @param firstName   a string representing a player's first name.
+   * @param lastName    a string representing a player's last name.
+   * @param dateOfBirth a LocalDate representing a player's birthdate.
+   */
+  void restoreDrop(String firstName, String lastName, LocalDate dateOfBirth) {
+    Player player = candidateIndex.get(firstName, lastName, dateOfBirth);
+    if (player == null) {
+      return;
+    }
+    unindex(player);
+    jerseyAllocator.release(player.getJerseyNumber());
+    rosterVersion++;
+  }
 
-    for (Player player : waitList) {
-      if (remainingSlotsGoalie == 0 && remainingSlotsDefender == 0 && remainingSlotsMidfielder == 0
-          && remainingSlotsForward == 0) {
-        break;
+  /**
+   * a helper function that gives back the jersey numbers players had when the team was made, e.g.
+   * when replaying a journal. Players who keep their number are left alone; the numbers of the
+   * others are all released before any is taken again, so players may swap numbers. Listeners are
+   * not told.
+   *
+   * @param firstNames    the first names of the players.
+   * @param lastNames     the last names of the players.
+   * @param datesOfBirth  the birthdates of the players.
+   * @param jerseyNumbers the jersey numbers of the players.
+   * @throws IllegalArgumentException if a number is out of range or given to two players.
+   */
+  void restoreJerseyNumbers(String[] firstNames, String[] lastNames, LocalDate[] datesOfBirth,
+      int[] jerseyNumbers) throws IllegalArgumentException {
+    Player[] changed = new Player[jerseyNumbers.length];
+    boolean anyChanged = false;
+    for (int i = 0; i < jerseyNumbers.length; i++) {
+      Player player = candidateIndex.get(firstNames[i], lastNames[i], datesOfBirth[i]);
+      if (player != null && player.getJerseyNumber() != jerseyNumbers[i]) {
+        changed[i] = player;
+        anyChanged = true;
+        jerseyAllocator.release(player.getJerseyNumber());
       }
-      boolean assigned = false;
-      // test if the player has been assigned
-      for (Position position : Position.values()) {
-        if (assigned) {
-          break;
-        } else {
-          TreeSet<Player> group = lineUp.get(position);
-          if (position == Position.GOALIE && group.size() < GOALIE_SLOTS) {
-            group.add(player);
-            remainingSlotsGoalie--;
-            assigned = true;
-          } else if (position == Position.DEFENDER && group.size() < DEFENDER_SLOTS) {
-            group.add(player);
-            remainingSlotsDefender--;
-            assigned = true;
-          } else if (position == Position.MIDFIELDER && group.size() < MIDFIELDER_SLOTS) {
-            group.add(player);
-            remainingSlotsMidfielder--;
-            assigned = true;
-          } else if (position == Position.FORWARD && group.size() < FORWARD_SLOTS) {
-            group.add(player);
-            remainingSlotsForward--;
-            assigned = true;
-          }
-        }
+    }
+    for (int i = 0; i < changed.length; i++) {
+      if (changed[i] == null) {
+        continue;
+      }
+      if (!jerseyAllocator.reserve(jerseyNumbers[i])) {
+        throw new IllegalArgumentException(
+            "Jersey number " + jerseyNumbers[i] + " cannot be given back to " + firstNames[i]
+                + " " + lastNames[i] + ": it is out of range or taken by another player.");
       }
+      assignJerseyNumber((PlayerImpl) changed[i], jerseyNumbers[i]);
+    }
+    if (anyChanged) {
+      teamCreated = true;
+      rosterVersion++;
     }
   }
 
-  @Override public String getLineUp() {
+  /**
+   * a getter provides the roster version. The version changes whenever players are added or
+   * dropped and whenever jersey numbers are assigned, so results derived from the roster can be
+   * cached against it.
+   *
+   * @return a number identifying the current state of the roster.
+   */
+  public long getVersion() {
+    return this.rosterVersion;
+  }
+
+  @Override public boolean isTeamCreated() {
+    return this.teamCreated;
+  }
+
+  /**
+   * a getter provides a copy of all players ordered by names and birthday.
+   *
+   * @return an array holding the players of candidate.
+   */
+  Player[] toArray() {
+    return candidate.toArray(new Player[0]);
+  }
+
+  /**
+   * a getter provides the maximum number of players kept in the team.
+   *
+   * @return the capacity of the team.
+   */
+  int getMaximumNumber() {
+    return this.maximumNumber;
+  }
+
+  /**
+   * a getter provides the current lineUp, picking it first if the roster has changed.
+   *
+   * @return the players playing in each position, ordered by names and birthday.
+   */
+  Map<Position, TreeSet<Player>> currentLineUp() {
     makeLineUp();
+    return lineUp;
+  }
+
+  /**
+   * a getter provides the engine picking the lineUp of this team.
+   *
+   * @return the lineUp engine.
+   */
+  LineUpEngine getLineUpEngine() {
+    return this.lineUpEngine;
+  }
+
+  /**
+   * a getter provides the rules the team plays by. Teams created with an age group instead of
+   * rules play by the formation and roster bounds of 7-a-side.
+   *
+   * @return the rules of the team.
+   */
+  public TeamRules getRules() {
+    return this.rules;
+  }
+
+  /**
+   * a helper function that checks the rules given to a constructor.
+   */
+  private static TeamRules checkRules(TeamRules rules) throws IllegalArgumentException {
+    if (rules == null) {
+      throw new IllegalArgumentException("Rules must not be null.");
+    }
+    return rules;
+  }
+
+  private static SeasonEligibility checkSeason(SeasonEligibility eligibility)
+      throws IllegalArgumentException {
+    if (eligibility == null) {
+      throw new IllegalArgumentException("Season must not be null.");
+    }
+    return eligibility;
+  }
+
+  @Override public List<Player> getPlayers() {
+    return Collections.unmodifiableList(new ArrayList<>(candidate));
+  }
+
+  /**
+   * read players straight from the index kept in the order of the query: candidate or the set of
+   * the position for names, the skill index for skill levels, the jersey number array and the
+   * birth year buckets. A cursor is found in O(log n), and a range of skill levels only reads the
+   * levels in it, so a page costs about its own size. The stream reads the live indexes and must
+   * be used up before the roster changes.
+   */
+  @Override public Stream<Player> query(PlayerQuery query) {
+    switch (query.getOrder()) {
+      case SKILL:
+        return querySkillIndex(query);
+      case JERSEY_NUMBER:
+        return queryJerseyNumberIndex(query);
+      case BIRTHDAY:
+        return queryBirthYearIndex(query);
+      default:
+        Position position = query.getPosition();
+        return queryIndex(position == null ? candidate : candidateByPosition.get(position), query);
+    }
+  }
+
+  private static Stream<Player> queryIndex(TreeSet<Player> index, PlayerQuery query) {
+    Player after = query.getAfter();
+    NavigableSet<Player> players = after == null ? index : index.tailSet(after, false);
+    return players.stream().filter(query::matches);
+  }
+
+  /**
+   * a helper function applied by query. Numbered players are read from the jersey number array,
+   * then players without a number in name order.
+   */
+  private Stream<Player> queryJerseyNumberIndex(PlayerQuery query) {
+    Player after = query.getAfter();
+    int from = jerseyAllocator.getMinimumNumber();
+    NavigableSet<Player> unnumbered = candidate;
+    if (after != null && after.getJerseyNumber() > 0) {
+      from = after.getJerseyNumber() + 1;
+    } else if (after != null) {
+      from = candidateByJerseyNumber.length;
+      unnumbered = candidate.tailSet(after, false);
+    }
+    Stream<Player> numbered = IntStream.range(from, candidateByJerseyNumber.length)
+        .mapToObj(jerseyNumber -> candidateByJerseyNumber[jerseyNumber])
+        .filter(Objects::nonNull);
+    return Stream.concat(numbered,
+        unnumbered.stream().filter(player -> player.getJerseyNumber() <= 0))
+        .filter(query::matches);
+  }
+
+  /**
+   * a helper function applied by query. Buckets are read by year, each in birthday order.
+   */
+  private Stream<Player> queryBirthYearIndex(PlayerQuery query) {
+    Player after = query.getAfter();
+    Stream<Player> players;
+    if (after == null) {
+      players = candidateByBirthYear.values().stream().flatMap(TreeSet::stream);
+    } else {
+      int year = after.getDateOfBirth().getYear();
+      TreeSet<Player> sameYear = candidateByBirthYear.get(year);
+      players = Stream.concat(
+          sameYear == null ? Stream.empty() : sameYear.tailSet(after, false).stream(),
+          candidateByBirthYear.tailMap(year, false).values().stream().flatMap(TreeSet::stream));
+    }
+    return players.filter(query::matches);
+  }
 
-    StringBuilder lineUpBuilder = new StringBuilder();
+  /**
+   * find a player through the jersey number array in O(1).
+   */
+  @Override public Player getPlayerByJerseyNumber(int jerseyNumber) {
+    if (jerseyNumber <= 0 || jerseyNumber >= candidateByJerseyNumber.length) {
+      return null;
+    }
+    return candidateByJerseyNumber[jerseyNumber];
+  }
 
-    // Add positions
-    lineUpBuilder.append("GOALIE:\n");
-    TreeSet<Player> goalies = lineUp.get(Position.GOALIE);
-    for (Player goalie : goalies) {
-      lineUpBuilder.append(goalie);
+  /**
+   * read the set of the position, kept in name order.
+   */
+  @Override public List<Player> getPlayersByPosition(Position position)
+      throws IllegalArgumentException {
+    if (position == null) {
+      throw new IllegalArgumentException("Position must not be null.");
     }
-    lineUpBuilder.append("\n");
+    return Collections.unmodifiableList(new ArrayList<>(candidateByPosition.get(position)));
+  }
 
-    lineUpBuilder.append("DEFENDERS:\n");
-    TreeSet<Player> defenders = lineUp.get(Position.DEFENDER);
-    for (Player defender : defenders) {
-      lineUpBuilder.append(defender);
+  /**
+   * read the bucket of the year, found in O(log n) and kept in birthday order.
+   */
+  @Override public List<Player> getPlayersBornIn(int year) {
+    TreeSet<Player> sameYear = candidateByBirthYear.get(year);
+    return sameYear == null ? Collections.emptyList()
+        : Collections.unmodifiableList(new ArrayList<>(sameYear));
+  }
+
+  /**
+   * a helper function applied by query. Levels are read from the highest one kept down to the
+   * lowest, each in name order, which is the skill order of PlayerQuery.
+   */
+  private Stream<Player> querySkillIndex(PlayerQuery query) {
+    Player after = query.getAfter();
+    int highest = query.getMaximumSkillLevel();
+    if (after != null) {
+      highest = Math.min(highest, after.getSkillLevel());
+    }
+    Stream<Player> players = Stream.empty();
+    for (int skillLevel = highest; skillLevel >= query.getMinimumSkillLevel(); skillLevel--) {
+      TreeSet<Player> sameSkill = candidateBySkill.get(skillLevel);
+      players = Stream.concat(players, (after != null && skillLevel == after.getSkillLevel()
+          ? sameSkill.tailSet(after, false) : sameSkill).stream());
     }
-    lineUpBuilder.append("\n");
+    return query.getPosition() == null ? players : players.filter(query::matches);
+  }
 
-    lineUpBuilder.append("MIDFIELDERS:\n");
-    TreeSet<Player> midfielders = lineUp.get(Position.MIDFIELDER);
-    for (Player midfielder : midfielders) {
-      lineUpBuilder.append(midfielder);
+  @Override public String getTeam() {
+    if (!teamCreated) {
+      makeTeam();
+      teamCreated = true;
+    }
+    if (teamInfoVersion != rosterVersion) {
+      long start = metrics.start();
+      renderBuffer.setLength(0);
+      TeamRenderer.appendUnchecked(out -> TeamRenderer.renderTeam(candidate, out), renderBuffer);
+      teamInfo = renderBuffer.toString();
+      teamInfoVersion = rosterVersion;
+      metrics.record(TeamMetrics.Operation.RENDER, start);
     }
-    lineUpBuilder.append("\n");
+    return teamInfo;
+  }
 
-    lineUpBuilder.append("FORWARDS:\n");
-    TreeSet<Player> forwards = lineUp.get(Position.FORWARD);
-    for (Player forward : forwards) {
-      lineUpBuilder.append(forward);
+  @Override public void renderTeam(Appendable out) throws IOException {
+    if (!teamCreated) {
+      makeTeam();
+      teamCreated = true;
+    }
+    if (teamInfoVersion == rosterVersion) {
+      out.append(teamInfo);
+    } else {
+      long start = metrics.start();
+      TeamRenderer.renderTeam(candidate, out);
+      metrics.record(TeamMetrics.Operation.RENDER, start);
+    }
+  }
+
+  /**
+   * a helper function applied by getLineUp. players are handed to the lineUp engine by skill
+   * levels from the skill index. The engine decides who plays in which position.
+   */
+  private void makeLineUp() {
+    if (lineUpVersion == rosterVersion) {
+      return;
+    }
+    long start = metrics.start();
+    List<Player> playersBySkill = new ArrayList<>(candidate.size());
+    for (int skillLevel = PlayerImpl.MAXIMUM_SKILL_LEVEL;
+        skillLevel >= PlayerImpl.MINIMUM_SKILL_LEVEL; skillLevel--) {
+      playersBySkill.addAll(candidateBySkill.get(skillLevel));
+    }
+    Map<Position, List<Player>> positions = lineUpEngine.makeLineUp(playersBySkill,
+        rules.getSlots());
+    for (Position position : Position.values()) {
+      TreeSet<Player> group = new TreeSet<>(PLAYER_COMPARATOR);
+      group.addAll(positions.get(position));
+      lineUp.put(position, group);
+    }
+    lineUpVersion = rosterVersion;
+    metrics.record(TeamMetrics.Operation.MAKE_LINEUP, start);
+  }
+
+  @Override public String getLineUp() {
+    makeLineUp();
+    if (lineUpInfoVersion != rosterVersion) {
+      long start = metrics.start();
+      renderBuffer.setLength(0);
+      TeamRenderer.appendUnchecked(out -> TeamRenderer.renderLineUp(lineUp, out), renderBuffer);
+      lineUpInfo = renderBuffer.toString();
+      lineUpInfoVersion = rosterVersion;
+      metrics.record(TeamMetrics.Operation.RENDER, start);
     }
-    lineUpBuilder.append("\n");
+    return lineUpInfo;
+  }
 
-    return lineUpBuilder.toString();
+  @Override public void renderLineUp(Appendable out) throws IOException {
+    makeLineUp();
+    if (lineUpInfoVersion == rosterVersion) {
+      out.append(lineUpInfo);
+    } else {
+      long start = metrics.start();
+      TeamRenderer.renderLineUp(lineUp, out);
+      metrics.record(TeamMetrics.Operation.RENDER, start);
+    }
   }
 
+  /**
+   * a helper function applied by getBench. players who are not in the lineUp are put in the bench.
+   * The bench is rebuilt from scratch only when the roster has changed since the last call.
+   */
   private void makeBench() {
+    if (benchVersion == rosterVersion) {
+      return;
+    }
+    long start = metrics.start();
+    bench.clear();
     for (Player player : candidate) {
       boolean playerInLineUp = false;
       for (Position position : Position.values()) {
@@ -234,18 +775,33 @@ public class TeamImpl implements Team {
         bench.add(player);
       }
     }
+    benchVersion = rosterVersion;
+    metrics.record(TeamMetrics.Operation.MAKE_BENCH, start);
   }
 
   @Override public String getBench() {
     makeLineUp();
     makeBench();
-
-    StringBuilder benchBuilder = new StringBuilder();
-    for (Player player : this.bench) {
-      benchBuilder.append(player.toString());
-      benchBuilder.append("\n");
+    if (benchInfoVersion != rosterVersion) {
+      long start = metrics.start();
+      renderBuffer.setLength(0);
+      TeamRenderer.appendUnchecked(out -> TeamRenderer.renderBench(bench, out), renderBuffer);
+      benchInfo = renderBuffer.toString();
+      benchInfoVersion = rosterVersion;
+      metrics.record(TeamMetrics.Operation.RENDER, start);
     }
+    return benchInfo;
+  }
 
-    return benchBuilder.toString();
+  @Override public void renderBench(Appendable out) throws IOException {
+    makeLineUp();
+    makeBench();
+    if (benchInfoVersion == rosterVersion) {
+      out.append(benchInfo);
+    } else {
+      long start = metrics.start();
+      TeamRenderer.renderBench(bench, out);
+      metrics.record(TeamMetrics.Operation.RENDER, start);
+    }
   }
 }
\ No newline at end of file
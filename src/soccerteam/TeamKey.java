@@ -0,0 +1,65 @@
+package soccerteam;
+
+import java.util.Objects;
+
+/**
+ * This class identifies a team inside a league. Teams are keyed by the club they belong to and the
+ * age group they play in, e.g. ("Riverside FC", "U-10"). Keys are immutable and can be used in hash
+ * based collections.
+ */
+public final class TeamKey {
+  private final String club;
+  private final String ageGroup;
+
+  /**
+   * A constructor to create a team key.
+   *
+   * @param club     a string representing the club name.
+   * @param ageGroup a string representing the age group, e.g. "U-10".
+   * @throws IllegalArgumentException if club or age group is null or empty.
+   */
+  public TeamKey(String club, String ageGroup) throws IllegalArgumentException {
+    if (club == null || club.isEmpty() || ageGroup == null || ageGroup.isEmpty()) {
+      throw new IllegalArgumentException("Club and age group must not be empty.");
+    }
+    this.club = club;
+    this.ageGroup = ageGroup;
+  }
+
+  /**
+   * A getter to get the club name.
+   *
+   * @return a string representing the club name.
+   */
+  public String getClub() {
+    return this.club;
+  }
+
+  /**
+   * A getter to get the age group.
+   *
+   * @return a string representing the age group.
+   */
+  public String getAgeGroup() {
+    return this.ageGroup;
+  }
+
+  @Override public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TeamKey)) {
+      return false;
+    }
+    TeamKey other = (TeamKey) o;
+    return club.equals(other.club) && ageGroup.equals(other.ageGroup);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(club, ageGroup);
+  }
+
+  @Override public String toString() {
+    return club + "/" + ageGroup;
+  }
+}
@@ -0,0 +1,387 @@
+package soccerteam;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class counts registrations, rejections and evictions, and keeps latency histograms of
+ * making the team, the lineUp and the bench and of rendering them. Counters are LongAdders, which
+ * threads update without contending, and each histogram has one counter per power of two of
+ * nanoseconds, so a timed call costs two clock reads and a few increments and the metrics can stay
+ * on in production.
+ *
+ * <p>The default metrics are shared by all teams and controllers that are not given their own.
+ * The graphical application publishes them over JMX as "soccerteam:type=TeamMetrics"; starting the
+ * platform MBean server takes a few hundred milliseconds, so batch runs leave them unpublished.
+ */
+public final class TeamMetrics implements TeamMetricsMXBean {
+  /**
+   * the name the default metrics are published under.
+   */
+  public static final String OBJECT_NAME = "soccerteam:type=TeamMetrics";
+  private static final long NOT_TIMED = Long.MIN_VALUE;
+  private static final int BUCKETS = 64;
+  private static final TeamMetrics DEFAULT = new TeamMetrics();
+  private static boolean published = false;
+  private volatile boolean enabled = true;
+  private final LongAdder registrations = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final Map<Rejection, LongAdder> rejections = new EnumMap<>(Rejection.class);
+  private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+  /**
+   * the operations whose latencies are kept.
+   */
+  public enum Operation {
+    MAKE_TEAM("makeTeam"), MAKE_LINEUP("makeLineUp"), MAKE_BENCH("makeBench"), RENDER("render");
+
+    private final String label;
+
+    Operation(String label) {
+      this.label = label;
+    }
+
+    @Override public String toString() {
+      return label;
+    }
+  }
+
+  /**
+   * the reasons rejections are counted under. Rejection messages name the player or the numbers
+   * involved, so they are sorted into this fixed set of reasons to keep the counters bounded.
+   */
+  public enum Rejection {
+    INCOMPLETE("incomplete information", "Please input complete player information."),
+    DATE_FORMAT("invalid date", "Invalid date format."),
+    POSITION("invalid position", "Please input a valid position."),
+    SKILL_LEVEL("invalid skill level", "Invalid skill level.", "Skill level must be between"),
+    AGE("age out of range", "The team only accept player"),
+    NAME_LENGTH("name too long", "Names must not be longer"),
+    DUPLICATE("duplicate player", "This player has already been added."),
+    TEAM_CREATED("team already created", "Team has been created"),
+    MALFORMED("malformed row", "Malformed", "Unexpected text after the JSON object."),
+    OTHER("other");
+
+    private final String label;
+    private final String[] prefixes;
+
+    Rejection(String label, String... prefixes) {
+      this.label = label;
+      this.prefixes = prefixes;
+    }
+
+    /**
+     * find the reason of a rejection message.
+     *
+     * @param problem the message of the rejection, e.g. "Invalid skill level.".
+     * @return the reason, or OTHER if the message is not one of the known rules.
+     */
+    public static Rejection of(String problem) {
+      if (problem != null) {
+        for (Rejection reason : values()) {
+          for (String prefix : reason.prefixes) {
+            if (problem.startsWith(prefix)) {
+              return reason;
+            }
+          }
+        }
+      }
+      return OTHER;
+    }
+
+    @Override public String toString() {
+      return label;
+    }
+  }
+
+  /**
+   * a constructor to create metrics that are not published, e.g. for one team under test.
+   */
+  public TeamMetrics() {
+    for (Operation operation : Operation.values()) {
+      latencies.put(operation, new Histogram());
+    }
+    for (Rejection reason : Rejection.values()) {
+      rejections.put(reason, new LongAdder());
+    }
+  }
+
+  /**
+   * a getter provides the metrics shared by default.
+   *
+   * @return the default metrics.
+   */
+  public static TeamMetrics getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * publish the default metrics over JMX. Later calls do nothing. If they cannot be published,
+   * e.g. because of a security manager, they still count and can still be displayed.
+   *
+   * @return true if the default metrics are published.
+   */
+  public static synchronized boolean publishDefault() {
+    if (!published) {
+      try {
+        ManagementFactory.getPlatformMBeanServer()
+            .registerMBean(DEFAULT, new ObjectName(OBJECT_NAME));
+        published = true;
+      } catch (JMException | SecurityException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * count a player registered in a team.
+   */
+  public void countRegistration() {
+    if (enabled) {
+      registrations.increment();
+    }
+  }
+
+  /**
+   * count a player dropped to keep a team within its capacity.
+   */
+  public void countEviction() {
+    if (enabled) {
+      evictions.increment();
+    }
+  }
+
+  /**
+   * count a registration rejected by a rule, under the reason its message belongs to.
+   *
+   * @param problem the message of the rule, e.g. "Invalid skill level.".
+   */
+  public void countRejection(String problem) {
+    countRejection(Rejection.of(problem));
+  }
+
+  /**
+   * count a registration rejected for a reason.
+   *
+   * @param reason the reason of the rejection.
+   */
+  public void countRejection(Rejection reason) {
+    if (enabled) {
+      rejections.get(reason).increment();
+    }
+  }
+
+  /**
+   * start timing an operation.
+   *
+   * @return the start time to hand to record.
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : NOT_TIMED;
+  }
+
+  /**
+   * record the latency of an operation started with start. Calls started while the metrics were
+   * disabled are ignored.
+   *
+   * @param operation the operation.
+   * @param start     the value returned by start.
+   */
+  public void record(Operation operation, long start) {
+    if (start != NOT_TIMED) {
+      latencies.get(operation).record(System.nanoTime() - start);
+    }
+  }
+
+  @Override public long getRegistrations() {
+    return registrations.sum();
+  }
+
+  @Override public long getEvictions() {
+    return evictions.sum();
+  }
+
+  @Override public Map<String, Long> getRejections() {
+    Map<String, Long> counts = new TreeMap<>();
+    rejections.forEach((reason, count) -> {
+      long sum = count.sum();
+      if (sum > 0) {
+        counts.put(reason.toString(), sum);
+      }
+    });
+    return counts;
+  }
+
+  /**
+   * a getter provides the number of rejections for one reason.
+   *
+   * @param reason the reason of the rejections.
+   * @return the number of rejections.
+   */
+  public long getRejections(Rejection reason) {
+    return rejections.get(reason).sum();
+  }
+
+  /**
+   * a getter provides the number of timed calls of an operation.
+   *
+   * @param operation the operation.
+   * @return the number of calls.
+   */
+  public long getLatencyCount(Operation operation) {
+    return latencies.get(operation).count();
+  }
+
+  /**
+   * a getter provides the latency of an operation that the given share of calls did not exceed,
+   * rounded up to the bucket it falls in.
+   *
+   * @param operation the operation.
+   * @param quantile  the share of calls, from 0 to 1, e.g. 0.99.
+   * @return the latency in nanoseconds, or 0 if the operation was not timed.
+   */
+  public long getLatencyQuantile(Operation operation, double quantile) {
+    return latencies.get(operation).quantile(quantile);
+  }
+
+  @Override public Map<String, Long> getLatencyCounts() {
+    return byOperation(Histogram::count);
+  }
+
+  @Override public Map<String, Long> getLatencyMeans() {
+    return byOperation(Histogram::mean);
+  }
+
+  @Override public Map<String, Long> getLatencyP99s() {
+    return byOperation(histogram -> histogram.quantile(0.99));
+  }
+
+  @Override public Map<String, Long> getLatencyMaximums() {
+    return byOperation(histogram -> histogram.max.get());
+  }
+
+  private Map<String, Long> byOperation(ToLongFunction<Histogram> value) {
+    Map<String, Long> values = new TreeMap<>();
+    latencies.forEach((operation, histogram) ->
+        values.put(operation.toString(), value.applyAsLong(histogram)));
+    return values;
+  }
+
+  @Override public void reset() {
+    registrations.reset();
+    evictions.reset();
+    for (LongAdder count : rejections.values()) {
+      count.reset();
+    }
+    for (Histogram histogram : latencies.values()) {
+      histogram.reset();
+    }
+  }
+
+  @Override public String dump() {
+    StringBuilder out = new StringBuilder();
+    out.append("Registrations: ").append(getRegistrations()).append('\n');
+    out.append("Evictions: ").append(getEvictions()).append('\n');
+    out.append("Rejections:\n");
+    getRejections().forEach((rule, count) ->
+        out.append("  ").append(count).append(" x ").append(rule).append('\n'));
+    out.append("Latencies (calls, mean, p99, max):\n");
+    latencies.forEach((operation, histogram) -> {
+      out.append("  ").append(operation).append(": ").append(histogram.count());
+      if (histogram.count() > 0) {
+        out.append(", ").append(micros(histogram.mean()))
+            .append(", ").append(micros(histogram.quantile(0.99)))
+            .append(", ").append(micros(histogram.max.get()));
+      }
+      out.append('\n');
+    });
+    return out.toString();
+  }
+
+  private static String micros(long nanos) {
+    return String.format(Locale.ROOT, "%.1f us", nanos / 1000.0);
+  }
+
+  /**
+   * a latency histogram with one bucket per power of two of nanoseconds. Bucket b holds latencies
+   * from 2^b to 2^(b+1) - 1, and bucket 0 also holds 0.
+   */
+  private static final class Histogram {
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    private Histogram() {
+      for (int i = 0; i < BUCKETS; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    private void record(long nanos) {
+      if (nanos < 0) {
+        nanos = 0;
+      }
+      buckets[nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos)].increment();
+      total.add(nanos);
+      long largest = max.get();
+      while (nanos > largest && !max.compareAndSet(largest, nanos)) {
+        largest = max.get();
+      }
+    }
+
+    private long count() {
+      long count = 0;
+      for (LongAdder bucket : buckets) {
+        count += bucket.sum();
+      }
+      return count;
+    }
+
+    private long mean() {
+      long count = count();
+      return count == 0 ? 0 : total.sum() / count;
+    }
+
+    private long quantile(double quantile) {
+      long count = count();
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(count * quantile));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += buckets[i].sum();
+        if (seen >= rank) {
+          long upper = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+          return Math.min(upper, max.get());
+        }
+      }
+      return max.get();
+    }
+
+    private void reset() {
+      for (LongAdder bucket : buckets) {
+        bucket.reset();
+      }
+      total.reset();
+      max.set(0);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package soccerteam;
+
+import java.util.Map;
+
+/**
+ * This interface is the management view of the team metrics, published over JMX as
+ * "soccerteam:type=TeamMetrics" so tools like JConsole can read the counters and latencies of a
+ * running application. Latencies are given in nanoseconds and keyed by operation name.
+ */
+public interface TeamMetricsMXBean {
+  /**
+   * a getter tells if operations are being counted and timed.
+   *
+   * @return true if the metrics are enabled.
+   */
+  boolean isEnabled();
+
+  /**
+   * turn counting and timing on or off. Values counted so far are kept.
+   *
+   * @param enabled true to count and time operations.
+   */
+  void setEnabled(boolean enabled);
+
+  /**
+   * a getter provides the number of players registered in a team.
+   *
+   * @return the number of registrations.
+   */
+  long getRegistrations();
+
+  /**
+   * a getter provides the number of players dropped to keep a team within its capacity.
+   *
+   * @return the number of evictions.
+   */
+  long getEvictions();
+
+  /**
+   * a getter provides the number of rejected registrations for each reason they were rejected
+   * for, e.g. "invalid skill level". Reasons without rejections are left out.
+   *
+   * @return a map from the reason to the number of rejections.
+   */
+  Map<String, Long> getRejections();
+
+  /**
+   * a getter provides the number of timed calls of each operation.
+   *
+   * @return a map from operation name to the number of calls.
+   */
+  Map<String, Long> getLatencyCounts();
+
+  /**
+   * a getter provides the mean latency of each operation.
+   *
+   * @return a map from operation name to the mean latency in nanoseconds.
+   */
+  Map<String, Long> getLatencyMeans();
+
+  /**
+   * a getter provides the 99th percentile latency of each operation, rounded up to the bucket it
+   * falls in.
+   *
+   * @return a map from operation name to the latency in nanoseconds.
+   */
+  Map<String, Long> getLatencyP99s();
+
+  /**
+   * a getter provides the largest latency of each operation.
+   *
+   * @return a map from operation name to the latency in nanoseconds.
+   */
+  Map<String, Long> getLatencyMaximums();
+
+  /**
+   * set all counters and latencies back to zero.
+   */
+  void reset();
+
+  /**
+   * a text listing all counters and latencies, one per line.
+   *
+   * @return the text of the metrics.
+   */
+  String dump();
+}
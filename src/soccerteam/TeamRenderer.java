@@ -0,0 +1,119 @@
+package soccerteam;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This class writes teams, lineUps and benches as text straight into an Appendable, e.g. a Writer,
+ * a StringBuilder or a CharBuffer. Players write themselves through Player.appendTo, so no
+ * intermediate strings are built. The text is the same as the one returned by the getters of Team.
+ */
+public final class TeamRenderer {
+  private static final String TEAM_HEADER = "The current team contains:\n";
+  private static final String[] LINEUP_HEADERS = {"GOALIE:\n", "DEFENDERS:\n", "MIDFIELDERS:\n",
+      "FORWARDS:\n"};
+  private static final char[] DIGITS = "0123456789".toCharArray();
+
+  private TeamRenderer() {
+  }
+
+  /**
+   * write all players of a team, following a header line.
+   *
+   * @param players the players of the team in display order.
+   * @param out     the destination of the text.
+   * @throws IOException if the destination fails.
+   */
+  public static void renderTeam(Iterable<? extends Player> players, Appendable out)
+      throws IOException {
+    out.append(TEAM_HEADER);
+    for (Player player : players) {
+      player.appendTo(out);
+    }
+  }
+
+  /**
+   * write the players of a lineUp grouped by position, in the order of Position.
+   *
+   * @param lineUp the players playing in each position.
+   * @param out    the destination of the text.
+   * @throws IOException if the destination fails.
+   */
+  public static void renderLineUp(Map<Position, ? extends Collection<? extends Player>> lineUp,
+      Appendable out) throws IOException {
+    for (Position position : Position.values()) {
+      out.append(LINEUP_HEADERS[position.ordinal()]);
+      Collection<? extends Player> group = lineUp.get(position);
+      if (group != null) {
+        for (Player player : group) {
+          player.appendTo(out);
+        }
+      }
+      out.append('\n');
+    }
+  }
+
+  /**
+   * write the players of a bench, separated by empty lines.
+   *
+   * @param bench the players on the bench in display order.
+   * @param out   the destination of the text.
+   * @throws IOException if the destination fails.
+   */
+  public static void renderBench(Iterable<? extends Player> bench, Appendable out)
+      throws IOException {
+    for (Player player : bench) {
+      player.appendTo(out);
+      out.append('\n');
+    }
+  }
+
+  /**
+   * a rendering step writing into an Appendable.
+   */
+  interface Rendering {
+    void render(Appendable out) throws IOException;
+  }
+
+  /**
+   * run a rendering into a StringBuilder, which never fails with an IOException.
+   *
+   * @param rendering the rendering to run.
+   * @param out       the builder receiving the text.
+   */
+  static void appendUnchecked(Rendering rendering, StringBuilder out) {
+    try {
+      rendering.render(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * write an integer in decimal without creating a string.
+   *
+   * @param out   the destination of the text.
+   * @param value the integer to write.
+   * @throws IOException if the destination fails.
+   */
+  static void appendInt(Appendable out, int value) throws IOException {
+    if (value < 0) {
+      if (value == Integer.MIN_VALUE) {
+        out.append("-2147483648");
+        return;
+      }
+      out.append('-');
+      value = -value;
+    }
+    int divisor = 1;
+    while (value / divisor >= 10) {
+      divisor *= 10;
+    }
+    while (divisor > 0) {
+      out.append(DIGITS[value / divisor % 10]);
+      divisor /= 10;
+    }
+  }
+}
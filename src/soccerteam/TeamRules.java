@@ -0,0 +1,203 @@
+package soccerteam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the rules a team plays by: its formation, how many players its roster may
+ * hold and the age group players must belong to. Rules are immutable, so one instance is shared by
+ * every team playing by it. The slot counts are kept in an array indexed by position, so reading
+ * them costs no lookup.
+ *
+ * <p>The rules of the age groups of the league are built once, in a table from the name of the age
+ * group to its rules, so one process can run the teams of every age group.
+ */
+public final class TeamRules {
+  private static final Position[] POSITIONS = Position.values();
+  /**
+   * 7-a-side for U-10: 1 goalie, 2 defenders, 3 midfielders and 1 forward, 10 to 20 players.
+   */
+  public static final TeamRules SEVEN_A_SIDE = new TeamRules("7-a-side", AgeGroup.U10, 10, 20,
+      slots(1, 2, 3, 1));
+  /**
+   * 9-a-side for U-12: 1 goalie, 3 defenders, 3 midfielders and 2 forwards, 12 to 22 players.
+   */
+  public static final TeamRules NINE_A_SIDE = new TeamRules("9-a-side", AgeGroup.U12, 12, 22,
+      slots(1, 3, 3, 2));
+  /**
+   * 4-4-2 for U-14: 1 goalie, 4 defenders, 4 midfielders and 2 forwards, 14 to 25 players.
+   */
+  public static final TeamRules FOUR_FOUR_TWO = new TeamRules("4-4-2", AgeGroup.U14, 14, 25,
+      slots(1, 4, 4, 2));
+  private static final Map<String, TeamRules> BY_AGE_GROUP = new HashMap<>();
+
+  static {
+    for (TeamRules rules : new TeamRules[] {SEVEN_A_SIDE, NINE_A_SIDE, FOUR_FOUR_TWO}) {
+      BY_AGE_GROUP.put(rules.getAgeGroup().getName(), rules);
+    }
+  }
+
+  private final String name;
+  private final AgeGroup ageGroup;
+  private final int minimumPlayers;
+  private final int maximumPlayers;
+  private final int[] slotCounts;
+  private final int lineUpSize;
+  private final Map<Position, Integer> slots;
+
+  /**
+   * a constructor to create rules.
+   *
+   * @param name           the name of the formation, e.g. "7-a-side".
+   * @param ageGroup       the age group players must belong to.
+   * @param minimumPlayers the number of players a team needs before it can be made.
+   * @param maximumPlayers the number of players a roster holds by default.
+   * @param slots          the number of slots of each position.
+   * @throws IllegalArgumentException if the name is empty, the age group is null, a position has
+   *                                  no slot count, the formation has no slot, or the roster
+   *                                  bounds cannot field the formation.
+   */
+  public TeamRules(String name, AgeGroup ageGroup, int minimumPlayers, int maximumPlayers,
+      Map<Position, Integer> slots) throws IllegalArgumentException {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Rules need a name.");
+    }
+    if (ageGroup == null) {
+      throw new IllegalArgumentException("Age group must not be null.");
+    }
+    this.slotCounts = new int[POSITIONS.length];
+    int size = 0;
+    Map<Position, Integer> copy = new EnumMap<>(Position.class);
+    for (Position position : POSITIONS) {
+      Integer count = slots.get(position);
+      if (count == null || count < 0) {
+        throw new IllegalArgumentException("Every position needs a number of slots.");
+      }
+      slotCounts[position.ordinal()] = count;
+      copy.put(position, count);
+      size += count;
+    }
+    if (size == 0) {
+      throw new IllegalArgumentException("A formation needs at least one slot.");
+    }
+    if (minimumPlayers < size || maximumPlayers < minimumPlayers) {
+      throw new IllegalArgumentException("A roster of " + minimumPlayers + " to " + maximumPlayers
+          + " players cannot field " + size + " players.");
+    }
+    this.name = name;
+    this.ageGroup = ageGroup;
+    this.minimumPlayers = minimumPlayers;
+    this.maximumPlayers = maximumPlayers;
+    this.lineUpSize = size;
+    this.slots = Collections.unmodifiableMap(copy);
+  }
+
+  private static Map<Position, Integer> slots(int goalies, int defenders, int midfielders,
+      int forwards) {
+    Map<Position, Integer> slots = new EnumMap<>(Position.class);
+    slots.put(Position.GOALIE, goalies);
+    slots.put(Position.DEFENDER, defenders);
+    slots.put(Position.MIDFIELDER, midfielders);
+    slots.put(Position.FORWARD, forwards);
+    return slots;
+  }
+
+  /**
+   * a function finding the rules of an age group of the league.
+   *
+   * @param ageGroup the name of the age group, e.g. "U-10".
+   * @return the rules of the age group.
+   * @throws IllegalArgumentException if the league has no rules for the age group.
+   */
+  public static TeamRules forAgeGroup(String ageGroup) throws IllegalArgumentException {
+    TeamRules rules = BY_AGE_GROUP.get(ageGroup);
+    if (rules == null) {
+      throw new IllegalArgumentException("There are no rules for age group " + ageGroup + ".");
+    }
+    return rules;
+  }
+
+  /**
+   * a getter provides the rules of every age group of the league, youngest first.
+   *
+   * @return a read-only list of the rules.
+   */
+  public static List<TeamRules> values() {
+    List<TeamRules> values = new ArrayList<>(BY_AGE_GROUP.values());
+    values.sort((a, b) -> Integer.compare(a.ageGroup.getMinimumAge(),
+        b.ageGroup.getMinimumAge()));
+    return Collections.unmodifiableList(values);
+  }
+
+  /**
+   * a getter provides the name of the formation.
+   *
+   * @return the name, e.g. "7-a-side".
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * a getter provides the age group players must belong to.
+   *
+   * @return the age group.
+   */
+  public AgeGroup getAgeGroup() {
+    return this.ageGroup;
+  }
+
+  /**
+   * a getter provides the number of players a team needs before it can be made.
+   *
+   * @return the minimum number of players.
+   */
+  public int getMinimumPlayers() {
+    return this.minimumPlayers;
+  }
+
+  /**
+   * a getter provides the number of players a roster holds by default.
+   *
+   * @return the maximum number of players.
+   */
+  public int getMaximumPlayers() {
+    return this.maximumPlayers;
+  }
+
+  /**
+   * a getter provides the number of slots of one position.
+   *
+   * @param position the position.
+   * @return the number of slots.
+   */
+  public int getSlots(Position position) {
+    return slotCounts[position.ordinal()];
+  }
+
+  /**
+   * a getter provides the number of slots of each position, as lineUp engines take them.
+   *
+   * @return a read-only map from each position to its number of slots.
+   */
+  public Map<Position, Integer> getSlots() {
+    return this.slots;
+  }
+
+  /**
+   * a getter provides the number of players of a lineUp.
+   *
+   * @return the sum of the slots of all positions.
+   */
+  public int getLineUpSize() {
+    return this.lineUpSize;
+  }
+
+  @Override public String toString() {
+    return this.name + " (" + this.ageGroup + ")";
+  }
+}
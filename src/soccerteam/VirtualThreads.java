@@ -0,0 +1,79 @@
+package soccerteam;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class creates threads for background work. Virtual threads are used when the running JDK
+ * offers them (Java 21 and later); otherwise daemon platform threads are used. The JDK is probed by
+ * reflection so that the program still compiles and runs on older JDKs.
+ */
+final class VirtualThreads {
+  private static final Object BUILDER_FACTORY = probe();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * a getter tells if threads created here are virtual threads.
+   *
+   * @return true if the running JDK offers virtual threads.
+   */
+  static boolean isAvailable() {
+    return BUILDER_FACTORY != null;
+  }
+
+  /**
+   * create a thread factory for background work.
+   *
+   * @param name the name prefix of the threads.
+   * @return a factory creating virtual threads if available, daemon threads otherwise.
+   */
+  static ThreadFactory factory(String name) {
+    if (BUILDER_FACTORY != null) {
+      return (ThreadFactory) BUILDER_FACTORY;
+    }
+    AtomicInteger counter = new AtomicInteger();
+    return task -> {
+      Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * create an executor starting a new thread for every task.
+   *
+   * @param name the name prefix of the threads.
+   * @return an executor running each task on its own virtual thread if available, and on a
+   *     cached pool of daemon threads otherwise.
+   */
+  static ExecutorService newThreadPerTaskExecutor(String name) {
+    if (BUILDER_FACTORY != null) {
+      try {
+        return (ExecutorService) Executors.class
+            .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+            .invoke(null, BUILDER_FACTORY);
+      } catch (ReflectiveOperationException e) {
+        // fall through to a cached pool
+      }
+    }
+    return Executors.newCachedThreadPool(factory(name));
+  }
+
+  /**
+   * a helper function that returns Thread.ofVirtual().factory(), or null if it does not exist.
+   */
+  private static Object probe() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      return factory.invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.AsyncTeamController;
+import soccerteam.Features;
+import soccerteam.Position;
+import soccerteam.Team;
+import soccerteam.TeamController;
+import soccerteam.TeamDisplay;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for the asynchronous controller. Commands are checked to run in order on a
+ * background thread.
+ */
+public class AsyncTeamControllerTest {
+  private RecordingView view;
+  private AsyncTeamController controller;
+
+  /**
+   * create an asynchronous controller over a recording view.
+   */
+  @Before public void setUp() {
+    view = new RecordingView();
+    controller = new AsyncTeamController(new TeamController(view, new TeamImpl()));
+    view.calls.clear();
+    view.threads.clear();
+  }
+
+  /**
+   * test if commands run in order, away from the calling thread.
+   */
+  @Test public void testCommandsRunInOrder() throws InterruptedException {
+    String birthDay = LocalDate.now().minusYears(8).toString();
+    for (int i = 0; i < 10; i++) {
+      controller.addPlayers("Player", Integer.toString(i), birthDay, Position.GOALIE, "3");
+    }
+    controller.createTeam();
+    controller.displayStartingLineup();
+    assertTrue(controller.awaitIdle(5000));
+
+    assertTrue(view.calls.contains("message:Player added: Player 9\n10 Players added"));
+    assertTrue(view.calls.contains("team:The Team Created"));
+    assertTrue(view.calls.get(view.calls.size() - 1).startsWith("lineUp:LineUp: GOALIE:"));
+    for (String thread : view.threads) {
+      assertTrue(!thread.equals(Thread.currentThread().getName()));
+    }
+  }
+
+  /**
+   * test if repeated clicks on the same display are merged while they wait.
+   */
+  @Test public void testCoalesceDisplays() throws InterruptedException {
+    for (int i = 0; i < 50; i++) {
+      controller.displayBench();
+    }
+    assertTrue(controller.awaitIdle(5000));
+    long benches = view.calls.stream().filter(call -> call.startsWith("bench:")).count();
+    assertTrue(benches >= 1 && benches < 50);
+  }
+
+  /**
+   * test if a new display request replaces the one still waiting.
+   */
+  @Test public void testStaleDisplayCancelled() throws InterruptedException {
+    for (int i = 0; i < 50; i++) {
+      controller.displayBench();
+      controller.displayTeamPlayers();
+    }
+    controller.displayStartingLineup();
+    assertTrue(controller.awaitIdle(5000));
+    assertTrue(view.calls.size() < 101);
+    assertEquals("lineUp:Please create a team before trying to display the starting lineup.",
+        view.calls.get(view.calls.size() - 1));
+  }
+
+  /**
+   * test if a controller over a team made before, e.g. restored from its journal, starts from the
+   * state of the team.
+   */
+  @Test public void testStartFromModel() {
+    TeamImpl team = new TeamImpl();
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    for (int i = 0; i < 12; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthDay, Position.GOALIE, 3);
+    }
+    team.makeTeam();
+    TeamController restarted = new TeamController(view, team);
+    view.calls.clear();
+
+    restarted.displayTeamPlayers();
+    restarted.addPlayers("Late", "Comer", birthDay.toString(), Position.GOALIE, "3");
+    restarted.createTeam();
+    assertEquals("roster:Team: 12", view.calls.get(0));
+    assertEquals("message:Team has been created, you can't add more players.",
+        view.calls.get(1));
+    assertEquals("team:You can't regenerate the team.", view.calls.get(2));
+  }
+
+  /**
+   * test if exit runs after the players and the team given before it, instead of dropping them.
+   */
+  @Test public void testExitAfterQueuedCommands() throws InterruptedException {
+    String birthDay = LocalDate.now().minusYears(8).toString();
+    AsyncTeamController exiting = new AsyncTeamController(
+        new TeamController(view, new TeamImpl()) {
+          @Override public void exit() {
+            view.record("exit");
+          }
+        });
+    for (int i = 0; i < 10; i++) {
+      exiting.addPlayers("Player", Integer.toString(i), birthDay, Position.GOALIE, "3");
+    }
+    exiting.createTeam();
+    exiting.exit();
+    assertTrue(exiting.awaitIdle(5000));
+    assertEquals("exit", view.calls.get(view.calls.size() - 1));
+    assertTrue(view.calls.contains("message:Player added: Player 9\n10 Players added"));
+    assertTrue(view.calls.contains("team:The Team Created"));
+  }
+
+  /**
+   * a view remembering the calls it received and the threads they came from.
+   */
+  private static final class RecordingView implements TeamDisplay {
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    private void record(String call) {
+      calls.add(call);
+      threads.add(Thread.currentThread().getName());
+    }
+
+    @Override public void addFeatures(Features features) {
+    }
+
+    @Override public void resetFocus() {
+    }
+
+    @Override public void displayPlayerMessage(String message) {
+      record("message:" + message);
+    }
+
+    @Override public void resetAllInputs() {
+    }
+
+    @Override public void displayTeam(String team, String notification) {
+      record("team:" + notification + team);
+    }
+
+    @Override public void displayRoster(Team team, String notification) {
+      record("roster:" + notification + team.getPlayers().size());
+    }
+
+    @Override public void displayLineUp(String lineUp, String notification) {
+      record("lineUp:" + notification + lineUp);
+    }
+
+    @Override public void displayBench(String bench, String notification) {
+      record("bench:" + notification + bench);
+    }
+
+    @Override public void displayMetrics(String metrics, String notification) {
+      record("metrics:" + notification + metrics);
+    }
+
+    @Override public void switchToAddPlayerPanel() {
+    }
+
+    @Override public void switchToDisplayPanel() {
+    }
+  }
+}
@@ -0,0 +1,111 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.BatchMain;
+import soccerteam.MappedTeam;
+import soccerteam.Position;
+import soccerteam.RosterSnapshot;
+
+/**
+ * A test class for the batch mode running team commands from a script without a window.
+ */
+public class BatchMainTest {
+  private static final String BIRTHDAY = LocalDate.now().minusYears(8).toString();
+  private StringWriter out;
+  private BatchMain batch;
+
+  /**
+   * set up a batch writing to a string.
+   */
+  @Before public void setUp() {
+    out = new StringWriter();
+    batch = new BatchMain(out);
+  }
+
+  private void run(String script) throws IOException {
+    batch.run(new BufferedReader(new StringReader(script)));
+  }
+
+  private static String players(int count) {
+    StringBuilder script = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      script.append("add First").append(i).append(" Last").append(i).append(' ').append(BIRTHDAY)
+          .append(' ').append(Position.values()[i % 4].toString().toLowerCase()).append(' ')
+          .append(i % 5 + 1).append('\n');
+    }
+    return script.toString();
+  }
+
+  /**
+   * test if a script registers players, makes the team and shows its lineUp and bench.
+   */
+  @Test public void testScript() throws IOException {
+    run("# a roster\n\n" + players(12) + "create\nlineup\nbench\n");
+    String output = out.toString();
+    assertTrue(output.contains("12 Players added"));
+    assertTrue(output.contains("The Team Created"));
+    assertTrue(output.contains("LineUp: \nGOALIE:"));
+    assertTrue(output.contains("Bench: \n"));
+    assertEquals(0, batch.getErrorCount());
+  }
+
+  /**
+   * test if rejected players are reported by their rule, and if wrong lines and commands refused
+   * by the controller are counted as errors.
+   */
+  @Test public void testRejectionsAndErrors() throws IOException {
+    run("add Only Name\nadd A B 2015-13-01 GOALIE 3\nadd A B " + BIRTHDAY + " KEEPER 3\n"
+        + "jump\ncreate\nlineup\n");
+    String output = out.toString();
+    assertTrue(output.contains("Line 1: add needs"));
+    assertTrue(output.contains("Invalid date format."));
+    assertTrue(output.contains("Please input a valid position."));
+    assertTrue(output.contains("Line 4: Unknown command jump."));
+    assertTrue(output.contains("Please add more members to the team."));
+    assertTrue(output.contains("Please create a team before trying to display the starting"));
+    assertEquals(5, batch.getErrorCount());
+  }
+
+  /**
+   * test if an import is refused once the team is created, and if rejected rows are errors.
+   */
+  @Test public void testImport() throws IOException {
+    Path file = Files.createTempFile("batch", ".csv");
+    file.toFile().deleteOnExit();
+    Files.write(file, ("Late,Comer," + BIRTHDAY + ",GOALIE,3\nBad,Row,2015-13-01,GOALIE,3\n")
+        .getBytes(StandardCharsets.UTF_8));
+    run(players(10) + "import " + file + "\ncreate\nimport " + file + "\nteam\n");
+    String output = out.toString();
+    assertTrue(output.contains("Rows read: 2, Players added: 1, Rows rejected: 1"));
+    assertTrue(output.contains("Team has been created, you can't add more players."));
+    assertTrue(output.contains("Late, Comer, "));
+    assertFalse(output.contains("Jersey Number: -1"));
+    assertEquals(2, batch.getErrorCount());
+  }
+
+  /**
+   * test if a made team is exported as a snapshot, and if new starts an empty roster.
+   */
+  @Test public void testExportAndNewRoster() throws IOException {
+    Path file = Files.createTempFile("batch", ".snapshot");
+    file.toFile().deleteOnExit();
+    run(players(11) + "create\nexport " + file + "\nnew\ncreate\nexit\nteam\n");
+    MappedTeam mapped = RosterSnapshot.open(file).getTeam();
+    assertEquals(11, mapped.getPlayerCount());
+    String output = out.toString();
+    assertTrue(output.contains("Roster exported to " + file));
+    assertTrue(output.contains("Please add more members to the team. Now we have 0 players"));
+    assertFalse(output.contains("Team: "));
+  }
+}
@@ -0,0 +1,92 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.ConcurrentTeamImpl;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for thread-safe teams. Results are compared with TeamImpl, and concurrent writers
+ * and readers are run against one team.
+ */
+public class ConcurrentTeamImplTest {
+  private LocalDate birthDay;
+
+  /**
+   * create a birthday that is valid for an U-10 team.
+   */
+  @Before public void setUp() {
+    birthDay = LocalDate.now().minusYears(8);
+  }
+
+  /**
+   * test if the lineUp and bench are the same as the ones of TeamImpl.
+   */
+  @Test public void testSameAsTeamImpl() {
+    ConcurrentTeamImpl concurrentTeam = new ConcurrentTeamImpl();
+    TeamImpl team = new TeamImpl();
+    for (int i = 0; i < 15; i++) {
+      Position position = Position.values()[i * 7 % 4];
+      concurrentTeam.addPlayer("Player", Integer.toString(i), birthDay, position, i % 5 + 1);
+      team.addPlayer("Player", Integer.toString(i), birthDay, position, i % 5 + 1);
+    }
+    assertEquals(team.getLineUp(), concurrentTeam.getLineUp());
+    assertEquals(team.getBench(), concurrentTeam.getBench());
+  }
+
+  /**
+   * test if a snapshot keeps the jersey numbers it was taken with until the roster changes.
+   */
+  @Test public void testSnapshotJerseyNumbers() {
+    ConcurrentTeamImpl team = new ConcurrentTeamImpl();
+    for (int i = 0; i < 10; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthDay, Position.DEFENDER, 3);
+    }
+    String before = team.getLineUp();
+    assertTrue(before.contains("Jersey Number: -1"));
+    assertTrue(before == team.getLineUp());
+    team.makeTeam();
+    assertTrue(!team.getLineUp().contains("Jersey Number: -1"));
+  }
+
+  /**
+   * test if concurrent writers and readers leave a complete roster and consistent texts.
+   */
+  @Test public void testConcurrentAccess() throws Exception {
+    ConcurrentTeamImpl team = new ConcurrentTeamImpl(1000, new OptimalLineUpEngine());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int writer = t;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 200; i++) {
+          team.addPlayer("Writer" + writer, Integer.toString(i), birthDay,
+              Position.values()[i % 4], i % 5 + 1);
+        }
+      }));
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 200; i++) {
+          String lineUp = team.getLineUp();
+          assertTrue(lineUp.startsWith("GOALIE:\n"));
+          team.getBench();
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(801, team.getTeam().split("\n").length);
+  }
+}
@@ -0,0 +1,102 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import soccerteam.DraftEngine;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+
+/**
+ * A test class for splitting a pool of players into balanced squads.
+ */
+public class DraftEngineTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  /**
+   * a helper function that makes a pool with goalies, defenders, midfielders and forwards in the
+   * proportions of the formation and a skewed mix of skill levels.
+   */
+  private static List<Player> pool(int size) {
+    Position[] positions = {Position.GOALIE, Position.DEFENDER, Position.DEFENDER,
+        Position.MIDFIELDER, Position.MIDFIELDER, Position.MIDFIELDER, Position.FORWARD};
+    List<Player> players = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      players.add(new PlayerImpl("First" + i, "Last" + i, BIRTHDAY.minusDays(i % 300),
+          positions[i % positions.length], 1 + (i * i) % 5));
+    }
+    return players;
+  }
+
+  /**
+   * test if 60 registrants are split into three squads of 20 with every player used once, the
+   * formation covered and skill totals at most one apart.
+   */
+  @Test public void testClubDraft() {
+    List<Player> players = pool(60);
+    DraftEngine.Draft draft = new DraftEngine().draft(players, 3);
+    assertEquals(3, draft.getTeams().size());
+    Set<Player> used = new HashSet<>();
+    int total = 0;
+    for (int t = 0; t < 3; t++) {
+      assertEquals(20, draft.getTeams().get(t).size());
+      used.addAll(draft.getTeams().get(t));
+      total += draft.getSkillTotal(t);
+    }
+    assertEquals(60, used.size());
+    assertEquals(0, draft.getOutOfPosition());
+    assertTrue(draft.getSkillSpread() <= 1);
+    int expected = 0;
+    for (Player player : players) {
+      expected += player.getSkillLevel();
+    }
+    assertEquals(expected, total);
+  }
+
+  /**
+   * test if a pool short of goalies gets them spread over the squads first.
+   */
+  @Test public void testScarcePosition() {
+    List<Player> players = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      Position position = i < 2 ? Position.GOALIE : Position.values()[1 + i % 3];
+      players.add(new PlayerImpl("First" + i, "Last" + i, BIRTHDAY, position, i < 2 ? 5 : 1));
+    }
+    DraftEngine.Draft draft = new DraftEngine().draft(players, 2);
+    for (int t = 0; t < 2; t++) {
+      assertEquals(1, draft.getTeams().get(t).stream()
+          .filter(player -> player.getPreferredPosition() == Position.GOALIE).count());
+    }
+  }
+
+  /**
+   * test if a pool of 10k players is split into 500 squads within seconds, and if the result does
+   * not depend on the number of threads.
+   */
+  @Test public void testLargePool() {
+    List<Player> players = pool(10_000);
+    long start = System.nanoTime();
+    DraftEngine.Draft draft = new DraftEngine().draft(players, 500);
+    assertTrue(System.nanoTime() - start < 10_000_000_000L);
+    assertEquals(0, draft.getOutOfPosition());
+    assertTrue(draft.getSkillSpread() <= 1);
+    Map<Position, Integer> slots = Map.of(Position.GOALIE, 1, Position.DEFENDER, 2,
+        Position.MIDFIELDER, 3, Position.FORWARD, 1);
+    DraftEngine.Draft single = new DraftEngine(new ForkJoinPool(1), slots).draft(players, 500);
+    assertEquals(draft.getTeams(), single.getTeams());
+  }
+
+  /**
+   * test if invalid team counts are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class) public void testTooManyTeams() {
+    new DraftEngine().draft(pool(3), 4);
+  }
+}
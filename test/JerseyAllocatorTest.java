@@ -0,0 +1,135 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+import soccerteam.AgeGroup;
+import soccerteam.JerseyAllocator;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.Position;
+import soccerteam.SeasonEligibility;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for jersey numbers handed out by the allocator, alone and through teams.
+ */
+public class JerseyAllocatorTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+
+  private static TeamImpl team(JerseyAllocator allocator) {
+    return new TeamImpl(20, new OptimalLineUpEngine(),
+        new SeasonEligibility(LocalDate.now(), AgeGroup.U10), AgeGroup.U10, allocator);
+  }
+
+  private static Map<String, Integer> numbers(TeamImpl team) {
+    Map<String, Integer> numbers = new HashMap<>();
+    for (String line : team.getTeam().split("\n")) {
+      if (line.contains("Jersey Number: ")) {
+        numbers.put(line.split(", ")[1],
+            Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1)));
+      }
+    }
+    return numbers;
+  }
+
+  /**
+   * test if the same seed gives the same numbers and every number of the range is used once.
+   */
+  @Test public void testSeed() {
+    JerseyAllocator first = new JerseyAllocator(1, 20, 7);
+    JerseyAllocator second = new JerseyAllocator(1, 20, 7);
+    boolean[] used = new boolean[21];
+    for (int i = 0; i < 20; i++) {
+      int number = first.allocate();
+      assertEquals(number, second.allocate());
+      assertFalse(used[number]);
+      used[number] = true;
+    }
+    assertEquals(0, first.getFreeCount());
+    first.release(4);
+    assertEquals(4, first.allocate());
+  }
+
+  /**
+   * test if every number of a range far above 32767 is handed out once, with no number left.
+   */
+  @Test public void testLargeRange() {
+    JerseyAllocator allocator = new JerseyAllocator(1, 100_000, 5);
+    boolean[] used = new boolean[100_001];
+    for (int i = 0; i < 100_000; i++) {
+      int number = allocator.allocate();
+      assertTrue(allocator.inRange(number));
+      assertFalse(used[number]);
+      used[number] = true;
+    }
+    assertEquals(0, allocator.getFreeCount());
+    allocator.release(65_537);
+    assertEquals(1, allocator.getFreeCount());
+    assertEquals(65_537, allocator.allocate());
+  }
+
+  /**
+   * test if a team honors requests and keeps numbers when the roster changes.
+   */
+  @Test public void testStability() {
+    TeamImpl team = team(new JerseyAllocator(1, 99, 11));
+    for (int i = 0; i < 20; i++) {
+      team.addPlayer("Player", "P" + i, BIRTHDAY, Position.values()[i % 4], i % 4 + 2);
+    }
+    team.requestJerseyNumber("Player", "P3", BIRTHDAY, 77);
+    team.makeTeam();
+    Map<String, Integer> before = numbers(team);
+    assertEquals(77, (int) before.get("P3"));
+
+    team.addPlayer("Player", "New", BIRTHDAY, Position.GOALIE, 5);
+    team.requestJerseyNumber("Player", "P5", BIRTHDAY, 77);
+    team.makeTeam();
+    Map<String, Integer> after = numbers(team);
+    assertEquals(20, after.size());
+    for (Map.Entry<String, Integer> entry : after.entrySet()) {
+      if (!entry.getKey().equals("New")) {
+        assertEquals(before.get(entry.getKey()), entry.getValue());
+      }
+    }
+    assertEquals(20, new ArrayList<>(after.values()).stream().distinct().count());
+  }
+
+  /**
+   * test if threads sharing one allocator never get the same number.
+   */
+  @Test public void testConcurrentAllocation() throws InterruptedException {
+    JerseyAllocator allocator = new JerseyAllocator(1, 8000, 3);
+    Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          assertTrue(numbers.add(allocator.allocate(i % 3 == 0 ? i + 1 : 0)));
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(8000, numbers.size());
+    assertEquals(0, allocator.getFreeCount());
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when a team has fewer numbers than
+   * players.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRangeTooSmall() {
+    team(new JerseyAllocator(10, 20, 1));
+  }
+}
@@ -0,0 +1,92 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.League;
+import soccerteam.LeagueImpl;
+import soccerteam.Position;
+import soccerteam.Team;
+import soccerteam.TeamKey;
+
+/**
+ * A test class for leagues. Registration, concurrent additions and bulk team creation are tested.
+ */
+public class LeagueImplTest {
+  private League league;
+  private LocalDate birthDay;
+
+  /**
+   * create an empty league and a birthday that is valid for an U-10 team.
+   */
+  @Before public void setUp() {
+    league = new LeagueImpl();
+    birthDay = LocalDate.now().minusYears(8);
+  }
+
+  /**
+   * test if registering the same club and age group twice returns the same team.
+   */
+  @Test public void testRegisterTeam() {
+    Team team1 = league.registerTeam("Riverside", "U-10");
+    Team team2 = league.registerTeam("Riverside", "U-10");
+    league.registerTeam("Riverside", "U-8");
+    assertSame(team1, team2);
+    assertEquals(2, league.size());
+    assertTrue(league.getTeamKeys().contains(new TeamKey("Riverside", "U-8")));
+  }
+
+  /**
+   * test if looking up a team that was never registered is refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetUnknownTeam() {
+    league.getTeam("Nowhere", "U-10");
+  }
+
+  /**
+   * test if many threads can fill many teams at the same time.
+   */
+  @Test public void testConcurrentAddPlayer() throws InterruptedException {
+    int teams = 50;
+    for (int t = 0; t < teams; t++) {
+      league.registerTeam("Club" + t, "U-10");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < teams; t++) {
+      String club = "Club" + t;
+      for (int i = 0; i < 12; i++) {
+        String firstName = "Player" + i;
+        executor.execute(() -> league.addPlayer(club, "U-10", firstName, "Doe", birthDay,
+            Position.MIDFIELDER, 3));
+      }
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    Map<TeamKey, String> failures = league.makeAllTeams();
+    assertTrue(failures.isEmpty());
+    String team = league.withTeam("Club7", "U-10", Team::getTeam);
+    assertEquals(13, team.split("\n").length);
+  }
+
+  /**
+   * test if teams with too few players are reported by makeAllTeams without stopping the others.
+   */
+  @Test public void testMakeAllTeamsFailures() {
+    league.registerTeam("Small", "U-10");
+    league.registerTeam("Full", "U-10");
+    for (int i = 0; i < 10; i++) {
+      league.addPlayer("Full", "U-10", "Player" + i, "Doe", birthDay, Position.FORWARD, 2);
+    }
+    Map<TeamKey, String> failures = league.makeAllTeams();
+    assertEquals(1, failures.size());
+    assertTrue(failures.containsKey(new TeamKey("Small", "U-10")));
+  }
+}
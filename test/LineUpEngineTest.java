@@ -0,0 +1,87 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.GreedyLineUpEngine;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+
+/**
+ * A test class for lineUp engines. The greedy and the optimal engine are compared on a roster where
+ * the greedy choice is not the best one.
+ */
+public class LineUpEngineTest {
+  private static final Map<Position, Integer> SLOTS = Map.of(Position.GOALIE, 1,
+      Position.DEFENDER, 2, Position.MIDFIELDER, 3, Position.FORWARD, 1);
+  private List<Player> candidates;
+
+  /**
+   * create a roster with two strong forwards and weak midfielders, ordered by skill levels.
+   */
+  @Before public void setUp() {
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    candidates = new ArrayList<>();
+    candidates.add(new PlayerImpl("Amy", "Forward", birthDay, Position.FORWARD, 5));
+    candidates.add(new PlayerImpl("Ben", "Forward", birthDay, Position.FORWARD, 5));
+    candidates.add(new PlayerImpl("Cat", "Goalie", birthDay, Position.GOALIE, 4));
+    candidates.add(new PlayerImpl("Dan", "Defender", birthDay, Position.DEFENDER, 4));
+    candidates.add(new PlayerImpl("Eve", "Defender", birthDay, Position.DEFENDER, 4));
+    candidates.add(new PlayerImpl("Fay", "Midfielder", birthDay, Position.MIDFIELDER, 1));
+    candidates.add(new PlayerImpl("Gus", "Midfielder", birthDay, Position.MIDFIELDER, 1));
+    candidates.add(new PlayerImpl("Hal", "Midfielder", birthDay, Position.MIDFIELDER, 1));
+  }
+
+  /**
+   * test if the greedy engine keeps the weak midfielders in their preferred position.
+   */
+  @Test public void testGreedyLineUp() {
+    Map<Position, List<Player>> lineUp = new GreedyLineUpEngine().makeLineUp(candidates, SLOTS);
+    assertEquals(3, lineUp.get(Position.MIDFIELDER).size());
+    assertEquals(1, lineUp.get(Position.FORWARD).size());
+    assertTrue(lineUp.get(Position.MIDFIELDER).stream().allMatch(p -> p.getSkillLevel() == 1));
+  }
+
+  /**
+   * test if the optimal engine plays the second forward in midfield, as 5 - 2 beats 1.
+   */
+  @Test public void testOptimalLineUp() {
+    Map<Position, List<Player>> lineUp = new OptimalLineUpEngine().makeLineUp(candidates, SLOTS);
+    assertEquals("Amy", lineUp.get(Position.FORWARD).get(0).getFirstName());
+    assertEquals("Ben", lineUp.get(Position.MIDFIELDER).get(0).getFirstName());
+    assertEquals(3, lineUp.get(Position.MIDFIELDER).size());
+    assertEquals(2, lineUp.get(Position.DEFENDER).size());
+    assertEquals(1, lineUp.get(Position.GOALIE).size());
+  }
+
+  /**
+   * test if a high penalty makes the optimal engine agree with the greedy one.
+   */
+  @Test public void testOptimalLineUpHighPenalty() {
+    Map<Position, List<Player>> lineUp = new OptimalLineUpEngine(5).makeLineUp(candidates, SLOTS);
+    assertTrue(lineUp.get(Position.MIDFIELDER).stream().allMatch(p -> p.getSkillLevel() == 1));
+  }
+
+  /**
+   * test if every slot is filled even when nobody prefers a position.
+   */
+  @Test public void testFillAllSlots() {
+    candidates.remove(2);
+    Map<Position, List<Player>> lineUp = new OptimalLineUpEngine().makeLineUp(candidates, SLOTS);
+    assertEquals(1, lineUp.get(Position.GOALIE).size());
+  }
+
+  /**
+   * test if a negative penalty is refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativePenalty() {
+    new OptimalLineUpEngine(-1);
+  }
+}
@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.LineUpSimulator;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for simulating the lineUp of a team with players absent.
+ */
+public class LineUpSimulatorTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private TeamImpl team;
+  private LineUpSimulator simulator;
+
+  /**
+   * set up a team of 15 players with one goalie only.
+   */
+  @Before public void setUp() {
+    team = new TeamImpl();
+    team.addPlayer("Only", "Goalie", BIRTHDAY, Position.GOALIE, 3);
+    Position[] field = {Position.DEFENDER, Position.MIDFIELDER, Position.FORWARD};
+    for (int i = 0; i < 14; i++) {
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY, field[i % 3], 1 + i % 5);
+    }
+    simulator = new LineUpSimulator();
+  }
+
+  private Player player(String firstName, String lastName) {
+    return new PlayerImpl(firstName, lastName, BIRTHDAY, Position.FORWARD, 1);
+  }
+
+  /**
+   * test if the scenario without absences gives the lineUp of the team, and if the team is left
+   * as it was.
+   */
+  @Test public void testNoAbsence() {
+    String lineUp = team.getLineUp();
+    long version = team.getVersion();
+    List<LineUpSimulator.Outcome> outcomes = simulator.simulate(team, List.of(Set.of()));
+    assertEquals(1, outcomes.size());
+    assertEquals(lineUp, outcomes.get(0).toString());
+    assertEquals(7, outcomes.get(0).getFilledSlots());
+    assertEquals(version, team.getVersion());
+  }
+
+  /**
+   * test if scenarios are ranked by their lineUps: missing the only goalie costs more than
+   * missing a weak player, and missing a strong player costs skill.
+   */
+  @Test public void testRanking() {
+    List<Set<Player>> scenarios = new ArrayList<>();
+    scenarios.add(Set.of(player("Only", "Goalie")));
+    scenarios.add(Set.of(player("Player", "0")));
+    scenarios.add(Set.of(player("Player", "4"), player("Player", "9")));
+    List<LineUpSimulator.Outcome> outcomes = simulator.simulate(team, scenarios);
+    assertEquals(1, outcomes.get(0).getScenario());
+    assertEquals(2, outcomes.get(1).getScenario());
+    assertEquals(0, outcomes.get(2).getScenario());
+    assertTrue(outcomes.get(0).getSkillTotal() > outcomes.get(1).getSkillTotal());
+    assertEquals(1, outcomes.get(2).getOutOfPosition() - outcomes.get(0).getOutOfPosition());
+    assertEquals("Goalie", outcomes.get(2).getAbsent().get(0).getLastName());
+    for (List<Player> group : outcomes.get(1).getLineUp().values()) {
+      for (Player player : group) {
+        assertTrue(!player.getLastName().equals("4") && !player.getLastName().equals("9"));
+      }
+    }
+  }
+
+  /**
+   * test if a player who is not in the team is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class) public void testUnknownPlayer() {
+    simulator.simulate(team, List.of(Set.of(player("Not", "There"))));
+  }
+}
@@ -0,0 +1,114 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.ConcurrentTeamImpl;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.Player;
+import soccerteam.PlayerQuery;
+import soccerteam.Position;
+import soccerteam.Team;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for reading sorted, filtered pages of players through Team.query.
+ */
+public class PlayerQueryTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private TeamImpl team;
+  private ConcurrentTeamImpl concurrentTeam;
+
+  /**
+   * set up two teams holding the same 40 players, with birthdays and skill levels spread out.
+   */
+  @Before public void setUp() {
+    team = new TeamImpl(40);
+    concurrentTeam = new ConcurrentTeamImpl(40, new OptimalLineUpEngine());
+    for (int i = 0; i < 40; i++) {
+      String lastName = "Last" + (char) ('A' + i % 26) + i;
+      LocalDate dateOfBirth = BIRTHDAY.minusDays(i * 7 % 40);
+      team.addPlayer("First", lastName, dateOfBirth, Position.values()[i % 4], 1 + i % 5);
+      concurrentTeam.addPlayer("First", lastName, dateOfBirth, Position.values()[i % 4],
+          1 + i % 5);
+    }
+    team.makeTeam();
+    concurrentTeam.makeTeam();
+  }
+
+  private static List<Player> sorted(Team team, PlayerQuery query) {
+    List<Player> players = new ArrayList<>(team.getPlayers());
+    players.removeIf(player -> !query.matches(player));
+    players.sort(query.getOrder().getComparator());
+    return players;
+  }
+
+  private static List<String> names(List<Player> players) {
+    return players.stream().map(Player::getLastName).collect(Collectors.toList());
+  }
+
+  /**
+   * test if every order and filter returns the kept players sorted like a full sort would.
+   */
+  @Test public void testOrdersAndFilters() {
+    for (PlayerQuery.Order order : PlayerQuery.Order.values()) {
+      PlayerQuery all = new PlayerQuery(order);
+      PlayerQuery filtered = new PlayerQuery(order, Position.DEFENDER, 2, 4);
+      for (Team t : new Team[] {team, concurrentTeam}) {
+        assertEquals(names(sorted(t, all)),
+            names(t.query(all).collect(Collectors.toList())));
+        assertEquals(names(sorted(t, filtered)),
+            names(t.query(filtered).collect(Collectors.toList())));
+      }
+    }
+  }
+
+  /**
+   * test if reading page after page with a cursor returns every player once, in order, like
+   * reading pages with skip and limit.
+   */
+  @Test public void testPages() {
+    for (PlayerQuery.Order order : PlayerQuery.Order.values()) {
+      for (Team t : new Team[] {team, concurrentTeam}) {
+        PlayerQuery query = new PlayerQuery(order, null, 2, 5);
+        List<Player> byCursor = new ArrayList<>();
+        List<Player> byOffset = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+          List<Player> players = t.query(query).limit(7).collect(Collectors.toList());
+          byCursor.addAll(players);
+          byOffset.addAll(t.query(new PlayerQuery(order, null, 2, 5)).skip(page * 7L).limit(7)
+              .collect(Collectors.toList()));
+          if (!players.isEmpty()) {
+            query = query.after(players.get(players.size() - 1));
+          }
+        }
+        assertEquals(32, byCursor.size());
+        assertEquals(names(sorted(t, query)), names(byCursor));
+        assertEquals(names(byOffset), names(byCursor));
+      }
+    }
+  }
+
+  /**
+   * test if sorting by jersey number follows the numbers given by makeTeam.
+   */
+  @Test public void testJerseyNumbers() {
+    List<Player> byJersey = team.query(new PlayerQuery(PlayerQuery.Order.JERSEY_NUMBER))
+        .collect(Collectors.toList());
+    assertEquals(40, byJersey.size());
+    for (int i = 1; i < byJersey.size(); i++) {
+      assertTrue(byJersey.get(i - 1).getJerseyNumber() < byJersey.get(i).getJerseyNumber());
+    }
+  }
+
+  /**
+   * test if a range of skill levels going down is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class) public void testWrongSkillRange() {
+    new PlayerQuery(PlayerQuery.Order.SKILL, null, 4, 2);
+  }
+}
@@ -0,0 +1,107 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.PlayerStore;
+import soccerteam.Position;
+
+/**
+ * A test class for the columnar player store. Views are compared with PlayerImpl, which follows
+ * the same rules and prints the same text.
+ */
+public class PlayerStoreTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private PlayerStore store;
+
+  /**
+   * create a store holding three players, two of them sharing a first name.
+   */
+  @Before public void setUp() {
+    store = new PlayerStore();
+    store.add("Astuka", "Soryu", BIRTHDAY, Position.FORWARD, 4);
+    store.add("Amber", "UB-001", BIRTHDAY.minusDays(40), Position.GOALIE, 3);
+    store.add("Astuka", "Langley", BIRTHDAY.plusDays(3), Position.DEFENDER, 5);
+  }
+
+  /**
+   * test if a view gives back every field and prints like PlayerImpl.
+   */
+  @Test public void testView() {
+    Player view = store.get(1);
+    PlayerImpl player = new PlayerImpl("Amber", "UB-001", BIRTHDAY.minusDays(40),
+        Position.GOALIE, 3);
+    assertEquals("Amber", view.getFirstName());
+    assertEquals("UB-001", view.getLastName());
+    assertEquals(BIRTHDAY.minusDays(40), view.getDateOfBirth());
+    assertEquals(Position.GOALIE, view.getPreferredPosition());
+    assertEquals(3, view.getSkillLevel());
+    assertEquals(-1, view.getJerseyNumber());
+    assertEquals(player.toString(), view.toString());
+
+    store.assignJerseyNumber(1, 7);
+    assertEquals(7, view.getJerseyNumber());
+    assertTrue(view.toString().endsWith("Jersey Number: 7\n"));
+  }
+
+  /**
+   * test if names are stored once and a cursor walks over all players in order.
+   */
+  @Test public void testCursor() {
+    assertEquals(3, store.size());
+    assertEquals(5, store.getNameCount());
+    PlayerStore.Cursor cursor = store.cursor();
+    int skillLevels = 0;
+    int count = 0;
+    while (cursor.next()) {
+      assertEquals(count, cursor.getIndex());
+      skillLevels += cursor.getSkillLevel();
+      count++;
+    }
+    assertEquals(3, count);
+    assertEquals(12, skillLevels);
+    assertFalse(cursor.next());
+    assertEquals("Langley", cursor.moveTo(2).getLastName());
+    assertEquals((int) BIRTHDAY.plusDays(3).toEpochDay(), store.getEpochDay(2));
+  }
+
+  /**
+   * test if the store grows past its initial capacity.
+   */
+  @Test public void testGrow() {
+    for (int i = 0; i < 5000; i++) {
+      store.add("Player", Integer.toString(i), BIRTHDAY, Position.MIDFIELDER, i % 5 + 1);
+    }
+    assertEquals(5003, store.size());
+    assertEquals("4999", store.get(5002).getLastName());
+    assertEquals(Position.MIDFIELDER, store.getPreferredPosition(5002));
+  }
+
+  /**
+   * test if the store rejects the players PlayerImpl rejects.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAgeException() {
+    store.add("Oumae", "Kumiko", LocalDate.now().minusYears(11), Position.MIDFIELDER, 4);
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when invalid skill levels are given.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSkillException() {
+    store.add("Oumae", "Kumiko", BIRTHDAY, Position.MIDFIELDER, 6);
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when a jersey number does not fit.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testJerseyException() {
+    store.assignJerseyNumber(0, 128);
+  }
+}
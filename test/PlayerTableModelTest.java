@@ -0,0 +1,104 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.Player;
+import soccerteam.PlayerTableModel;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for the table model following the roster of a team row by row.
+ */
+public class PlayerTableModelTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private PlayerTableModel model;
+  private TeamImpl team;
+  private List<TableModelEvent> events;
+
+  /**
+   * set up a table model listening to an empty team.
+   */
+  @Before public void setUp() {
+    model = new PlayerTableModel();
+    team = new TeamImpl();
+    team.addRosterListener(model);
+    events = new ArrayList<>();
+    model.addTableModelListener(events::add);
+  }
+
+  private void addPlayers(int count) {
+    for (int i = 0; i < count; i++) {
+      team.addPlayer("First" + i, "Last" + i, BIRTHDAY, Position.values()[i % 4], 1 + i % 5);
+    }
+  }
+
+  /**
+   * a helper function that waits until the changes posted to the event dispatch thread are done.
+   */
+  private static void awaitEdt() throws InterruptedException, InvocationTargetException {
+    SwingUtilities.invokeAndWait(() -> { });
+  }
+
+  /**
+   * test if every added player inserts one row holding its fields.
+   */
+  @Test public void testPlayerAdded() throws Exception {
+    addPlayers(3);
+    awaitEdt();
+    assertEquals(3, model.getRowCount());
+    assertEquals(3, events.size());
+    assertEquals(TableModelEvent.INSERT, events.get(2).getType());
+    assertEquals(2, events.get(2).getFirstRow());
+    assertEquals("First2", model.getValueAt(2, 0));
+    assertEquals(BIRTHDAY, model.getValueAt(2, 2));
+    assertEquals(Position.MIDFIELDER, model.getValueAt(2, 3));
+    assertEquals(3, model.getValueAt(2, 4));
+    assertNull(model.getValueAt(2, 5));
+  }
+
+  /**
+   * test if a dropped player deletes only the last row, which takes the place of the dropped one.
+   */
+  @Test public void testPlayerDropped() throws Exception {
+    addPlayers(21);
+    awaitEdt();
+    assertEquals(20, model.getRowCount());
+    TableModelEvent deleted = events.get(events.size() - 1);
+    assertEquals(TableModelEvent.DELETE, deleted.getType());
+    assertEquals(20, deleted.getFirstRow());
+    assertEquals(20, deleted.getLastRow());
+    Set<Player> rows = new HashSet<>();
+    for (int row = 0; row < model.getRowCount(); row++) {
+      rows.add(model.getPlayer(row));
+    }
+    assertEquals(new HashSet<>(team.getPlayers()), rows);
+  }
+
+  /**
+   * test if making the team updates the jersey column of every row and nothing else.
+   */
+  @Test public void testTeamMade() throws Exception {
+    addPlayers(12);
+    team.makeTeam();
+    awaitEdt();
+    TableModelEvent made = events.get(events.size() - 1);
+    assertEquals(TableModelEvent.UPDATE, made.getType());
+    assertEquals(0, made.getFirstRow());
+    assertEquals(11, made.getLastRow());
+    assertEquals(5, made.getColumn());
+    for (int row = 0; row < model.getRowCount(); row++) {
+      assertTrue((Integer) model.getValueAt(row, 5) > 0);
+    }
+  }
+}
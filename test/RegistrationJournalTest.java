@@ -0,0 +1,251 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.Position;
+import soccerteam.RegistrationJournal;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for the registration journal. A team replayed from its journal must hold the same
+ * players and jersey numbers as the team that wrote it.
+ */
+public class RegistrationJournalTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private Path file;
+
+  /**
+   * create an empty directory holding the journal.
+   */
+  @Before public void setUp() throws IOException {
+    Path directory = Files.createTempDirectory("journal");
+    directory.toFile().deleteOnExit();
+    file = directory.resolve("team.journal");
+  }
+
+  private static void register(TeamImpl team, int count) {
+    for (int i = 0; i < count; i++) {
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY.minusDays(i),
+          Position.values()[i % 4], i % 5 + 1);
+    }
+  }
+
+  /**
+   * test if additions, evictions and jersey numbers come back after a restart.
+   */
+  @Test public void testReplay() throws IOException {
+    TeamImpl team = new TeamImpl();
+    RegistrationJournal journal = RegistrationJournal.open(file, team);
+    register(team, 25);
+    team.makeTeam();
+    journal.close();
+
+    TeamImpl restored = new TeamImpl();
+    RegistrationJournal.open(file, restored).close();
+    assertEquals(team.getTeam(), restored.getTeam());
+    assertEquals(team.getLineUp(), restored.getLineUp());
+    assertFalse(restored.hasPlayer("Player", "0", BIRTHDAY));
+  }
+
+  /**
+   * test if an entry torn by a crash is dropped and the journal keeps working.
+   */
+  @Test public void testTornEntry() throws IOException {
+    TeamImpl team = new TeamImpl();
+    RegistrationJournal journal = RegistrationJournal.open(file, team);
+    register(team, 12);
+    journal.close();
+    Files.write(file, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+    TeamImpl restored = new TeamImpl();
+    journal = RegistrationJournal.open(file, restored);
+    restored.addPlayer("Late", "Comer", BIRTHDAY, Position.GOALIE, 5);
+    journal.close();
+    TeamImpl again = new TeamImpl();
+    RegistrationJournal.open(file, again).close();
+    assertTrue(again.hasPlayer("Late", "Comer", BIRTHDAY));
+    assertTrue(again.hasPlayer("Player", "11", BIRTHDAY.minusDays(11)));
+  }
+
+  /**
+   * test if a journal past its threshold is compacted into a snapshot and still replays.
+   */
+  @Test public void testCompaction() throws IOException {
+    TeamImpl team = new TeamImpl();
+    RegistrationJournal journal = RegistrationJournal.open(file, team, true, 300);
+    register(team, 30);
+    team.makeTeam();
+    assertTrue(journal.size() <= 300 + 400);
+    journal.close();
+    assertTrue(Files.exists(file.resolveSibling("team.journal.snapshot")));
+
+    TeamImpl restored = new TeamImpl();
+    RegistrationJournal.open(file, restored).close();
+    assertEquals(team.getTeam(), restored.getTeam());
+  }
+
+  /**
+   * test if a crash between writing the snapshot and emptying the journal replays only the
+   * entries the snapshot does not hold. The first team gives a number to a player who is then
+   * dropped, and the second team gives that number to the player who took their place.
+   */
+  @Test public void testCrashBeforeTruncate() throws IOException {
+    TeamImpl team = new TeamImpl(10);
+    RegistrationJournal journal = RegistrationJournal.open(file, team);
+    register(team, 10);
+    team.makeTeam();
+    team.addPlayer("Late", "Comer", BIRTHDAY, Position.GOALIE, 5);
+    team.makeTeam();
+    team.addPlayer("Later", "Comer", BIRTHDAY, Position.GOALIE, 5);
+    byte[] uncompacted = Files.readAllBytes(file);
+    journal.compact();
+    String compacted = team.getTeam();
+    team.addPlayer("Last", "Comer", BIRTHDAY, Position.GOALIE, 5);
+    journal.close();
+    byte[] afterCompaction = Files.readAllBytes(file);
+    Files.write(file, uncompacted);
+
+    TeamImpl restored = new TeamImpl(10);
+    RegistrationJournal.open(file, restored).close();
+    assertEquals(compacted, restored.getTeam());
+
+    Files.write(file, afterCompaction);
+    TeamImpl again = new TeamImpl(10);
+    RegistrationJournal.open(file, again).close();
+    assertEquals(team.getTeam(), again.getTeam());
+  }
+
+  /**
+   * test if a thread interrupted before its change still waits for the entry, finds its interrupt
+   * status set again, and leaves a journal that keeps working.
+   */
+  @Test public void testInterruptedChange() throws IOException {
+    TeamImpl team = new TeamImpl();
+    RegistrationJournal journal = RegistrationJournal.open(file, team, true, 300);
+    register(team, 12);
+    Thread.currentThread().interrupt();
+    register(team, 20);
+    assertTrue(Thread.interrupted());
+    team.addPlayer("Late", "Comer", BIRTHDAY, Position.GOALIE, 5);
+    journal.close();
+
+    TeamImpl restored = new TeamImpl();
+    RegistrationJournal.open(file, restored).close();
+    assertEquals(team.getPlayers().toString(), restored.getPlayers().toString());
+  }
+
+  /**
+   * test if a name too long for the journal is refused before the team changes.
+   */
+  @Test public void testLongName() throws IOException {
+    TeamImpl team = new TeamImpl();
+    RegistrationJournal journal = RegistrationJournal.open(file, team);
+    char[] name = new char[25000];
+    Arrays.fill(name, '\u20ac');
+    try {
+      team.addPlayer(new String(name), "Lee", BIRTHDAY, Position.GOALIE, 3);
+      fail("A name of 75000 bytes must be refused.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(team.getPlayers().isEmpty());
+    }
+    team.addPlayer("Ada", "Lee", BIRTHDAY, Position.GOALIE, 3);
+    journal.close();
+
+    TeamImpl restored = new TeamImpl();
+    RegistrationJournal.open(file, restored).close();
+    assertEquals(1, restored.getPlayers().size());
+  }
+
+  /**
+   * test if a burst of registrations shares forces when callers do not wait for each entry.
+   */
+  @Test public void testGroupCommit() throws IOException {
+    TeamImpl team = new TeamImpl(1000, new OptimalLineUpEngine());
+    RegistrationJournal journal = RegistrationJournal.open(file, team, false, 1L << 30);
+    register(team, 500);
+    journal.awaitCommit();
+    assertEquals(500, journal.getEntryCount());
+    assertTrue(journal.getCommitCount() < journal.getEntryCount());
+    journal.close();
+
+    TeamImpl restored = new TeamImpl(1000, new OptimalLineUpEngine());
+    RegistrationJournal.open(file, restored).close();
+    assertTrue(restored.hasPlayer("Player", "499", BIRTHDAY.minusDays(499)));
+  }
+
+  /**
+   * test if jersey numbers above 32767 of a tryout pool come back after a restart.
+   */
+  @Test public void testLargePool() throws IOException {
+    TeamImpl team = new TeamImpl(40_000, new OptimalLineUpEngine());
+    RegistrationJournal journal = RegistrationJournal.open(file, team, false, 1L << 30);
+    for (int i = 0; i < 40_000; i++) {
+      team.addPlayer("Player", Integer.toString(i), BIRTHDAY, Position.values()[i % 4],
+          i % 5 + 1);
+    }
+    team.makeTeam();
+    journal.close();
+
+    TeamImpl restored = new TeamImpl(40_000, new OptimalLineUpEngine());
+    RegistrationJournal.open(file, restored).close();
+    assertEquals(team.getTeam(), restored.getTeam());
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when a journal gives two players the
+   * same jersey number.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateJerseyNumber() throws IOException {
+    TeamImpl team = new TeamImpl();
+    RegistrationJournal journal = RegistrationJournal.open(file, team);
+    register(team, 12);
+    journal.close();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(3);
+      out.writeInt(2);
+      for (int i = 0; i < 2; i++) {
+        out.writeUTF("Player");
+        out.writeUTF(Integer.toString(i));
+        out.writeInt((int) BIRTHDAY.minusDays(i).toEpochDay());
+        out.writeInt(7);
+      }
+    }
+    byte[] entry = bytes.toByteArray();
+    CRC32 crc = new CRC32();
+    crc.update(entry);
+    ByteArrayOutputStream framed = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(framed)) {
+      out.writeInt(entry.length);
+      out.writeInt((int) crc.getValue());
+      out.write(entry);
+    }
+    Files.write(file, framed.toByteArray(), StandardOpenOption.APPEND);
+    RegistrationJournal.open(file, new TeamImpl());
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when the team already has players.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTeamNotEmpty() throws IOException {
+    TeamImpl team = new TeamImpl();
+    register(team, 1);
+    RegistrationJournal.open(file, team);
+  }
+}
@@ -0,0 +1,131 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.ImportReport;
+import soccerteam.Position;
+import soccerteam.RosterImporter;
+import soccerteam.TeamImpl;
+import soccerteam.TeamMetrics;
+
+/**
+ * A test class for roster imports. CSV and JSON lines imports, and the rejection report are tested.
+ */
+public class RosterImporterTest {
+  private TeamImpl team;
+  private String birthDay;
+
+  /**
+   * create an empty team and a birthday that is valid for an U-10 team.
+   */
+  @Before public void setUp() {
+    team = new TeamImpl();
+    birthDay = LocalDate.now().minusYears(8).toString();
+  }
+
+  /**
+   * test if valid CSV rows are added and the header row is skipped.
+   */
+  @Test public void testImportCsv() throws IOException {
+    String csv = "firstName,lastName,dateOfBirth,preferredPosition,skillLevel\n"
+        + "Amy,Doe," + birthDay + ",GOALIE,4\n"
+        + "\"Ben\",\"O'Neil, Jr\"," + birthDay + ",FORWARD,3\n";
+    StringWriter rejections = new StringWriter();
+    ImportReport report = new RosterImporter(team, 1).importCsv(new StringReader(csv),
+        rejections);
+    assertEquals(2, report.getRowsRead());
+    assertEquals(2, report.getPlayersAdded());
+    assertEquals("", rejections.toString());
+  }
+
+  /**
+   * test if invalid rows are reported with their line numbers and reasons.
+   */
+  @Test public void testRejections() throws IOException {
+    String csv = "Amy,Doe," + birthDay + ",GOALIE,4\n"
+        + "Ben,Doe,01/02/2016,GOALIE,4\n"
+        + "Cat,Doe," + birthDay + ",KEEPER,4\n"
+        + "Dan,Doe," + birthDay + ",GOALIE,9\n"
+        + "Eve,Doe\n";
+    StringWriter rejections = new StringWriter();
+    ImportReport report = new RosterImporter(team).importCsv(new StringReader(csv), rejections);
+    assertEquals(5, report.getRowsRead());
+    assertEquals(1, report.getPlayersAdded());
+    assertEquals(4, report.getRowsRejected());
+    String text = rejections.toString();
+    assertTrue(text.contains("2,\"Invalid date format."));
+    assertTrue(text.contains("3,\"Please input a valid position.\""));
+    assertTrue(text.contains("4,\"Add failed! Skill level must be between 1 and 5.\""));
+    assertTrue(text.contains("5,\"Please input complete player information.\""));
+  }
+
+  /**
+   * test if rows repeating a player of the team or of the same file are rejected as duplicates.
+   */
+  @Test public void testDuplicates() throws IOException {
+    team.addPlayer("Amy", "Doe", LocalDate.parse(birthDay), Position.GOALIE, 4);
+    String csv = "Amy,Doe," + birthDay + ",GOALIE,4\n"
+        + "Ben,Doe," + birthDay + ",GOALIE,4\n"
+        + "Ben,Doe," + birthDay + ",FORWARD,2\n";
+    StringWriter rejections = new StringWriter();
+    ImportReport report = new RosterImporter(team).importCsv(new StringReader(csv), rejections);
+    assertEquals(1, report.getPlayersAdded());
+    assertEquals(2, report.getRowsRejected());
+    assertEquals("1,\"This player has already been added. Please confirm and try again.\"\n"
+        + "3,\"This player has already been added. Please confirm and try again.\"\n",
+        rejections.toString());
+  }
+
+  /**
+   * test if JSON lines rows are added and malformed lines are rejected.
+   */
+  @Test public void testImportJsonLines() throws IOException {
+    String json = "{\"firstName\":\"Amy\",\"lastName\":\"Doe\",\"dateOfBirth\":\"" + birthDay
+        + "\",\"preferredPosition\":\"DEFENDER\",\"skillLevel\":2}\n"
+        + "{\"firstName\":\"Ben\"\n";
+    StringWriter rejections = new StringWriter();
+    ImportReport report = new RosterImporter(team).importJsonLines(new StringReader(json),
+        rejections);
+    assertEquals(1, report.getPlayersAdded());
+    assertEquals(1, report.getRowsRejected());
+    assertTrue(rejections.toString().startsWith("2,"));
+  }
+
+  /**
+   * test if the header is found after leading blank and comment lines.
+   */
+  @Test public void testHeaderAfterBlankLines() throws IOException {
+    String csv = "\n# exported roster\n\n"
+        + "firstName,lastName,dateOfBirth,preferredPosition,skillLevel\n"
+        + "Amy,Doe," + birthDay + ",GOALIE,4\n";
+    StringWriter rejections = new StringWriter();
+    ImportReport report = new RosterImporter(team).importCsv(new StringReader(csv), rejections);
+    assertEquals(1, report.getRowsRead());
+    assertEquals(1, report.getPlayersAdded());
+    assertEquals("", rejections.toString());
+  }
+
+  /**
+   * test if rejected rows are counted in the metrics under the reasons the controller uses.
+   */
+  @Test public void testRejectionMetrics() throws IOException {
+    team.addPlayer("Amy", "Doe", LocalDate.parse(birthDay), Position.GOALIE, 4);
+    String csv = "Amy,Doe," + birthDay + ",GOALIE,4\n"
+        + "Ben,Doe,01/02/2016,GOALIE,4\n"
+        + "Dan,Doe," + birthDay + ",GOALIE,9\n"
+        + "\"Eve,Doe\n";
+    TeamMetrics metrics = new TeamMetrics();
+    RosterImporter importer = new RosterImporter(team);
+    importer.setMetrics(metrics);
+    importer.importCsv(new StringReader(csv), new StringWriter());
+    assertEquals(1, metrics.getRejections(TeamMetrics.Rejection.DUPLICATE));
+    assertEquals(1, metrics.getRejections(TeamMetrics.Rejection.DATE_FORMAT));
+    assertEquals(1, metrics.getRejections(TeamMetrics.Rejection.SKILL_LEVEL));
+    assertEquals(1, metrics.getRejections(TeamMetrics.Rejection.MALFORMED));
+  }
+}
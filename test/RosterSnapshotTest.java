@@ -0,0 +1,106 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.ConcurrentTeamImpl;
+import soccerteam.LeagueImpl;
+import soccerteam.MappedTeam;
+import soccerteam.Player;
+import soccerteam.Position;
+import soccerteam.RosterSnapshot;
+import soccerteam.TeamImpl;
+import soccerteam.TeamKey;
+
+/**
+ * A test class for roster snapshots. Teams read back from a file must show the same team, lineUp
+ * and bench as the teams they were saved from.
+ */
+public class RosterSnapshotTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private Path file;
+  private TeamImpl team;
+
+  /**
+   * create a made team of 15 players and a temporary snapshot file.
+   */
+  @Before public void setUp() throws IOException {
+    file = Files.createTempFile("roster", ".snapshot");
+    file.toFile().deleteOnExit();
+    team = new TeamImpl();
+    for (int i = 0; i < 15; i++) {
+      team.addPlayer("Player" + (i % 4), "N\u00e4me" + i, BIRTHDAY.minusDays(i),
+          Position.values()[i % 4], i % 5 + 1);
+    }
+    team.makeTeam();
+  }
+
+  /**
+   * test if a saved team is shown the same way after it is mapped back.
+   */
+  @Test public void testTeam() throws IOException {
+    RosterSnapshot.write(file, team);
+    MappedTeam mapped = RosterSnapshot.open(file).getTeam();
+    assertEquals(15, mapped.getPlayerCount());
+    assertTrue(mapped.isTeamCreated());
+    assertEquals(team.getLineUp(), mapped.getLineUp());
+    assertEquals(team.getBench(), mapped.getBench());
+    assertEquals(team.getTeam(), mapped.getTeam());
+    assertTrue(mapped.hasPlayer("Player3", "N\u00e4me7", BIRTHDAY.minusDays(7)));
+    assertFalse(mapped.hasPlayer("Player3", "N\u00e4me7", BIRTHDAY));
+    StringBuilder players = new StringBuilder("The current team contains:\n");
+    for (Player player : mapped.getPlayers()) {
+      players.append(player);
+    }
+    assertEquals(team.getTeam(), players.toString());
+  }
+
+  /**
+   * test if all teams of a league are saved and found by their keys.
+   */
+  @Test public void testLeague() throws IOException {
+    LeagueImpl league = new LeagueImpl(ConcurrentTeamImpl::new, 4);
+    for (String club : new String[] {"Riverside FC", "Hilltop"}) {
+      league.registerTeam(club, "U-10");
+      for (int i = 0; i < 12; i++) {
+        league.addPlayer(club, "U-10", club, "Player" + i, BIRTHDAY, Position.values()[i % 4],
+            i % 5 + 1);
+      }
+    }
+    league.makeAllTeams();
+    RosterSnapshot.write(file, league);
+
+    RosterSnapshot snapshot = RosterSnapshot.open(file);
+    assertEquals(2, snapshot.getTeamCount());
+    assertEquals(Arrays.asList(new TeamKey("Hilltop", "U-10"), new TeamKey("Riverside FC", "U-10")),
+        snapshot.getTeamKeys());
+    assertEquals(league.getTeam("Hilltop", "U-10").getTeam(),
+        snapshot.getTeam("Hilltop", "U-10").getTeam());
+    assertEquals(league.getTeam("Riverside FC", "U-10").getLineUp(),
+        snapshot.getTeam("Riverside FC", "U-10").getLineUp());
+  }
+
+  /**
+   * test if IllegalStateException successfully throws when a mapped team is changed.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testReadOnly() throws IOException {
+    RosterSnapshot.write(file, team);
+    RosterSnapshot.open(file).getTeam().addPlayer("New", "Player", BIRTHDAY, Position.GOALIE, 3);
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when a file is not a snapshot.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotSnapshot() throws IOException {
+    Files.write(file, "firstName,lastName\n".getBytes());
+    RosterSnapshot.open(file);
+  }
+}
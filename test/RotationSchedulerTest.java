@@ -0,0 +1,115 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.Player;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+import soccerteam.RotationScheduler;
+
+/**
+ * A test class for sharing playing time over the fixtures of a season.
+ */
+public class RotationSchedulerTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private List<Player> squad;
+
+  /**
+   * set up a squad of 20 players, five preferring each position, with skill levels spread out.
+   */
+  @Before public void setUp() {
+    squad = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      squad.add(new PlayerImpl("First" + i, "Last" + i, BIRTHDAY, Position.values()[i % 4],
+          1 + (i * 3) % 5));
+    }
+  }
+
+  /**
+   * a helper function that checks every fixture fills the slots of the formation once per player
+   * and benches all other available players.
+   */
+  private static void assertFixturesValid(RotationScheduler schedule) {
+    Map<Position, Integer> slots = Map.of(Position.GOALIE, 1, Position.DEFENDER, 2,
+        Position.MIDFIELDER, 3, Position.FORWARD, 1);
+    for (int f = 0; f < schedule.getFixtureCount(); f++) {
+      Map<Position, List<Player>> lineUp = schedule.getLineUp(f);
+      int playing = 0;
+      for (Position position : Position.values()) {
+        assertEquals(slots.get(position).intValue(), lineUp.get(position).size());
+        for (Player player : lineUp.get(position)) {
+          assertTrue(!schedule.getAbsent(f).contains(player));
+          assertTrue(!schedule.getBench(f).contains(player));
+        }
+        playing += lineUp.get(position).size();
+      }
+      assertEquals(20 - schedule.getAbsent(f).size(), playing + schedule.getBench(f).size());
+    }
+  }
+
+  /**
+   * test if every player of the squad starts 7 of 20 fixtures, in the preferred position in the
+   * first fixture.
+   */
+  @Test public void testEqualStarts() {
+    RotationScheduler schedule = new RotationScheduler(squad, 20);
+    assertFixturesValid(schedule);
+    for (Player player : squad) {
+      assertEquals(7, schedule.getStarts(player));
+    }
+    for (Map.Entry<Position, List<Player>> group : schedule.getLineUp(0).entrySet()) {
+      for (Player player : group.getValue()) {
+        assertEquals(group.getKey(), player.getPreferredPosition());
+      }
+    }
+  }
+
+  /**
+   * test if an absence plans again only a few fixtures, gives the same season as planning it
+   * from scratch, and keeps starts at most one apart among players who missed nothing.
+   */
+  @Test public void testIncrementalAbsence() {
+    RotationScheduler schedule = new RotationScheduler(squad, 30);
+    Player missing = schedule.getLineUp(10).get(Position.MIDFIELDER).get(0);
+    int planned = schedule.setAbsent(10, Set.of(missing));
+    assertTrue(planned >= 1 && planned < 20);
+    assertEquals(List.of(missing), schedule.getAbsent(10));
+    assertFixturesValid(schedule);
+
+    RotationScheduler scratch = new RotationScheduler(squad, 30);
+    scratch.setAbsent(10, Set.of(missing));
+    RotationScheduler fresh = new RotationScheduler(squad, 30);
+    for (int f = 0; f < 30; f++) {
+      assertEquals(scratch.getLineUp(f), schedule.getLineUp(f));
+      fresh.setAbsent(f, schedule.getAbsent(f));
+    }
+    int fewest = Integer.MAX_VALUE;
+    int most = 0;
+    for (Player player : squad) {
+      assertEquals(fresh.getStarts(player), schedule.getStarts(player));
+      fewest = Math.min(fewest, schedule.getStarts(player));
+      most = Math.max(most, schedule.getStarts(player));
+    }
+    assertTrue(most - fewest <= 1);
+
+    assertEquals(0, schedule.setAbsent(10, Set.of(missing)));
+    schedule.setAbsent(10, Set.of());
+    for (int f = 0; f < 30; f++) {
+      assertEquals(new RotationScheduler(squad, 30).getLineUp(f), schedule.getLineUp(f));
+    }
+  }
+
+  /**
+   * test if marking a player who is not in the squad absent is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class) public void testUnknownPlayer() {
+    new RotationScheduler(squad, 10).setAbsent(3,
+        Set.of(new PlayerImpl("Not", "There", BIRTHDAY, Position.GOALIE, 1)));
+  }
+}
@@ -0,0 +1,105 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.AgeGroup;
+import soccerteam.ImportReport;
+import soccerteam.OptimalLineUpEngine;
+import soccerteam.PlayerImpl;
+import soccerteam.Position;
+import soccerteam.RosterImporter;
+import soccerteam.SeasonEligibility;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for season eligibility. The season uses a fixed clock, so results do not depend on
+ * the day the tests run.
+ */
+public class SeasonEligibilityTest {
+  private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 2, 29);
+  private SeasonEligibility season;
+
+  /**
+   * create a season on a leap day holding three age groups.
+   */
+  @Before public void setUp() {
+    Clock clock = Clock.fixed(Instant.parse("2024-02-29T10:00:00Z"), ZoneOffset.UTC);
+    season = new SeasonEligibility(clock, AgeGroup.U8, AgeGroup.U10, AgeGroup.U12);
+  }
+
+  /**
+   * test if the bounds of an age group match whole years counted on the reference date.
+   */
+  @Test public void testBounds() {
+    assertEquals(REFERENCE_DATE, season.getReferenceDate());
+    assertTrue(season.isEligible(LocalDate.of(2018, 2, 28), AgeGroup.U10));
+    assertFalse(season.isEligible(LocalDate.of(2018, 3, 1), AgeGroup.U10));
+    assertTrue(season.isEligible(LocalDate.of(2014, 3, 1), AgeGroup.U10));
+    assertFalse(season.isEligible(LocalDate.of(2014, 2, 28), AgeGroup.U10));
+  }
+
+  /**
+   * test if a batch is matched against all age groups in one pass.
+   */
+  @Test public void testClassify() {
+    int[] epochDays = {(int) LocalDate.of(2019, 6, 1).toEpochDay(),
+        (int) LocalDate.of(2016, 6, 1).toEpochDay(), (int) LocalDate.of(2013, 6, 1).toEpochDay(),
+        (int) LocalDate.of(2010, 6, 1).toEpochDay(), 0};
+    int[] masks = new int[5];
+    season.classify(epochDays, 4, masks);
+    assertArrayEquals(new int[] {0b001, 0b011, 0b100, 0, 0}, masks);
+    assertEquals(0b010, season.maskOf(AgeGroup.U10));
+    assertEquals(0b011, season.matchMask(epochDays[1]));
+  }
+
+  /**
+   * test if players checked against a season keep the message of PlayerImpl.
+   */
+  @Test public void testPlayer() {
+    PlayerImpl player = new PlayerImpl("Amber", "UB-001", LocalDate.of(2016, 8, 31),
+        Position.GOALIE, 3, season, AgeGroup.U10);
+    assertEquals(3, player.getSkillLevel());
+    try {
+      new PlayerImpl("Oumae", "Kumiko", LocalDate.of(2012, 8, 21), Position.MIDFIELDER, 4,
+          season, AgeGroup.U10);
+    } catch (IllegalArgumentException e) {
+      assertEquals("The team only accept player older than 6 and under 10 years old.",
+          e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalArgumentException");
+  }
+
+  /**
+   * test if the importer rejects rows outside the age group before they reach the team.
+   */
+  @Test public void testImport() throws Exception {
+    TeamImpl team = new TeamImpl(20, new OptimalLineUpEngine(), season, AgeGroup.U10);
+    StringWriter rejections = new StringWriter();
+    ImportReport report = new RosterImporter(team, 2, season, AgeGroup.U10).importCsv(
+        new StringReader("Amber,A,2016-08-31,GOALIE,3\nKumiko,O,2012-08-21,FORWARD,4\n"
+            + "Reina,K,2020-05-15,DEFENDER,2\nHazuki,K,2017-01-02,MIDFIELDER,5\n"), rejections);
+    assertEquals(2, report.getPlayersAdded());
+    assertEquals(2, report.getRowsRejected());
+    assertEquals("2,\"Add failed! The team only accept player older than 6 and under 10 years "
+        + "old.\"\n3,\"Add failed! The team only accept player older than 6 and under 10 years "
+        + "old.\"\n", rejections.toString());
+  }
+
+  /**
+   * test if IllegalArgumentException successfully throws when an age group is not in the season.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownGroup() {
+    new SeasonEligibility(REFERENCE_DATE, AgeGroup.U10).isEligible(REFERENCE_DATE, AgeGroup.U12);
+  }
+}
@@ -0,0 +1,170 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.LeagueImpl;
+import soccerteam.Position;
+import soccerteam.TeamHttpServer;
+
+/**
+ * A test class for the HTTP API serving the teams of a league.
+ */
+public class TeamHttpServerTest {
+  private static final String BIRTHDAY = LocalDate.now().minusYears(8).toString();
+  private TeamHttpServer server;
+  private HttpClient client;
+  private String base;
+
+  /**
+   * start a server for an empty league on a free port.
+   */
+  @Before public void setUp() throws IOException {
+    server = new TeamHttpServer(new LeagueImpl(),
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    server.start();
+    client = HttpClient.newHttpClient();
+    base = "http://localhost:" + server.getPort() + "/teams";
+  }
+
+  /**
+   * stop the server.
+   */
+  @After public void tearDown() {
+    server.close();
+  }
+
+  private HttpResponse<String> send(String method, String path, String body)
+      throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+        .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(body))
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static String player(int i) {
+    return "{\"firstName\":\"First" + i + "\",\"lastName\":\"Last" + i + "\",\"dateOfBirth\":\""
+        + BIRTHDAY + "\",\"preferredPosition\":\"" + Position.values()[i % 4] + "\","
+        + "\"skillLevel\":" + (i % 5 + 1) + "}";
+  }
+
+  /**
+   * test if a team is registered, filled, made and shown through the API.
+   */
+  @Test public void testTeam() throws IOException, InterruptedException {
+    assertEquals(201, send("PUT", "/FC%20North/U10", null).statusCode());
+    for (int i = 0; i < 12; i++) {
+      assertEquals(201, send("POST", "/FC%20North/U10/players", player(i)).statusCode());
+    }
+    assertEquals(200, send("POST", "/FC%20North/U10/team", null).statusCode());
+    HttpResponse<String> lineUp = send("GET", "/FC%20North/U10/lineup", null);
+    assertEquals(200, lineUp.statusCode());
+    assertTrue(lineUp.body().startsWith("{\"lineUp\":\"GOALIE:\\n"));
+    assertEquals(200, send("GET", "/FC%20North/U10/bench", null).statusCode());
+    assertTrue(send("GET", "", null).body()
+        .contains("{\"club\":\"FC North\",\"ageGroup\":\"U10\"}"));
+  }
+
+  /**
+   * test if rejected players, unknown teams and unknown paths are answered with their status.
+   */
+  @Test public void testErrors() throws IOException, InterruptedException {
+    assertEquals(404, send("POST", "/Nobody/U10/players", player(0)).statusCode());
+    send("PUT", "/Club/U10", null);
+    assertEquals(201, send("POST", "/Club/U10/players", player(0)).statusCode());
+    HttpResponse<String> duplicate = send("POST", "/Club/U10/players", player(0));
+    assertEquals(409, duplicate.statusCode());
+    assertTrue(duplicate.body().contains("already been added"));
+    HttpResponse<String> invalid = send("POST", "/Club/U10/players",
+        player(1).replace("\"skillLevel\":2", "\"skillLevel\":9"));
+    assertEquals(400, invalid.statusCode());
+    assertTrue(invalid.body().contains("Skill level must be between 1 and 5."));
+    assertEquals(400, send("POST", "/Club/U10/players", "{\"firstName\":").statusCode());
+    HttpResponse<String> tooFew = send("POST", "/Club/U10/team", null);
+    assertEquals(409, tooFew.statusCode());
+    assertTrue(tooFew.body().contains("Now we have 1 players"));
+    assertEquals(404, send("GET", "/Club/U10/coach", null).statusCode());
+    assertEquals(405, send("DELETE", "", null).statusCode());
+  }
+
+  /**
+   * test if players are refused once the team is made, like the controller refuses them.
+   */
+  @Test public void testAddAfterTeamCreated() throws IOException, InterruptedException {
+    send("PUT", "/Club/U10", null);
+    for (int i = 0; i < 10; i++) {
+      send("POST", "/Club/U10/players", player(i));
+    }
+    assertEquals(200, send("POST", "/Club/U10/team", null).statusCode());
+    HttpResponse<String> late = send("POST", "/Club/U10/players", player(10));
+    assertEquals(409, late.statusCode());
+    assertTrue(late.body().contains("Team has been created"));
+    String team = send("GET", "/Club/U10/team", null).body();
+    assertFalse(team.contains("First10"));
+    assertFalse(team.contains("Jersey Number: -1"));
+  }
+
+  /**
+   * test if path segments are decoded as URI paths, so a plus sign in a club name is kept.
+   */
+  @Test public void testPlusInPath() throws IOException, InterruptedException {
+    assertEquals(201, send("PUT", "/A+B%2FC/U10", null).statusCode());
+    assertTrue(send("GET", "", null).body()
+        .contains("{\"club\":\"A+B/C\",\"ageGroup\":\"U10\"}"));
+  }
+
+  /**
+   * test if a path or query holding a malformed escape is answered with status 400. HttpClient
+   * refuses such URIs, so the request is written to a socket.
+   */
+  @Test public void testMalformedEscape() throws IOException {
+    for (String target : new String[] {"/teams/%zz/U10", "/teams/Club/U10/players?position=%zz"}) {
+      try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+        socket.getOutputStream().write(("GET " + target + " HTTP/1.1\r\nHost: localhost\r\n"
+            + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        BufferedReader in = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        assertTrue(in.readLine().startsWith("HTTP/1.1 400 "));
+      }
+    }
+  }
+
+  /**
+   * test if players are found by position, jersey number and birth year.
+   */
+  @Test public void testFindPlayers() throws IOException, InterruptedException {
+    send("PUT", "/Club/U10", null);
+    for (int i = 0; i < 12; i++) {
+      send("POST", "/Club/U10/players", player(i));
+    }
+    String goalies = send("GET", "/Club/U10/players?position=goalie", null).body();
+    assertTrue(goalies.startsWith("{\"players\":[{\"firstName\":\"First0\""));
+    assertEquals(3, goalies.split("GOALIE").length - 1);
+    assertEquals(12, send("GET", "/Club/U10/players?bornIn=" + BIRTHDAY.substring(0, 4), null)
+        .body().split("firstName").length - 1);
+    assertEquals("{\"players\":[]}",
+        send("GET", "/Club/U10/players?jerseyNumber=1", null).body());
+    send("POST", "/Club/U10/team", null);
+    String all = send("GET", "/Club/U10/players", null).body();
+    String jerseyNumber = all.substring(all.indexOf("\"jerseyNumber\":") + 15, all.indexOf('}'));
+    assertEquals(all.substring(all.indexOf('{', 1), all.indexOf('}') + 1),
+        send("GET", "/Club/U10/players?jerseyNumber=" + jerseyNumber, null).body()
+            .replace("{\"players\":[", "").replace("]}", ""));
+    assertEquals(400, send("GET", "/Club/U10/players?position=KEEPER", null).statusCode());
+  }
+}
@@ -246,4 +246,4 @@ public class TeamImplTest {
     int getPlayerIndex3 = bench.indexOf("Iames");
     assertTrue(getPlayerIndex1 < getPlayerIndex2 && getPlayerIndex2 < getPlayerIndex3);
   }
-}
\ No newline at end of file
+}
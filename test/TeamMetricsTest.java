@@ -0,0 +1,146 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Locale;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Before;
+import org.junit.Test;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+import soccerteam.TeamMetrics;
+
+/**
+ * A test class for the counters and latency histograms of the team metrics.
+ */
+public class TeamMetricsTest {
+  private static final LocalDate BIRTHDAY = LocalDate.now().minusYears(8);
+  private TeamMetrics metrics;
+  private TeamImpl team;
+
+  /**
+   * set up a team counting in its own metrics.
+   */
+  @Before public void setUp() {
+    metrics = new TeamMetrics();
+    team = new TeamImpl();
+    team.setMetrics(metrics);
+  }
+
+  private void addPlayers(int count) {
+    for (int i = 0; i < count; i++) {
+      team.addPlayer("First" + i, "Last" + i, BIRTHDAY, Position.values()[i % 4], 1 + i % 5);
+    }
+  }
+
+  /**
+   * test if latencies are dumped with a decimal point whatever the default locale.
+   */
+  @Test public void testDumpLocale() {
+    Locale previous = Locale.getDefault();
+    Locale.setDefault(Locale.GERMANY);
+    try {
+      metrics.record(TeamMetrics.Operation.MAKE_TEAM, System.nanoTime() - 1_500);
+      String dump = metrics.dump();
+      assertTrue(dump.matches("(?s).*makeTeam: 1, \\d+\\.\\d us.*"));
+    } finally {
+      Locale.setDefault(previous);
+    }
+  }
+
+  /**
+   * test if registrations and evictions of a team are counted.
+   */
+  @Test public void testRegistrationsAndEvictions() {
+    addPlayers(23);
+    team.addPlayer("First4", "Last4", BIRTHDAY, Position.GOALIE, 5);
+    assertEquals(23, metrics.getRegistrations());
+    assertEquals(3, metrics.getEvictions());
+  }
+
+  /**
+   * test if making the team, the lineUp and the bench and rendering them are timed once per real
+   * computation, and not when cached results are returned.
+   */
+  @Test public void testLatencies() {
+    addPlayers(15);
+    team.makeTeam();
+    team.getLineUp();
+    team.getLineUp();
+    team.getBench();
+    team.getTeam();
+    assertEquals(1, metrics.getLatencyCount(TeamMetrics.Operation.MAKE_TEAM));
+    assertEquals(1, metrics.getLatencyCount(TeamMetrics.Operation.MAKE_LINEUP));
+    assertEquals(1, metrics.getLatencyCount(TeamMetrics.Operation.MAKE_BENCH));
+    assertEquals(3, metrics.getLatencyCount(TeamMetrics.Operation.RENDER));
+    assertTrue(metrics.getLatencyQuantile(TeamMetrics.Operation.MAKE_TEAM, 0.99) > 0);
+    assertEquals(3L, (long) metrics.getLatencyCounts().get("render"));
+  }
+
+  /**
+   * test if the quantiles are rounded up to their bucket and never exceed the largest latency.
+   */
+  @Test public void testQuantiles() {
+    for (int i = 0; i < 99; i++) {
+      metrics.record(TeamMetrics.Operation.RENDER, System.nanoTime() - 1);
+    }
+    metrics.record(TeamMetrics.Operation.RENDER, System.nanoTime() - 1_000_000_000L);
+    assertEquals(100, metrics.getLatencyCount(TeamMetrics.Operation.RENDER));
+    assertTrue(metrics.getLatencyQuantile(TeamMetrics.Operation.RENDER, 0.5) < 1_000_000);
+    assertTrue(metrics.getLatencyQuantile(TeamMetrics.Operation.RENDER, 1.0) >= 1_000_000_000L);
+    assertEquals(metrics.getLatencyMaximums().get("render"),
+        (Long) metrics.getLatencyQuantile(TeamMetrics.Operation.RENDER, 1.0));
+  }
+
+  /**
+   * test if nothing is counted while the metrics are disabled, and if reset clears the counters.
+   */
+  @Test public void testDisabledAndReset() {
+    metrics.setEnabled(false);
+    addPlayers(12);
+    team.makeTeam();
+    metrics.countRejection("Invalid skill level.");
+    assertEquals(0, metrics.getRegistrations());
+    assertEquals(0, metrics.getLatencyCount(TeamMetrics.Operation.MAKE_TEAM));
+    assertEquals(0, metrics.getRejections(TeamMetrics.Rejection.SKILL_LEVEL));
+    metrics.setEnabled(true);
+    metrics.countRejection("Invalid skill level.");
+    metrics.countRejection("Invalid skill level.");
+    assertEquals(2, metrics.getRejections(TeamMetrics.Rejection.SKILL_LEVEL));
+    assertTrue(metrics.dump().contains("2 x invalid skill level"));
+    metrics.reset();
+    assertEquals(0, metrics.getRejections(TeamMetrics.Rejection.SKILL_LEVEL));
+    assertTrue(metrics.getRejections().isEmpty());
+  }
+
+  /**
+   * test if rejection messages naming players or numbers are counted under a fixed set of reasons.
+   */
+  @Test public void testRejectionReasons() {
+    metrics.countRejection("The team only accept player older than 5 and under 10 years old.");
+    metrics.countRejection("Skill level must be between 1 and 5.");
+    metrics.countRejection("Jersey number 7 cannot be given back to Ann Lee.");
+    metrics.countRejection("Jersey number 8 cannot be given back to Bo Kim.");
+    assertEquals(1, metrics.getRejections(TeamMetrics.Rejection.AGE));
+    assertEquals(1, metrics.getRejections(TeamMetrics.Rejection.SKILL_LEVEL));
+    assertEquals(2, metrics.getRejections(TeamMetrics.Rejection.OTHER));
+    assertEquals(3, metrics.getRejections().size());
+  }
+
+  /**
+   * test if the default metrics are published over JMX once and read through the platform server.
+   */
+  @Test public void testPublishedOverJmx() throws Exception {
+    assertTrue(TeamMetrics.publishDefault());
+    assertTrue(TeamMetrics.publishDefault());
+    TeamMetrics shared = TeamMetrics.getDefault();
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(TeamMetrics.OBJECT_NAME);
+    assertTrue(server.isRegistered(name));
+    shared.countRegistration();
+    assertTrue((Long) server.getAttribute(name, "Registrations") >= 1);
+    assertTrue(server.invoke(name, "dump", null, null).toString().contains("makeTeam"));
+  }
+}
@@ -0,0 +1,201 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import soccerteam.ByteBufferAppendable;
+import soccerteam.Player;
+import soccerteam.PlayerQuery;
+import soccerteam.Position;
+import soccerteam.TeamImpl;
+
+/**
+ * A test class for teams built in each test. Birthdates are counted back from today, so the
+ * players are old enough for the team whatever the season.
+ */
+public class TeamRosterTest {
+  /**
+   * test if the lowest skilled player dropped is the first one by name among equally low players.
+   */
+  @Test public void testDropPlayerTieBreak() {
+    TeamImpl team = new TeamImpl();
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    for (int i = 0; i < 18; i++) {
+      team.addPlayer("Player", "M" + (char) ('a' + i), birthDay, Position.MIDFIELDER, 3);
+    }
+    team.addPlayer("Low", "Zed", birthDay, Position.DEFENDER, 1);
+    team.addPlayer("Low", "Bee", birthDay, Position.DEFENDER, 1);
+    team.addPlayer("Low", "Cee", birthDay, Position.DEFENDER, 1);
+    String teamInfo = team.getTeam();
+    assertFalse(teamInfo.contains("Low, Bee"));
+    assertTrue(teamInfo.contains("Low, Cee"));
+    assertTrue(teamInfo.contains("Low, Zed"));
+  }
+
+  /**
+   * test if a team with a larger capacity keeps more players and numbers all of them.
+   */
+  @Test public void testLargeCapacity() {
+    TeamImpl team = new TeamImpl(50);
+    LocalDate birthDay = LocalDate.now().minusYears(7);
+    for (int i = 0; i < 60; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthDay, Position.FORWARD, i % 5 + 1);
+    }
+    team.makeTeam();
+    String teamInfo = team.getTeam();
+    assertEquals(51, teamInfo.split("\n").length);
+    assertTrue(teamInfo.contains("Jersey Number: 50"));
+    assertEquals(3, teamInfo.split("Skill Level: 1,").length);
+  }
+
+  /**
+   * test if the lineUp and bench are reused while the roster is unchanged, and rebuilt without
+   * stale players once it changes.
+   */
+  @Test public void testLineUpCache() {
+    TeamImpl team = new TeamImpl();
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    for (int i = 0; i < 10; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthDay, Position.MIDFIELDER, 3);
+    }
+    team.makeTeam();
+    long version = team.getVersion();
+    String lineUp = team.getLineUp();
+    String bench = team.getBench();
+    assertSame(lineUp, team.getLineUp());
+    assertSame(bench, team.getBench());
+    assertEquals(version, team.getVersion());
+
+    team.addPlayer("Star", "Zed", birthDay, Position.FORWARD, 5);
+    assertTrue(version != team.getVersion());
+    assertTrue(team.getLineUp().contains("Star"));
+    assertEquals(4, team.getBench().split("\n\n").length);
+  }
+
+  /**
+   * test if rendering into an Appendable gives the same text as the getters.
+   */
+  @Test public void testRender() throws IOException {
+    TeamImpl team = new TeamImpl();
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    for (int i = 0; i < 12; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthDay, Position.values()[i % 4], i % 5 + 1);
+    }
+    team.makeTeam();
+    StringWriter out = new StringWriter();
+    team.renderTeam(out);
+    team.renderLineUp(out);
+    team.renderBench(out);
+    assertEquals(team.getTeam() + team.getLineUp() + team.getBench(), out.toString());
+
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    team.renderTeam(new ByteBufferAppendable(buffer));
+    buffer.flip();
+    assertEquals(team.getTeam(), StandardCharsets.UTF_8.decode(buffer).toString());
+  }
+
+  /**
+   * test if the duplicate index follows additions and evictions: a dropped player is no longer in
+   * the team and may be added again.
+   */
+  @Test public void testHasPlayer() {
+    TeamImpl team = new TeamImpl();
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    Random random = new Random(42);
+    Set<String> kept = new HashSet<>();
+    for (int i = 0; i < 2000; i++) {
+      String lastName = Integer.toString(random.nextInt(100));
+      team.addPlayer("Player", lastName, birthDay, Position.DEFENDER, random.nextInt(5) + 1);
+    }
+    for (int i = 0; i < 100; i++) {
+      if (team.hasPlayer("Player", Integer.toString(i), birthDay)) {
+        kept.add(Integer.toString(i));
+      }
+    }
+    assertEquals(20, kept.size());
+    for (String lastName : kept) {
+      assertTrue(team.getTeam().contains("Player, " + lastName + ", "));
+    }
+    assertFalse(team.hasPlayer("Player", "1", birthDay.plusDays(1)));
+  }
+
+  /**
+   * a helper function creating a team of 19 players with positions, skill levels and birthdays
+   * spread over four years.
+   */
+  private static TeamImpl spreadTeam() {
+    TeamImpl team = new TeamImpl();
+    LocalDate birthDay = LocalDate.now().minusYears(9).minusDays(100);
+    for (int i = 0; i < 19; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthDay.plusDays(i * 53L),
+          Position.values()[i * 7 % 4], i % 5 + 1);
+    }
+    return team;
+  }
+
+  /**
+   * test if every jersey number finds its player, and if the number of a dropped player is free.
+   */
+  @Test public void testJerseyNumberIndex() {
+    TeamImpl team = spreadTeam();
+    team.makeTeam();
+    for (Player player : team.getPlayers()) {
+      assertSame(player, team.getPlayerByJerseyNumber(player.getJerseyNumber()));
+    }
+    assertNull(team.getPlayerByJerseyNumber(0));
+    assertNull(team.getPlayerByJerseyNumber(21));
+
+    LocalDate birthDay = LocalDate.now().minusYears(8);
+    team.addPlayer("Player", "New1", birthDay, Position.GOALIE, 5);
+    team.makeTeam();
+    // the first player in name order among the lowest skill level is dropped next
+    Player dropped = team.query(new PlayerQuery(PlayerQuery.Order.NAME, null, 1, 1))
+        .findFirst().get();
+    int jerseyNumber = dropped.getJerseyNumber();
+    team.addPlayer("Player", "New2", birthDay, Position.GOALIE, 5);
+    assertFalse(team.hasPlayer(dropped.getFirstName(), dropped.getLastName(),
+        dropped.getDateOfBirth()));
+    assertNull(team.getPlayerByJerseyNumber(jerseyNumber));
+  }
+
+  /**
+   * test if the players of each position and birth year are found, in name and birthday order.
+   */
+  @Test public void testPositionAndBirthYearIndexes() {
+    TeamImpl team = spreadTeam();
+    int found = 0;
+    for (Position position : Position.values()) {
+      List<Player> players = team.getPlayersByPosition(position);
+      List<Player> expected = new ArrayList<>(team.getPlayers());
+      expected.removeIf(player -> player.getPreferredPosition() != position);
+      assertEquals(expected, players);
+      found += players.size();
+    }
+    assertEquals(19, found);
+
+    found = 0;
+    int currentYear = LocalDate.now().getYear();
+    for (int year = currentYear - 11; year <= currentYear; year++) {
+      List<Player> players = team.getPlayersBornIn(year);
+      for (int i = 0; i < players.size(); i++) {
+        assertEquals(year, players.get(i).getDateOfBirth().getYear());
+        assertTrue(i == 0 || !players.get(i).getDateOfBirth()
+            .isBefore(players.get(i - 1).getDateOfBirth()));
+      }
+      found += players.size();
+    }
+    assertEquals(19, found);
+  }
+}
@@ -0,0 +1,97 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import soccerteam.AgeGroup;
+import soccerteam.LeagueImpl;
+import soccerteam.LineUpSimulator;
+import soccerteam.Player;
+import soccerteam.Position;
+import soccerteam.Team;
+import soccerteam.TeamImpl;
+import soccerteam.TeamRules;
+
+/**
+ * A test class for the formations, roster bounds and age groups teams play by.
+ */
+public class TeamRulesTest {
+
+  /**
+   * test if the rules of each age group are found by its name and hold their formation.
+   */
+  @Test public void testRulesOfAgeGroups() {
+    assertSame(TeamRules.SEVEN_A_SIDE, TeamRules.forAgeGroup("U-10"));
+    assertSame(TeamRules.NINE_A_SIDE, TeamRules.forAgeGroup("U-12"));
+    assertSame(TeamRules.FOUR_FOUR_TWO, TeamRules.forAgeGroup("U-14"));
+    assertEquals(List.of(TeamRules.SEVEN_A_SIDE, TeamRules.NINE_A_SIDE, TeamRules.FOUR_FOUR_TWO),
+        TeamRules.values());
+    assertEquals(7, TeamRules.SEVEN_A_SIDE.getLineUpSize());
+    assertEquals(9, TeamRules.NINE_A_SIDE.getLineUpSize());
+    assertEquals(4, TeamRules.FOUR_FOUR_TWO.getSlots(Position.DEFENDER));
+    assertEquals(Integer.valueOf(4), TeamRules.FOUR_FOUR_TWO.getSlots().get(Position.MIDFIELDER));
+    assertEquals(AgeGroup.U14, TeamRules.FOUR_FOUR_TWO.getAgeGroup());
+  }
+
+  /**
+   * test if a 9-a-side team needs 12 players before it can be made and fields 9 of them, 3 in
+   * defense.
+   */
+  @Test public void testNineASideTeam() {
+    TeamImpl team = new TeamImpl(TeamRules.NINE_A_SIDE);
+    LocalDate birthday = LocalDate.now().minusYears(10);
+    for (int i = 0; i < 11; i++) {
+      team.addPlayer("Player", Integer.toString(i), birthday, Position.values()[i % 4], 3);
+    }
+    try {
+      team.makeTeam();
+      throw new AssertionError("A team of 11 players must not be made.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(11, team.getPlayers().size());
+    }
+    team.addPlayer("Player", "11", birthday, Position.DEFENDER, 3);
+    team.makeTeam();
+    LineUpSimulator.Outcome outcome = new LineUpSimulator().simulate(team, List.of(Set.of()))
+        .get(0);
+    assertEquals(9, outcome.getFilledSlots());
+    Map<Position, List<Player>> lineUp = outcome.getLineUp();
+    assertEquals(3, lineUp.get(Position.DEFENDER).size());
+    assertEquals(2, lineUp.get(Position.FORWARD).size());
+  }
+
+  /**
+   * test if one league holds teams of different age groups, each checking the ages of its own
+   * group.
+   */
+  @Test public void testLeagueOfEveryAgeGroup() {
+    LeagueImpl league = LeagueImpl.withTeamRules();
+    Team u10 = league.registerTeam("Riverside", "U-10");
+    Team u14 = league.registerTeam("Riverside", "U-14");
+    u14.addPlayer("Old", "Enough", LocalDate.now().minusYears(12), Position.GOALIE, 2);
+    assertEquals(1, u14.getPlayers().size());
+    try {
+      u10.addPlayer("Old", "Enough", LocalDate.now().minusYears(12), Position.GOALIE, 2);
+      throw new AssertionError("A U-10 team must not take a 12 year old player.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(0, u10.getPlayers().size());
+    }
+  }
+
+  /**
+   * test if an age group without rules cannot be registered.
+   */
+  @Test(expected = IllegalArgumentException.class) public void testAgeGroupWithoutRules() {
+    LeagueImpl.withTeamRules().registerTeam("Riverside", "U-8");
+  }
+
+  /**
+   * test if rules whose roster cannot field the formation are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class) public void testRosterTooSmall() {
+    new TeamRules("11-a-side", AgeGroup.U14, 10, 20, Map.of(Position.GOALIE, 1,
+        Position.DEFENDER, 4, Position.MIDFIELDER, 4, Position.FORWARD, 2));
+  }
+}